@@ -15,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -107,6 +109,21 @@ public class AuthController {
         return ResponseEntity.ok().build();
     }
 
+    // Used by bulk student import and batch warden create; passwords arrive already encoded, same as /register
+    @PostMapping("/register/batch")
+    public ResponseEntity<Map<String, Integer>> registerBatch(@RequestBody List<UserDTO> userDTOs) {
+        List<User> users = userDTOs.stream()
+                .map(dto -> User.builder()
+                        .email(dto.email())
+                        .password(dto.password())
+                        .role(User.Role.valueOf(dto.role()))
+                        .build())
+                .toList();
+
+        int registered = userService.saveAll(users);
+        return ResponseEntity.ok(Map.of("registered", registered));
+    }
+
     @DeleteMapping("/user/{email}")
     public ResponseEntity<Void> deleteUser(@PathVariable String email) {
         if (!userService.existsByEmail(email)) {
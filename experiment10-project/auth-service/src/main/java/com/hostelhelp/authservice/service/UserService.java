@@ -1,6 +1,9 @@
 package com.hostelhelp.authservice.service;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import com.hostelhelp.authservice.model.User;
@@ -24,6 +27,20 @@ public class UserService {
         userRepository.save(user);
     }
 
+    /**
+     * Inserts the users in one transaction, skipping emails that are already registered
+     * so a retried batch does not fail on the ones that made it the first time.
+     */
+    @Transactional
+    public int saveAll(List<User> users) {
+        if (users.isEmpty()) return 0;
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                users.stream().map(User::getEmail).toList()));
+        List<User> fresh = users.stream().filter(u -> !existing.contains(u.getEmail())).toList();
+        userRepository.saveAll(fresh);
+        return fresh.size();
+    }
+
     public void deleteById(UUID id) {
         userRepository.deleteById(id);
     }
@@ -0,0 +1,9 @@
+-- Schema as previously created by hibernate ddl-auto. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+create table if not exists users (
+    id       uuid         not null,
+    email    varchar(255) not null unique,
+    password varchar(255) not null,
+    role     varchar(255) not null check (role in ('STUDENT','WARDEN','ADMIN')),
+    primary key (id)
+);
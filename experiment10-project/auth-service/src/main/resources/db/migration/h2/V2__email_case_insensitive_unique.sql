@@ -0,0 +1,3 @@
+-- H2 has no expression indexes; a generated column gives the same uniqueness guarantee in tests
+alter table users add column if not exists email_lower varchar(255) generated always as (lower(email));
+create unique index if not exists ux_users_email_lower on users (email_lower);
@@ -0,0 +1,2 @@
+-- Fails if the table already holds emails differing only by case; those must be merged first
+create unique index if not exists ux_users_email_lower on users (lower(email));
@@ -0,0 +1,28 @@
+package com.hostelhelp.authservice.repository;
+
+import com.hostelhelp.authservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the Flyway migrations on the embedded H2 database
+@DataJpaTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void emailIsUniqueIgnoringCase() {
+        userRepository.saveAndFlush(user("Asha@Example.com"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(user("asha@example.com")));
+    }
+
+    private User user(String email) {
+        return User.builder().email(email).password("x").role(User.Role.STUDENT).build();
+    }
+}
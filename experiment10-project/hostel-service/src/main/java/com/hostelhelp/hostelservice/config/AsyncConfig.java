@@ -0,0 +1,19 @@
+package com.hostelhelp.hostelservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // Fire-and-forget notifications to other services; blocking HTTP, so virtual threads
+    @Bean(destroyMethod = "close")
+    public ExecutorService notificationExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
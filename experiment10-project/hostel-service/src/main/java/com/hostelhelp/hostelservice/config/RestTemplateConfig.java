@@ -1,15 +1,26 @@
 package com.hostelhelp.hostelservice.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
+    // The outbox dispatcher holds its rows for hostels.outbox.lease-ms (60s); a call that hangs
+    // longer lets another instance send the same assignments, so these stay well below it
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+    public RestTemplate restTemplate(
+            @Value("${services.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${services.http.read-timeout-ms:10000}") long readTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
+        factory.setConnectionRequestTimeout(Duration.ofMillis(connectTimeoutMs));
+        factory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(factory);
     }
 }
@@ -0,0 +1,49 @@
+package com.hostelhelp.hostelservice.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * ETag and Last-Modified for GETs whose body changes exactly when some version value does
+ * (an updatedAt timestamp or a version counter). Controllers read that value with a
+ * narrow query and answer 304 from it before loading anything else. The version is read
+ * before the body, so a write in between costs one extra full response, never a stale 304.
+ * <p>
+ * hostel-, student- and warden-service each keep a copy, as they share no library;
+ * ConditionalGetsTest in each service pins the same tag and header format.
+ */
+final class ConditionalGets {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ConditionalGets() {}
+
+    // Strong tag; timestamps go in at full precision so two writes in one millisecond differ
+    static String etag(Object... parts) {
+        return Arrays.stream(parts)
+                .map(p -> p instanceof LocalDateTime t
+                        ? Long.toHexString(ChronoUnit.MICROS.between(EPOCH, t))
+                        : String.valueOf(p))
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    // -1, which Spring treats as unknown, when there is no timestamp
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Clients must revalidate every time, but may keep the body to do so
+    static <T> ResponseEntity<T> ok(T body, String etag, long lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (lastModified >= 0) builder.lastModified(lastModified);
+        return builder.body(body);
+    }
+}
@@ -2,9 +2,14 @@ package com.hostelhelp.hostelservice.controller;
 
 
 
+import com.hostelhelp.hostelservice.dto.CacheInvalidationDTO;
+import com.hostelhelp.hostelservice.dto.HostelOccupancyDTO;
 import com.hostelhelp.hostelservice.dto.HostelRequestDTO;
 import com.hostelhelp.hostelservice.dto.HostelResponseDTO;
+import com.hostelhelp.hostelservice.dto.HostelRosterDTO;
 import com.hostelhelp.hostelservice.exception.HostelNotFoundException;
+import com.hostelhelp.hostelservice.repository.HostelListVersion;
+import com.hostelhelp.hostelservice.service.HostelRosterService;
 import com.hostelhelp.hostelservice.service.HostelService;
 import com.hostelhelp.hostelservice.validation.CreateHostelValidationGroup;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,8 +19,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -24,24 +32,44 @@ import java.util.UUID;
 public class HostelController {
 
     private final HostelService hostelService;
+    private final HostelRosterService hostelRosterService;
 
-    public HostelController(HostelService hostelService) {
+    public HostelController(HostelService hostelService, HostelRosterService hostelRosterService) {
         this.hostelService = hostelService;
+        this.hostelRosterService = hostelRosterService;
     }
 
     @GetMapping
     @Operation(summary = "Get all hostels")
-    public ResponseEntity<List<HostelResponseDTO>> getHostels() {
-        List<HostelResponseDTO> hostels = hostelService.getHostels();
-        return ResponseEntity.ok().body(hostels);
+    public ResponseEntity<List<HostelResponseDTO>> getHostels(WebRequest request) {
+        HostelListVersion version = hostelService.getListVersion();
+        // no Last-Modified: removing a hostel does not move the newest updatedAt
+        String etag = ConditionalGets.etag("hostels", version.count(), version.lastUpdatedAt());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ConditionalGets.ok(hostelService.getHostels(), etag, -1);
+    }
+
+    @GetMapping("/occupancy")
+    @Operation(summary = "Get room and seat totals for every hostel")
+    public ResponseEntity<List<HostelOccupancyDTO>> getAllOccupancy() {
+        return ResponseEntity.ok(hostelService.getAllOccupancy());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a Hostel by ID")
-    public ResponseEntity<HostelResponseDTO> getStudent(@PathVariable UUID id) {
+    public ResponseEntity<HostelResponseDTO> getStudent(@PathVariable UUID id, WebRequest request) {
+        Optional<LocalDateTime> updatedAt = hostelService.getUpdatedAt(id);
+        if (updatedAt.isPresent() && request.checkNotModified(
+                ConditionalGets.etag(id, updatedAt.get()), ConditionalGets.lastModified(updatedAt.get()))) {
+            return null;
+        }
         try {
             HostelResponseDTO student = hostelService.getHostel(id);
-            return ResponseEntity.ok().body(student);
+            if (student.updatedAt() == null) return ResponseEntity.ok().body(student);
+            return ConditionalGets.ok(student, ConditionalGets.etag(id, student.updatedAt()),
+                    ConditionalGets.lastModified(student.updatedAt()));
         } catch (HostelNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -58,6 +86,43 @@ public class HostelController {
         }
     }
 
+    @GetMapping("/{id}/occupancy")
+    @Operation(summary = "Get room and seat totals for a hostel")
+    public ResponseEntity<HostelOccupancyDTO> getOccupancy(@PathVariable UUID id) {
+        try {
+            return ResponseEntity.ok(hostelService.getOccupancy(id));
+        } catch (HostelNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/roster")
+    @Operation(summary = "Get rooms of a hostel with their occupants' min details")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<HostelRosterDTO> getRoster(
+            @PathVariable UUID id,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
+        try {
+            return ResponseEntity.ok(hostelRosterService.getRoster(id, token));
+        } catch (HostelNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * POST /hostels/cache/invalidate
+     * Called by student-service when a student leaves a hostel; drops the cached roster.
+     */
+    @PostMapping("/cache/invalidate")
+    @Operation(summary = "Drop cached rosters for a hostel or room")
+    @PreAuthorize("hasAnyRole('ADMIN','WARDEN')")
+    public ResponseEntity<Void> invalidateRoster(@RequestBody CacheInvalidationDTO dto) {
+        hostelRosterService.evict(dto.hostelId());
+        hostelRosterService.evictByRoomId(dto.roomId());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping
     @Operation(summary = "Create a new hostel")
     @PreAuthorize("hasRole('ADMIN')")
@@ -1,18 +1,28 @@
 package com.hostelhelp.hostelservice.controller;
 
+import com.hostelhelp.hostelservice.dto.BatchAllocationRequestDTO;
+import com.hostelhelp.hostelservice.dto.BatchAllocationResultDTO;
+import com.hostelhelp.hostelservice.dto.BulkRoomRequestDTO;
+import com.hostelhelp.hostelservice.dto.RoomPageDTO;
 import com.hostelhelp.hostelservice.dto.RoomResponseDTO;
 import com.hostelhelp.hostelservice.mapper.RoomMapper;
 import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.service.HostelWriteQueues;
+import com.hostelhelp.hostelservice.service.RoomBatchAllocationService;
+import com.hostelhelp.hostelservice.service.RoomBulkCreationService;
 import com.hostelhelp.hostelservice.service.RoomService;
+import com.hostelhelp.hostelservice.service.StudentAssignmentDispatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("hostels/rooms")
@@ -20,6 +30,10 @@ import java.util.stream.Collectors;
 public class RoomController {
 
     private final RoomService roomService;
+    private final RoomBatchAllocationService roomBatchAllocationService;
+    private final RoomBulkCreationService roomBulkCreationService;
+    private final HostelWriteQueues hostelWriteQueues;
+    private final StudentAssignmentDispatcher studentAssignmentDispatcher;
     private final RoomMapper roomMapper;
 
     @PostMapping
@@ -29,31 +43,56 @@ public class RoomController {
         return ResponseEntity.ok(roomMapper.toResponseDTO(createdRoom));
     }
 
-    @GetMapping
-    // allow public access during development so frontend can fetch room objects by id
-    public ResponseEntity<List<RoomResponseDTO>> getAllRooms() {
-        List<RoomResponseDTO> rooms = roomService.getAllRooms()
+    // Create a block of rooms, numbered on from the hostel's last room
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RoomResponseDTO>> createRooms(@Validated @RequestBody BulkRoomRequestDTO dto) {
+        List<RoomResponseDTO> rooms = roomBulkCreationService
+                .createRooms(dto.hostelId(), dto.seatCounts(), dto.seatsPerRoom())
                 .stream()
                 .map(roomMapper::toResponseDTO)
-                .collect(Collectors.toList());
+                .toList();
         return ResponseEntity.ok(rooms);
     }
 
+    @GetMapping
+    // allow public access during development so frontend can fetch room objects by id
+    public ResponseEntity<RoomPageDTO> getAllRooms(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "true") boolean withOccupants,
+            WebRequest request) {
+        String etag = ConditionalGets.etag(roomService.getRoomsVersion(null, page, size), withOccupants);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ConditionalGets.ok(roomService.getRooms(null, page, size, withOccupants), etag, -1);
+    }
+
     @GetMapping("/hostel/{hostelId}")
     // public access - returns rooms belonging to a hostel
-    public ResponseEntity<List<RoomResponseDTO>> getRoomsByHostel(@PathVariable UUID hostelId) {
-        List<RoomResponseDTO> rooms = roomService.getRoomsByHostelId(hostelId)
-                .stream()
-                .map(roomMapper::toResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(rooms);
+    public ResponseEntity<RoomPageDTO> getRoomsByHostel(
+            @PathVariable UUID hostelId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "true") boolean withOccupants,
+            WebRequest request) {
+        String etag = ConditionalGets.etag(roomService.getRoomsVersion(hostelId, page, size), withOccupants);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ConditionalGets.ok(roomService.getRooms(hostelId, page, size, withOccupants), etag, -1);
     }
 
     @GetMapping("/{roomId}")
     // allow public access during development
-    public ResponseEntity<RoomResponseDTO> getRoom(@PathVariable UUID roomId) {
+    public ResponseEntity<RoomResponseDTO> getRoom(@PathVariable UUID roomId, WebRequest request) {
+        Optional<Long> version = roomService.getRoomVersion(roomId);
+        if (version.isPresent() && request.checkNotModified(ConditionalGets.etag(roomId, version.get()))) {
+            return null;
+        }
         Room room = roomService.getRoomById(roomId);
-        return ResponseEntity.ok(roomMapper.toResponseDTO(room));
+        return ConditionalGets.ok(roomMapper.toResponseDTO(room), ConditionalGets.etag(roomId, room.getVersion()), -1);
     }
 
     // New endpoint: return only the room number for a given room id
@@ -77,15 +116,41 @@ public class RoomController {
     @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
     public ResponseEntity<RoomResponseDTO> allocateStudent(
             @RequestParam UUID hostelId,
-            @RequestParam UUID studentId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader
+            @RequestParam UUID studentId
     ) {
-        // Safely extract token (if present). Do not throw locally; let service throw if required.
-        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
-        Room updatedRoom = roomService.allocateStudent(hostelId, studentId, token);
+        Room updatedRoom = roomService.allocateStudent(hostelId, studentId);
         return ResponseEntity.ok(roomMapper.toResponseDTO(updatedRoom));
     }
 
+    // Allocate a cohort of students to one hostel
+    @PostMapping("/allocate:batch")
+    @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
+    public ResponseEntity<BatchAllocationResultDTO> allocateStudents(
+            @Validated @RequestBody BatchAllocationRequestDTO dto
+    ) {
+        return ResponseEntity.ok(roomBatchAllocationService.allocate(dto.hostelId(), dto.studentIds()));
+    }
+
+    @GetMapping("/allocation/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAllocationQueueStats() {
+        return ResponseEntity.ok(hostelWriteQueues.stats());
+    }
+
+    // Assignments still to be confirmed by student-service, and how delivery has gone
+    @GetMapping("/allocation/outbox")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAssignmentOutboxStats() {
+        return ResponseEntity.ok(studentAssignmentDispatcher.stats());
+    }
+
+    // Retries assignments that were parked because student-service could not confirm them
+    @PostMapping("/allocation/outbox/parked:retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> retryParkedAssignments() {
+        return ResponseEntity.ok(Map.of("requeued", studentAssignmentDispatcher.requeueParked()));
+    }
+
     @PostMapping("/remove-student")
     @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
     public ResponseEntity<RoomResponseDTO> removeStudent(
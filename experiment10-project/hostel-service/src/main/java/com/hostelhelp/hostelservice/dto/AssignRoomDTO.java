@@ -2,4 +2,4 @@ package com.hostelhelp.hostelservice.dto;
 
 import java.util.UUID;
 
-public record AssignRoomDTO(String hostelId, String roomId) {}
+public record AssignRoomDTO(UUID hostelId, UUID roomId) {}
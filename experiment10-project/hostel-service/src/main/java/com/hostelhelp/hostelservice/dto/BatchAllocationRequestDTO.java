@@ -0,0 +1,15 @@
+package com.hostelhelp.hostelservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchAllocationRequestDTO(
+        @NotNull(message = "Hostel id is required")
+        UUID hostelId,
+
+        @NotEmpty(message = "At least one student id is required")
+        List<@NotNull UUID> studentIds
+) {}
@@ -0,0 +1,11 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchAllocationResultDTO(
+        UUID hostelId,
+        int requested,
+        int allocated,
+        List<StudentAllocationResultDTO> results
+) {}
@@ -0,0 +1,7 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// Body of student-service's POST /students/assign-room:batch
+public record BulkAssignRoomDTO(UUID hostelId, List<RoomAssignmentDTO> assignments) {}
@@ -0,0 +1,5 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.List;
+
+public record BulkAssignRoomResultDTO(int assigned, List<RoomAssignmentResultDTO> results) {}
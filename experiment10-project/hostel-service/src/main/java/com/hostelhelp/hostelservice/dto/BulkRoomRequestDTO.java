@@ -0,0 +1,27 @@
+package com.hostelhelp.hostelservice.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Either one seat count per room to create, or a single seatsPerRoom to create the rooms
+ * the hostel is still missing against its numberOfRooms.
+ */
+public record BulkRoomRequestDTO(
+        @NotNull(message = "Hostel id is required")
+        UUID hostelId,
+
+        List<@NotNull @Positive(message = "Seat counts must be positive") Integer> seatCounts,
+
+        @Positive(message = "Seats per room must be positive")
+        Integer seatsPerRoom
+) {
+    @AssertTrue(message = "Give either seatCounts or seatsPerRoom")
+    public boolean isSeatsGiven() {
+        return (seatCounts != null && !seatCounts.isEmpty()) != (seatsPerRoom != null);
+    }
+}
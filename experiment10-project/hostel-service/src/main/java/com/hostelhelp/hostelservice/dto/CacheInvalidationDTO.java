@@ -0,0 +1,8 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+public record CacheInvalidationDTO(
+        UUID hostelId,
+        UUID roomId
+) {}
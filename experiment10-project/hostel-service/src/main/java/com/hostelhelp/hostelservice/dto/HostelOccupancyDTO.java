@@ -0,0 +1,13 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+public record HostelOccupancyDTO(
+        UUID hostelId,
+        long rooms,
+        long totalSeats,
+        long filledSeats,
+        long vacantSeats,
+        long vacantRooms,
+        long fullRooms
+) {}
@@ -0,0 +1,13 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record HostelRosterDTO(
+        UUID hostelId,
+        int totalSeats,
+        int filledSeats,
+        List<RosterRoomDTO> rooms,
+        LocalDateTime generatedAt
+) {}
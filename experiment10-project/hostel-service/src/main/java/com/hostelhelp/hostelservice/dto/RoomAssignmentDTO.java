@@ -0,0 +1,5 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+public record RoomAssignmentDTO(UUID studentId, UUID roomId) {}
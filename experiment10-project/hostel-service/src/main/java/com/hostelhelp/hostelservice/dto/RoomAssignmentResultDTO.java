@@ -0,0 +1,5 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+public record RoomAssignmentResultDTO(UUID studentId, UUID roomId, String error) {}
@@ -0,0 +1,11 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.List;
+
+/**
+ * A page of rooms in room-number order. nextPage is null on the last page.
+ */
+public record RoomPageDTO(
+        List<RoomResponseDTO> items,
+        Integer nextPage
+) {}
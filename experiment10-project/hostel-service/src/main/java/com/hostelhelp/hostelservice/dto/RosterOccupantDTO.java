@@ -0,0 +1,12 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+/**
+ * One occupied seat in a roster. Details are null when student-service has no record
+ * for the id or could not be reached.
+ */
+public record RosterOccupantDTO(
+        UUID studentId,
+        StudentMinDetailsDTO details
+) {}
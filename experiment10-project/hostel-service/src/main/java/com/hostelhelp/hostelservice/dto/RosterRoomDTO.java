@@ -0,0 +1,12 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record RosterRoomDTO(
+        UUID id,
+        Integer roomNumber,
+        Integer totalSeats,
+        int filledSeats,
+        List<RosterOccupantDTO> occupants
+) {}
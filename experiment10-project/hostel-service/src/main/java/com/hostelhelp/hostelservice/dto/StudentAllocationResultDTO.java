@@ -0,0 +1,11 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+// roomId and roomNumber are set when the student got a seat; error is set otherwise
+public record StudentAllocationResultDTO(
+        UUID studentId,
+        UUID roomId,
+        Integer roomNumber,
+        String error
+) {}
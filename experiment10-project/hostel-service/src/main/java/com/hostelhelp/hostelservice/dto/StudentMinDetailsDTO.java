@@ -0,0 +1,9 @@
+package com.hostelhelp.hostelservice.dto;
+
+public record StudentMinDetailsDTO(
+        String name,
+        String email,
+        Integer graduationYear,
+        String uid,
+        String phone
+) {}
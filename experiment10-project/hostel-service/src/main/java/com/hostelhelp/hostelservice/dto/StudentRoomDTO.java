@@ -0,0 +1,10 @@
+package com.hostelhelp.hostelservice.dto;
+
+import java.util.UUID;
+
+// The part of student-service's student record the outbox checks before giving up on an assignment
+public record StudentRoomDTO(
+        UUID id,
+        UUID hostelId,
+        UUID roomId
+) {}
@@ -39,4 +39,20 @@ public class GlobalExceptionHandler {
         errors.put("hostel", "Hostel not found");
         return ResponseEntity.badRequest().body(errors);
     }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Map<String,String>> handleBatchTooLargeException(BatchTooLargeException ex) {
+        log.warn(ex.getMessage());
+        Map<String,String> errors = new HashMap<>();
+        errors.put("batch", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(StudentAlreadyHousedException.class)
+    public ResponseEntity<Map<String,String>> handleStudentAlreadyHousedException(StudentAlreadyHousedException ex) {
+        log.warn(ex.getMessage());
+        Map<String,String> errors = new HashMap<>();
+        errors.put("student", "Student already has a room");
+        return ResponseEntity.badRequest().body(errors);
+    }
 }
@@ -0,0 +1,7 @@
+package com.hostelhelp.hostelservice.exception;
+
+public class StudentAlreadyHousedException extends RuntimeException {
+    public StudentAlreadyHousedException(String message) {
+        super(message);
+    }
+}
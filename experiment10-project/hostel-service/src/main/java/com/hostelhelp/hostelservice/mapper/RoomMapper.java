@@ -4,6 +4,9 @@ import com.hostelhelp.hostelservice.dto.RoomResponseDTO;
 import com.hostelhelp.hostelservice.model.Room;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+
 
 @Component
 public class RoomMapper {
@@ -16,7 +19,7 @@ public class RoomMapper {
                 room.getHostelId(),
                 room.getRoomNumber(),
                 room.getTotalSeats(),
-                room.getStudentIds(),
+                List.copyOf(room.getStudentIds()),
                 room.getFilledSeats(),
                 room.hasVacancy()
         );
@@ -30,7 +33,7 @@ public class RoomMapper {
                 .hostelId(dto.hostelId())
                 .roomNumber(dto.roomNumber())
                 .totalSeats(dto.totalSeats())
-                .studentIds(dto.studentIds())
+                .studentIds(dto.studentIds() == null ? new LinkedHashSet<>() : new LinkedHashSet<>(dto.studentIds()))
                 .build();
     }
 }
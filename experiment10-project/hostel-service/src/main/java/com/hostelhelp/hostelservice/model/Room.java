@@ -2,9 +2,10 @@ package com.hostelhelp.hostelservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -27,26 +28,41 @@ public class Room {
     @Column(nullable = false)
     private Integer totalSeats;
 
+    // a set, so hibernate adds and removes single rows instead of rewriting the collection;
+    // batch-fetched so listing rooms does not cost a query per room
     @ElementCollection
-    private List<UUID> studentIds = new ArrayList<>();
+    @CollectionTable(name = "room_occupant", joinColumns = @JoinColumn(name = "room_id"))
+    @Column(name = "student_id", nullable = false)
+    @BatchSize(size = 100)
+    @Builder.Default
+    private Set<UUID> studentIds = new LinkedHashSet<>();
 
-    public int getFilledSeats() {
-        return studentIds.size();
-    }
+    // kept in step with studentIds; RoomService changes both with single-row statements
+    @Column(nullable = false)
+    private int filledSeats;
+
+    // the seat and occupant statements in RoomRepository bump it themselves
+    @Version
+    private long version;
 
     public boolean hasVacancy() {
-        return studentIds.size() < totalSeats;
+        return filledSeats < totalSeats;
     }
 
     public void addStudent(UUID studentId) {
         if (hasVacancy()) {
-            studentIds.add(studentId);
+            if (studentIds.add(studentId)) filledSeats++;
         } else {
             throw new RuntimeException("Room is full");
         }
     }
 
     public void removeStudent(UUID studentId) {
-        studentIds.remove(studentId);
+        if (studentIds.remove(studentId)) filledSeats--;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        filledSeats = studentIds == null ? 0 : studentIds.size();
     }
 }
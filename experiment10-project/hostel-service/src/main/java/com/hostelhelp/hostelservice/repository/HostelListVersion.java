@@ -0,0 +1,6 @@
+package com.hostelhelp.hostelservice.repository;
+
+import java.time.LocalDateTime;
+
+// Changes whenever a hostel is added, updated or removed
+public record HostelListVersion(long count, LocalDateTime lastUpdatedAt) {}
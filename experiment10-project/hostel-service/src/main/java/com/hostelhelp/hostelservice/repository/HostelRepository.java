@@ -2,13 +2,23 @@ package com.hostelhelp.hostelservice.repository;
 
 import com.hostelhelp.hostelservice.model.Hostel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface HostelRepository extends JpaRepository<Hostel, UUID> {
     boolean existsByName(String name);
     boolean existsByNameAndIdNot(String name, UUID id);
+
+    @Query("select h.updatedAt from Hostel h where h.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.HostelListVersion(count(h), max(h.updatedAt)) from Hostel h")
+    HostelListVersion findListVersion();
 }
 
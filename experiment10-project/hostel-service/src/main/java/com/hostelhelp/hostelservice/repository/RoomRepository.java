@@ -1,12 +1,116 @@
 package com.hostelhelp.hostelservice.repository;
 
 import com.hostelhelp.hostelservice.model.Room;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface RoomRepository extends JpaRepository<Room, UUID> {
 
     List<Room> findByHostelId(UUID hostelId);
+
+    long countByHostelId(UUID hostelId);
+
+    @Query("select coalesce(sum(r.totalSeats), 0) from Room r where r.hostelId = :hostelId")
+    long sumTotalSeatsByHostelId(@Param("hostelId") UUID hostelId);
+
+    @Query("select count(s) from Room r join r.studentIds s where r.hostelId = :hostelId")
+    long countOccupantsByHostelId(@Param("hostelId") UUID hostelId);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomSeatsView(" +
+            "r.id, r.hostelId, r.roomNumber, r.totalSeats, r.filledSeats) from Room r")
+    List<RoomSeatsView> findSeatViews();
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomSeatsView(" +
+            "r.id, r.hostelId, r.roomNumber, r.totalSeats, r.filledSeats) from Room r where r.hostelId = :hostelId")
+    List<RoomSeatsView> findSeatViewsByHostelId(@Param("hostelId") UUID hostelId);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomSeatsView(" +
+            "r.id, r.hostelId, r.roomNumber, r.totalSeats, r.filledSeats) from Room r where r.id = :id")
+    Optional<RoomSeatsView> findSeatViewById(@Param("id") UUID id);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomSeatsView(" +
+            "r.id, r.hostelId, r.roomNumber, r.totalSeats, r.filledSeats) from Room r where r.id in :ids")
+    List<RoomSeatsView> findSeatViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Pages of the room listing; a Slice so no count query is issued
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomSeatsView(" +
+            "r.id, r.hostelId, r.roomNumber, r.totalSeats, r.filledSeats) from Room r " +
+            "order by r.hostelId, r.roomNumber, r.id")
+    Slice<RoomSeatsView> findSeatViewPage(Pageable pageable);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomSeatsView(" +
+            "r.id, r.hostelId, r.roomNumber, r.totalSeats, r.filledSeats) from Room r where r.hostelId = :hostelId " +
+            "order by r.roomNumber, r.id")
+    Slice<RoomSeatsView> findSeatViewPageByHostelId(@Param("hostelId") UUID hostelId, Pageable pageable);
+
+    @Query("select r.version from Room r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    // Same order as the listing pages, so a page's versions identify its content
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomVersionView(r.id, r.version) from Room r " +
+            "order by r.hostelId, r.roomNumber, r.id")
+    Slice<RoomVersionView> findVersionPage(Pageable pageable);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomVersionView(r.id, r.version) from Room r " +
+            "where r.hostelId = :hostelId order by r.roomNumber, r.id")
+    Slice<RoomVersionView> findVersionPageByHostelId(@Param("hostelId") UUID hostelId, Pageable pageable);
+
+    @Query("select new com.hostelhelp.hostelservice.repository.RoomOccupantView(r.id, s) " +
+            "from Room r join r.studentIds s where r.id in :roomIds")
+    List<RoomOccupantView> findOccupantsByRoomIds(@Param("roomIds") Collection<UUID> roomIds);
+
+    // Locks the lowest-numbered room with a free seat; rooms locked by other allocations are skipped
+    @Query(value = "select * from room where hostel_id = :hostelId and filled_seats < total_seats " +
+            "order by room_number limit 1 for update skip locked", nativeQuery = true)
+    Optional<Room> lockFirstVacantRoomSkipLocked(@Param("hostelId") UUID hostelId);
+
+    // Same, but waits for locked rooms; used once the skipping variant came back empty
+    @Query(value = "select * from room where hostel_id = :hostelId and filled_seats < total_seats " +
+            "order by room_number limit 1 for update", nativeQuery = true)
+    Optional<Room> lockFirstVacantRoom(@Param("hostelId") UUID hostelId);
+
+    // Every room of the hostel with a free seat, locked, in allocation order
+    @Query(value = "select * from room where hostel_id = :hostelId and filled_seats < total_seats " +
+            "order by room_number for update", nativeQuery = true)
+    List<Room> lockVacantRooms(@Param("hostelId") UUID hostelId);
+
+    @Query("select r.id from Room r where r.hostelId = :hostelId and r.filledSeats < r.totalSeats order by r.roomNumber")
+    List<UUID> findVacantRoomIds(@Param("hostelId") UUID hostelId, Limit limit);
+
+    @Query("select count(r) > 0 from Room r where r.hostelId = :hostelId and r.filledSeats < r.totalSeats")
+    boolean existsVacantRoom(@Param("hostelId") UUID hostelId);
+
+    @Modifying
+    @Query("update Room r set r.filledSeats = r.filledSeats + 1, r.version = r.version + 1 " +
+            "where r.id = :roomId and r.filledSeats < r.totalSeats")
+    int incrementFilledSeats(@Param("roomId") UUID roomId);
+
+    @Modifying
+    @Query("update Room r set r.filledSeats = r.filledSeats - :count, r.version = r.version + 1 where r.id = :roomId")
+    int decrementFilledSeats(@Param("roomId") UUID roomId, @Param("count") int count);
+
+    @Modifying
+    @Query(value = "insert into room_occupant (room_id, student_id) values (:roomId, :studentId)", nativeQuery = true)
+    int insertOccupant(@Param("roomId") UUID roomId, @Param("studentId") UUID studentId);
+
+    @Modifying
+    @Query(value = "delete from room_occupant where room_id = :roomId and student_id = :studentId", nativeQuery = true)
+    int deleteOccupant(@Param("roomId") UUID roomId, @Param("studentId") UUID studentId);
+
+    @Query("select count(s) > 0 from Room r join r.studentIds s where r.id = :roomId and s = :studentId")
+    boolean existsOccupant(@Param("roomId") UUID roomId, @Param("studentId") UUID studentId);
+
+    // Those of the given students that already hold a seat in any room
+    @Query("select distinct s from Room r join r.studentIds s where s in :studentIds")
+    List<UUID> findHousedStudentIds(@Param("studentIds") Collection<UUID> studentIds);
 }
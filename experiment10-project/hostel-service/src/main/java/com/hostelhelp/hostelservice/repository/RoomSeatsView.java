@@ -0,0 +1,5 @@
+package com.hostelhelp.hostelservice.repository;
+
+import java.util.UUID;
+
+public record RoomSeatsView(UUID id, UUID hostelId, Integer roomNumber, Integer totalSeats, int filledSeats) {}
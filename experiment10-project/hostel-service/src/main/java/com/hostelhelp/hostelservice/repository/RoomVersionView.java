@@ -0,0 +1,5 @@
+package com.hostelhelp.hostelservice.repository;
+
+import java.util.UUID;
+
+public record RoomVersionView(UUID id, long version) {}
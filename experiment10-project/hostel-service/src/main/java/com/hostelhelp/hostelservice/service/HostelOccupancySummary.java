@@ -0,0 +1,213 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.HostelOccupancyDTO;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-hostel room and seat totals in the hostel_occupancy table, so "how many free seats
+ * does each hostel have" is a primary-key read. Every transaction that changes a room's
+ * seats, or adds or removes a room, applies its delta here before committing; the row
+ * update serialises concurrent changes to one hostel. A periodic recompute from the room
+ * table repairs anything written around these paths.
+ */
+@Component
+public class HostelOccupancySummary {
+
+    private static final Logger log = LoggerFactory.getLogger(HostelOccupancySummary.class);
+
+    private static final String AGGREGATE =
+            "select count(*), coalesce(sum(total_seats), 0), coalesce(sum(filled_seats), 0), " +
+                    "coalesce(sum(case when filled_seats < total_seats then 1 else 0 end), 0), " +
+                    "coalesce(sum(case when filled_seats >= total_seats then 1 else 0 end), 0) " +
+                    "from room where hostel_id = ?";
+
+    // an aggregate without group by always yields a row, so the existence check goes outside it
+    private static final String SEED =
+            "insert into hostel_occupancy (hostel_id, rooms, total_seats, filled_seats, vacant_rooms, full_rooms, updated_at) " +
+                    "select ?, a.rooms, a.total_seats, a.filled_seats, a.vacant_rooms, a.full_rooms, ? from (" +
+                    "select count(*) as rooms, coalesce(sum(total_seats), 0) as total_seats, " +
+                    "coalesce(sum(filled_seats), 0) as filled_seats, " +
+                    "coalesce(sum(case when filled_seats < total_seats then 1 else 0 end), 0) as vacant_rooms, " +
+                    "coalesce(sum(case when filled_seats >= total_seats then 1 else 0 end), 0) as full_rooms " +
+                    "from room where hostel_id = ?) a " +
+                    "where not exists (select 1 from hostel_occupancy where hostel_id = ?)";
+
+    private static final RowMapper<HostelOccupancyDTO> ROW = (rs, i) -> {
+        long totalSeats = rs.getLong("total_seats");
+        long filledSeats = rs.getLong("filled_seats");
+        return new HostelOccupancyDTO(rs.getObject("hostel_id", UUID.class), rs.getLong("rooms"), totalSeats,
+                filledSeats, Math.max(totalSeats - filledSeats, 0), rs.getLong("vacant_rooms"), rs.getLong("full_rooms"));
+    };
+
+    // What one room adds to its hostel's totals; subtracting the before state from the after
+    // state gives the delta of a change
+    private record Totals(int rooms, int totalSeats, int filledSeats, int vacantRooms, int fullRooms) {
+        static final Totals NONE = new Totals(0, 0, 0, 0, 0);
+
+        static Totals of(int totalSeats, int filledSeats) {
+            boolean full = filledSeats >= totalSeats;
+            return new Totals(1, totalSeats, filledSeats, full ? 0 : 1, full ? 1 : 0);
+        }
+
+        Totals plus(Totals o) {
+            return new Totals(rooms + o.rooms, totalSeats + o.totalSeats, filledSeats + o.filledSeats,
+                    vacantRooms + o.vacantRooms, fullRooms + o.fullRooms);
+        }
+
+        Totals minus(Totals o) {
+            return new Totals(rooms - o.rooms, totalSeats - o.totalSeats, filledSeats - o.filledSeats,
+                    vacantRooms - o.vacantRooms, fullRooms - o.fullRooms);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate seedTransaction;
+
+    public HostelOccupancySummary(JdbcTemplate jdbcTemplate, RoomRepository roomRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // The methods below must run inside the transaction that made the room change
+
+    public void roomAdded(Room room) {
+        roomsAdded(room.getHostelId(), List.of(room));
+    }
+
+    public void roomsAdded(UUID hostelId, List<Room> rooms) {
+        Totals delta = Totals.NONE;
+        for (Room room : rooms) delta = delta.plus(Totals.of(room.getTotalSeats(), room.getFilledSeats()));
+        apply(hostelId, delta);
+    }
+
+    public void roomRemoved(RoomSeatsView room) {
+        apply(room.hostelId(), Totals.NONE.minus(Totals.of(room.totalSeats(), room.filledSeats())));
+    }
+
+    // After the rooms' filled_seats were raised by the given counts
+    public void seatsTaken(Map<UUID, Integer> countByRoom) {
+        seatsChanged(countByRoom, 1);
+    }
+
+    // After the rooms' filled_seats were lowered by the given counts
+    public void seatsReleased(Map<UUID, Integer> countByRoom) {
+        seatsChanged(countByRoom, -1);
+    }
+
+    private void seatsChanged(Map<UUID, Integer> countByRoom, int sign) {
+        if (countByRoom.isEmpty()) return;
+        Map<UUID, Totals> byHostel = new HashMap<>();
+        for (RoomSeatsView room : roomRepository.findSeatViewsByIdIn(countByRoom.keySet())) {
+            int before = room.filledSeats() - sign * countByRoom.get(room.id());
+            Totals delta = Totals.of(room.totalSeats(), room.filledSeats()).minus(Totals.of(room.totalSeats(), before));
+            byHostel.merge(room.hostelId(), delta, Totals::plus);
+        }
+        byHostel.forEach(this::apply);
+    }
+
+    private void apply(UUID hostelId, Totals delta) {
+        if (delta.equals(Totals.NONE)) return;
+        if (bump(hostelId, delta) == 0) {
+            seed(hostelId);
+            bump(hostelId, delta);
+        }
+    }
+
+    private int bump(UUID hostelId, Totals d) {
+        return jdbcTemplate.update("update hostel_occupancy set rooms = rooms + ?, total_seats = total_seats + ?, " +
+                        "filled_seats = filled_seats + ?, vacant_rooms = vacant_rooms + ?, full_rooms = full_rooms + ?, " +
+                        "updated_at = ? where hostel_id = ?",
+                d.rooms(), d.totalSeats(), d.filledSeats(), d.vacantRooms(), d.fullRooms(), LocalDateTime.now(), hostelId);
+    }
+
+    // Creates the hostel's row from committed rooms in its own transaction, which leaves out
+    // the caller's own change; the caller then applies its delta. A lost insert race is harmless.
+    private void seed(UUID hostelId) {
+        try {
+            seedTransaction.executeWithoutResult(status -> jdbcTemplate.update(SEED,
+                    hostelId, LocalDateTime.now(), hostelId, hostelId));
+        } catch (DuplicateKeyException e) {
+            // another change seeded it first
+        }
+    }
+
+    public Optional<HostelOccupancyDTO> getOccupancy(UUID hostelId) {
+        return jdbcTemplate.query("select * from hostel_occupancy where hostel_id = ?", ROW, hostelId)
+                .stream().findFirst();
+    }
+
+    // Every hostel, with zeros for those that have no rooms yet
+    public List<HostelOccupancyDTO> getAll() {
+        return jdbcTemplate.query("select h.id as hostel_id, coalesce(o.rooms, 0) as rooms, " +
+                "coalesce(o.total_seats, 0) as total_seats, coalesce(o.filled_seats, 0) as filled_seats, " +
+                "coalesce(o.vacant_rooms, 0) as vacant_rooms, coalesce(o.full_rooms, 0) as full_rooms " +
+                "from hostel h left join hostel_occupancy o on o.hostel_id = h.id order by h.name", ROW);
+    }
+
+    @Scheduled(initialDelayString = "${hostels.occupancy.recompute-interval-ms:300000}",
+            fixedDelayString = "${hostels.occupancy.recompute-interval-ms:300000}")
+    public void scheduledRecompute() {
+        try {
+            int repaired = recompute();
+            if (repaired > 0) log.warn("Occupancy summary had drifted for {} hostels; recomputed", repaired);
+        } catch (Exception e) {
+            log.warn("Recomputing occupancy summary failed: {}", e.getMessage());
+        }
+    }
+
+    // Recounts every hostel with rooms; returns how many rows were wrong or missing
+    int recompute() {
+        List<UUID> hostelIds = jdbcTemplate.queryForList(
+                "select hostel_id from room union select hostel_id from hostel_occupancy", UUID.class);
+        int repaired = 0;
+        for (UUID hostelId : hostelIds) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recompute(hostelId)))) repaired++;
+        }
+        return repaired;
+    }
+
+    private boolean recompute(UUID hostelId) {
+        seed(hostelId);
+        // lock the row first: changes that already bumped it have committed by the time the
+        // count below runs, and later ones wait for us and then apply their delta on top
+        HostelOccupancyDTO stored = jdbcTemplate.queryForObject(
+                "select * from hostel_occupancy where hostel_id = ? for update", ROW, hostelId);
+        Totals actual = jdbcTemplate.queryForObject(AGGREGATE, (rs, i) -> new Totals(rs.getInt(1), rs.getInt(2),
+                rs.getInt(3), rs.getInt(4), rs.getInt(5)), hostelId);
+        if (stored.rooms() == actual.rooms() && stored.totalSeats() == actual.totalSeats()
+                && stored.filledSeats() == actual.filledSeats() && stored.vacantRooms() == actual.vacantRooms()
+                && stored.fullRooms() == actual.fullRooms()) {
+            return false;
+        }
+        jdbcTemplate.update("update hostel_occupancy set rooms = ?, total_seats = ?, filled_seats = ?, " +
+                        "vacant_rooms = ?, full_rooms = ?, updated_at = ? where hostel_id = ?",
+                actual.rooms(), actual.totalSeats(), actual.filledSeats(), actual.vacantRooms(), actual.fullRooms(),
+                LocalDateTime.now(), hostelId);
+        return true;
+    }
+}
@@ -0,0 +1,154 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostelhelp.hostelservice.dto.HostelRosterDTO;
+import com.hostelhelp.hostelservice.dto.RosterOccupantDTO;
+import com.hostelhelp.hostelservice.dto.RosterRoomDTO;
+import com.hostelhelp.hostelservice.dto.StudentMinDetailsDTO;
+import com.hostelhelp.hostelservice.exception.HostelNotFoundException;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.HostelRepository;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Occupancy roster for a hostel: every room with its seats and the min-details of each
+ * occupant. Built from one room query and one batched student-service lookup, then cached
+ * per hostel until a room in it changes or a student leaves.
+ */
+@Service
+public class HostelRosterService {
+
+    private static final Logger log = LoggerFactory.getLogger(HostelRosterService.class);
+
+    private final RoomRepository roomRepository;
+    private final HostelRepository hostelRepository;
+    private final RestTemplate restTemplate;
+    private final Cache<UUID, HostelRosterDTO> cache;
+    // student-service rejects larger min:batch requests
+    private final int minBatchSize;
+
+    // bumped on every eviction so a roster built before it is not stored afterwards
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Value("${services.student.base-url:http://api-gateway:4004}")
+    private String studentServiceBaseUrl;
+
+    public HostelRosterService(RoomRepository roomRepository,
+                               HostelRepository hostelRepository,
+                               RestTemplate restTemplate,
+                               @Value("${services.student.min-batch-size:500}") int minBatchSize,
+                               @Value("${hostels.roster.cache.max-size:500}") long maxSize,
+                               @Value("${hostels.roster.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.roomRepository = roomRepository;
+        this.hostelRepository = hostelRepository;
+        this.restTemplate = restTemplate;
+        this.minBatchSize = minBatchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Throws HostelNotFoundException for an unknown hostel. If student-service cannot be
+     * reached the roster is still returned with empty occupant details, but not cached.
+     */
+    public HostelRosterDTO getRoster(UUID hostelId, String token) {
+        HostelRosterDTO cached = cache.getIfPresent(hostelId);
+        if (cached != null) return cached;
+
+        if (!hostelRepository.existsById(hostelId)) {
+            throw new HostelNotFoundException("Hostel not found with id " + hostelId);
+        }
+        long expectedEpoch = epoch.get();
+
+        List<Room> rooms = new ArrayList<>(roomRepository.findByHostelId(hostelId));
+        rooms.sort(Comparator.comparing(Room::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Set<UUID> studentIds = new LinkedHashSet<>();
+        rooms.forEach(r -> studentIds.addAll(r.getStudentIds()));
+        Map<UUID, StudentMinDetailsDTO> details = fetchMinDetails(studentIds, token);
+
+        int totalSeats = 0;
+        int filledSeats = 0;
+        List<RosterRoomDTO> roomDTOs = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            List<RosterOccupantDTO> occupants = room.getStudentIds().stream()
+                    .map(id -> new RosterOccupantDTO(id, details == null ? null : details.get(id)))
+                    .toList();
+            // counted from the occupants listed so the roster is consistent with itself
+            roomDTOs.add(new RosterRoomDTO(room.getId(), room.getRoomNumber(), room.getTotalSeats(),
+                    occupants.size(), occupants));
+            totalSeats += room.getTotalSeats() == null ? 0 : room.getTotalSeats();
+            filledSeats += occupants.size();
+        }
+
+        HostelRosterDTO roster = new HostelRosterDTO(hostelId, totalSeats, filledSeats, roomDTOs, LocalDateTime.now());
+        if (details != null && epoch.get() == expectedEpoch) {
+            cache.put(hostelId, roster);
+        }
+        return roster;
+    }
+
+    public void evict(UUID hostelId) {
+        if (hostelId == null) return;
+        epoch.incrementAndGet();
+        cache.invalidate(hostelId);
+    }
+
+    // Evicts the roster of the hostel the room belongs to; unknown rooms are ignored
+    public void evictByRoomId(UUID roomId) {
+        if (roomId == null) return;
+        roomRepository.findById(roomId).ifPresent(room -> evict(room.getHostelId()));
+    }
+
+    // Null when student-service could not be reached
+    private Map<UUID, StudentMinDetailsDTO> fetchMinDetails(Set<UUID> ids, String token) {
+        Map<UUID, StudentMinDetailsDTO> result = new HashMap<>();
+        if (ids.isEmpty()) return result;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null && !token.isBlank()) headers.setBearerAuth(token);
+
+        List<UUID> all = new ArrayList<>(ids);
+        try {
+            for (int from = 0; from < all.size(); from += minBatchSize) {
+                List<UUID> batch = all.subList(from, Math.min(from + minBatchSize, all.size()));
+                ResponseEntity<Map<UUID, StudentMinDetailsDTO>> resp = restTemplate.exchange(
+                        studentServiceBaseUrl + "/students/min:batch", HttpMethod.POST,
+                        new HttpEntity<>(batch, headers),
+                        new ParameterizedTypeReference<Map<UUID, StudentMinDetailsDTO>>() {});
+                if (resp.getBody() != null) result.putAll(resp.getBody());
+            }
+            return result;
+        } catch (Exception e) {
+            log.warn("Fetching min details for {} students failed: {}", all.size(), e.getMessage());
+            return null;
+        }
+    }
+}
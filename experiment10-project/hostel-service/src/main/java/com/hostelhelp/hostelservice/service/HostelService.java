@@ -1,24 +1,35 @@
 package com.hostelhelp.hostelservice.service;
 
+import com.hostelhelp.hostelservice.dto.HostelOccupancyDTO;
 import com.hostelhelp.hostelservice.dto.HostelRequestDTO;
 import com.hostelhelp.hostelservice.dto.HostelResponseDTO;
 import com.hostelhelp.hostelservice.exception.HostelAlreadyExistsException;
 import com.hostelhelp.hostelservice.exception.HostelNotFoundException;
 import com.hostelhelp.hostelservice.mapper.HostelMapper;
 import com.hostelhelp.hostelservice.model.Hostel;
+import com.hostelhelp.hostelservice.repository.HostelListVersion;
 import com.hostelhelp.hostelservice.repository.HostelRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class HostelService {
 
     private final HostelRepository hostelRepository;
+    private final StudentCacheNotifier studentCacheNotifier;
+    private final HostelRosterService hostelRosterService;
+    private final HostelOccupancySummary hostelOccupancySummary;
 
-    public HostelService(HostelRepository hostelRepository) {
+    public HostelService(HostelRepository hostelRepository, StudentCacheNotifier studentCacheNotifier,
+                         HostelRosterService hostelRosterService, HostelOccupancySummary hostelOccupancySummary) {
         this.hostelRepository = hostelRepository;
+        this.hostelOccupancySummary = hostelOccupancySummary;
+        this.studentCacheNotifier = studentCacheNotifier;
+        this.hostelRosterService = hostelRosterService;
     }
 
 
@@ -27,6 +38,15 @@ public class HostelService {
         return hostels.stream().map(HostelMapper::toDTO).toList();
     }
 
+    // Empty for an unknown hostel
+    public Optional<LocalDateTime> getUpdatedAt(UUID id) {
+        return hostelRepository.findUpdatedAtById(id);
+    }
+
+    public HostelListVersion getListVersion() {
+        return hostelRepository.findListVersion();
+    }
+
     public HostelResponseDTO getHostel(UUID id) {
         Hostel hostel = hostelRepository.findById(id).orElseThrow(() ->
                 new HostelNotFoundException("Hostel not found with id " + id));
@@ -34,6 +54,19 @@ public class HostelService {
         return HostelMapper.toDTO(hostel);
     }
 
+    // Seat totals from the maintained summary row; a hostel without rooms has none yet
+    public HostelOccupancyDTO getOccupancy(UUID id) {
+        if (!hostelRepository.existsById(id)) {
+            throw new HostelNotFoundException("Hostel not found with id " + id);
+        }
+        return hostelOccupancySummary.getOccupancy(id)
+                .orElseGet(() -> new HostelOccupancyDTO(id, 0, 0, 0, 0, 0, 0));
+    }
+
+    public List<HostelOccupancyDTO> getAllOccupancy() {
+        return hostelOccupancySummary.getAll();
+    }
+
     public HostelResponseDTO createHostel(HostelRequestDTO hostelRequestDTO) {
         if (hostelRepository.existsByName(hostelRequestDTO.name())) {
             throw new HostelAlreadyExistsException(
@@ -67,6 +100,7 @@ public class HostelService {
         hostel.setBoysHostel(hostelRequestDTO.isBoysHostel());
 
         Hostel updatedHostel = hostelRepository.save(hostel);
+        studentCacheNotifier.hostelChanged(id);
 
         return HostelMapper.toDTO(updatedHostel);
     }
@@ -78,5 +112,7 @@ public class HostelService {
             throw new HostelNotFoundException("Hostel not found with id " + id);
         }
         hostelRepository.deleteById(id);
+        hostelRosterService.evict(id);
+        studentCacheNotifier.hostelChanged(id);
     }
 }
@@ -0,0 +1,129 @@
+package com.hostelhelp.hostelservice.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Striped single-threaded executors for seat changes. A hostel always maps to the same
+ * stripe, so its allocations and removals run one at a time in arrival order without
+ * database row locks, while hostels on different stripes proceed in parallel. When
+ * disabled, operations run on the caller's thread and allocation falls back to row locks.
+ */
+@Component
+public class HostelWriteQueues {
+
+    private static final class Stripe {
+        final ThreadPoolExecutor executor;
+        final LongAdder completed = new LongAdder();
+        final LongAdder totalWaitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Stripe(int index) {
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread t = new Thread(r, "hostel-writer-" + index);
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+
+        void recordWait(long nanos) {
+            completed.increment();
+            totalWaitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        int depth() {
+            return executor.getQueue().size() + executor.getActiveCount();
+        }
+    }
+
+    private final boolean enabled;
+    private final List<Stripe> stripes;
+
+    public HostelWriteQueues(@Value("${hostels.allocation.single-writer:true}") boolean enabled,
+                             @Value("${hostels.allocation.stripes:16}") int stripeCount) {
+        this.enabled = enabled;
+        this.stripes = new ArrayList<>();
+        if (enabled) {
+            for (int i = 0; i < Math.max(stripeCount, 1); i++) stripes.add(new Stripe(i));
+        }
+    }
+
+    // True when seat changes of a hostel are already serialised and need no row locks
+    public boolean isSerialising() {
+        return enabled;
+    }
+
+    public <T> CompletableFuture<T> submit(UUID hostelId, Supplier<T> operation) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(operation.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        Stripe stripe = stripes.get(Math.floorMod(hostelId.hashCode(), stripes.size()));
+        long enqueuedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            stripe.recordWait(System.nanoTime() - enqueuedAt);
+            return operation.get();
+        }, stripe.executor);
+    }
+
+    // Runs the operation on the hostel's stripe and waits for it; its exceptions are rethrown as is
+    public <T> T call(UUID hostelId, Supplier<T> operation) {
+        try {
+            return submit(hostelId, operation).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("stripes", stripes.size());
+        long completed = 0;
+        long waitNanos = 0;
+        long maxWait = 0;
+        int queued = 0;
+        List<Integer> depths = new ArrayList<>(stripes.size());
+        for (Stripe s : stripes) {
+            completed += s.completed.sum();
+            waitNanos += s.totalWaitNanos.sum();
+            maxWait = Math.max(maxWait, s.maxWaitNanos.get());
+            int depth = s.depth();
+            queued += depth;
+            depths.add(depth);
+        }
+        out.put("queueDepth", queued);
+        out.put("queueDepthByStripe", depths);
+        out.put("completed", completed);
+        out.put("avgWaitMillis", completed == 0 ? 0.0 : waitNanos / 1e6 / completed);
+        out.put("maxWaitMillis", Duration.ofNanos(maxWait).toMillis());
+        return out;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stripes.forEach(s -> s.executor.shutdown());
+    }
+}
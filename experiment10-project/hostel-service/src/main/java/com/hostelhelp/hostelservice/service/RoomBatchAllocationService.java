@@ -0,0 +1,168 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.BatchAllocationResultDTO;
+import com.hostelhelp.hostelservice.dto.RoomAssignmentDTO;
+import com.hostelhelp.hostelservice.dto.StudentAllocationResultDTO;
+import com.hostelhelp.hostelservice.exception.BatchTooLargeException;
+import com.hostelhelp.hostelservice.exception.HostelNotFoundException;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.HostelRepository;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Allocates a cohort of students to one hostel. The vacant rooms are locked and the whole
+ * seat plan is written in one transaction with JDBC batches, together with one outbox row
+ * per seat. StudentAssignmentDispatcher then tells student-service, exactly as for a single
+ * allocation: students it rejects (unknown, already housed, wrong gender) get their seats
+ * released, and a batch whose outcome is unclear is checked or parked rather than freed.
+ * Students that already hold a seat are skipped up front.
+ */
+@Service
+public class RoomBatchAllocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomBatchAllocationService.class);
+
+    private final RoomRepository roomRepository;
+    private final HostelRepository hostelRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentAssignmentOutbox studentAssignmentOutbox;
+    private final RoomVacancyIndex roomVacancyIndex;
+    private final HostelRosterService hostelRosterService;
+    private final HostelWriteQueues hostelWriteQueues;
+    private final HostelOccupancySummary hostelOccupancySummary;
+    // bounds the seat plan written, and the rooms held locked, in one transaction
+    private final int maxBatchSize;
+
+    public RoomBatchAllocationService(RoomRepository roomRepository,
+                                      HostelRepository hostelRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      StudentAssignmentOutbox studentAssignmentOutbox,
+                                      RoomVacancyIndex roomVacancyIndex,
+                                      HostelRosterService hostelRosterService,
+                                      HostelWriteQueues hostelWriteQueues,
+                                      HostelOccupancySummary hostelOccupancySummary,
+                                      @Value("${hostels.allocation.batch.max-size:500}") int maxBatchSize) {
+        this.roomRepository = roomRepository;
+        this.hostelRepository = hostelRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.studentAssignmentOutbox = studentAssignmentOutbox;
+        this.roomVacancyIndex = roomVacancyIndex;
+        this.hostelRosterService = hostelRosterService;
+        this.hostelWriteQueues = hostelWriteQueues;
+        this.hostelOccupancySummary = hostelOccupancySummary;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    private record Seat(UUID studentId, UUID roomId, Integer roomNumber) {}
+
+    public BatchAllocationResultDTO allocate(UUID hostelId, List<UUID> studentIds) {
+        if (studentIds.size() > maxBatchSize) {
+            throw new BatchTooLargeException("At most " + maxBatchSize + " students can be allocated per batch");
+        }
+        if (!hostelRepository.existsById(hostelId)) {
+            throw new HostelNotFoundException("Hostel not found with id " + hostelId);
+        }
+
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        Set<UUID> housed = new HashSet<>();
+        // a student who already has a seat would hit the occupant key and roll back the whole cohort
+        List<Seat> seats = hostelWriteQueues.call(hostelId, () -> transactionTemplate.execute(status -> {
+            if (!distinct.isEmpty()) housed.addAll(roomRepository.findHousedStudentIds(distinct));
+            return claimSeats(hostelId, distinct.stream().filter(id -> !housed.contains(id)).toList());
+        }));
+        Map<UUID, Seat> seatByStudent = new HashMap<>();
+        seats.forEach(s -> seatByStudent.put(s.studentId(), s));
+
+        if (!seats.isEmpty()) {
+            roomVacancyIndex.refresh(hostelId);
+            hostelRosterService.evict(hostelId);
+        }
+
+        List<StudentAllocationResultDTO> results = new ArrayList<>(studentIds.size());
+        Set<UUID> seen = new HashSet<>();
+        int allocated = 0;
+        for (UUID studentId : studentIds) {
+            Seat seat = seatByStudent.get(studentId);
+            String error = null;
+            if (!seen.add(studentId)) {
+                error = "Student appears more than once in the batch";
+            } else if (housed.contains(studentId)) {
+                error = "Student already has a room";
+            } else if (seat == null) {
+                error = "No vacant seat left in hostel";
+            }
+            if (error == null) {
+                allocated++;
+                results.add(new StudentAllocationResultDTO(studentId, seat.roomId(), seat.roomNumber(), null));
+            } else {
+                results.add(new StudentAllocationResultDTO(studentId, null, null, error));
+            }
+        }
+
+        log.info("Batch allocation for hostel {}: {} requested, {} allocated, student service update queued",
+                hostelId, studentIds.size(), allocated);
+        return new BatchAllocationResultDTO(hostelId, studentIds.size(), allocated, results);
+    }
+
+    // Fills the lowest-numbered vacant rooms first, in request order
+    private List<Seat> claimSeats(UUID hostelId, List<UUID> studentIds) {
+        List<Seat> plan = new ArrayList<>(studentIds.size());
+        Iterator<UUID> students = studentIds.iterator();
+        for (Room room : roomRepository.lockVacantRooms(hostelId)) {
+            int free = room.getTotalSeats() - room.getFilledSeats();
+            for (int i = 0; i < free && students.hasNext(); i++) {
+                plan.add(new Seat(students.next(), room.getId(), room.getRoomNumber()));
+            }
+            if (!students.hasNext()) break;
+        }
+        if (plan.isEmpty()) return plan;
+
+        jdbcTemplate.batchUpdate("insert into room_occupant (room_id, student_id) values (?, ?)",
+                plan, plan.size(), (ps, seat) -> {
+                    ps.setObject(1, seat.roomId());
+                    ps.setObject(2, seat.studentId());
+                });
+        Map<UUID, Integer> taken = countByRoom(plan);
+        incrementFilledSeats(taken);
+        hostelOccupancySummary.seatsTaken(taken);
+        studentAssignmentOutbox.addAll(hostelId,
+                plan.stream().map(s -> new RoomAssignmentDTO(s.studentId(), s.roomId())).toList());
+        return plan;
+    }
+
+    private void incrementFilledSeats(Map<UUID, Integer> countByRoom) {
+        if (countByRoom.isEmpty()) return;
+        List<Map.Entry<UUID, Integer>> changes = new ArrayList<>(countByRoom.entrySet());
+        jdbcTemplate.batchUpdate("update room set filled_seats = filled_seats + ?, version = version + 1 where id = ?",
+                changes, changes.size(), (ps, change) -> {
+                    ps.setInt(1, change.getValue());
+                    ps.setObject(2, change.getKey());
+                });
+    }
+
+    private static Map<UUID, Integer> countByRoom(List<Seat> seats) {
+        Map<UUID, Integer> counts = new LinkedHashMap<>();
+        seats.forEach(s -> counts.merge(s.roomId(), 1, Integer::sum));
+        return counts;
+    }
+}
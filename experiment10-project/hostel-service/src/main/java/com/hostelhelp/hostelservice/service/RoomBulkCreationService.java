@@ -0,0 +1,107 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.exception.BatchTooLargeException;
+import com.hostelhelp.hostelservice.exception.HostelNotFoundException;
+import com.hostelhelp.hostelservice.model.Hostel;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.HostelRepository;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates a block of rooms in one transaction: a single room-number reservation and one
+ * JDBC batch insert, instead of one numbered insert per room.
+ */
+@Service
+public class RoomBulkCreationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomBulkCreationService.class);
+
+    private final HostelRepository hostelRepository;
+    private final RoomRepository roomRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomNumberSequence roomNumberSequence;
+    private final RoomVacancyIndex roomVacancyIndex;
+    private final HostelRosterService hostelRosterService;
+    private final HostelOccupancySummary hostelOccupancySummary;
+    private final int maxRooms;
+
+    public RoomBulkCreationService(HostelRepository hostelRepository,
+                                   RoomRepository roomRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   RoomNumberSequence roomNumberSequence,
+                                   RoomVacancyIndex roomVacancyIndex,
+                                   HostelRosterService hostelRosterService,
+                                   HostelOccupancySummary hostelOccupancySummary,
+                                   @Value("${hostels.rooms.bulk.max-size:1000}") int maxRooms) {
+        this.hostelRepository = hostelRepository;
+        this.roomRepository = roomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.roomNumberSequence = roomNumberSequence;
+        this.roomVacancyIndex = roomVacancyIndex;
+        this.hostelRosterService = hostelRosterService;
+        this.hostelOccupancySummary = hostelOccupancySummary;
+        this.maxRooms = maxRooms;
+    }
+
+    /**
+     * Creates one room per entry of seatCounts, numbered on from the hostel's last room.
+     * With no seatCounts, creates the rooms the hostel lacks against its numberOfRooms,
+     * each with seatsPerRoom seats; nothing is created if it already has them all.
+     */
+    public List<Room> createRooms(UUID hostelId, List<Integer> seatCounts, Integer seatsPerRoom) {
+        Hostel hostel = hostelRepository.findById(hostelId).orElseThrow(() ->
+                new HostelNotFoundException("Hostel not found with id " + hostelId));
+
+        List<Integer> seats = seatCounts != null && !seatCounts.isEmpty()
+                ? seatCounts
+                : Collections.nCopies((int) Math.max(hostel.getNumberOfRooms() - roomRepository.countByHostelId(hostelId), 0),
+                        seatsPerRoom);
+        if (seats.size() > maxRooms) {
+            throw new BatchTooLargeException("At most " + maxRooms + " rooms can be created per request");
+        }
+        if (seats.isEmpty()) return List.of();
+
+        List<Room> rooms = transactionTemplate.execute(status -> {
+            int number = roomNumberSequence.reserve(hostelId, seats.size());
+            List<Room> created = new ArrayList<>(seats.size());
+            for (Integer totalSeats : seats) {
+                created.add(Room.builder()
+                        .id(UUID.randomUUID())
+                        .hostelId(hostelId)
+                        .roomNumber(number++)
+                        .totalSeats(totalSeats)
+                        .build());
+            }
+            jdbcTemplate.batchUpdate(
+                    "insert into room (id, hostel_id, room_number, total_seats, filled_seats) values (?, ?, ?, ?, 0)",
+                    created, created.size(), (ps, room) -> {
+                        ps.setObject(1, room.getId());
+                        ps.setObject(2, room.getHostelId());
+                        ps.setInt(3, room.getRoomNumber());
+                        ps.setInt(4, room.getTotalSeats());
+                    });
+            hostelOccupancySummary.roomsAdded(hostelId, created);
+            return created;
+        });
+
+        hostelRosterService.evict(hostelId);
+        rooms.forEach(roomVacancyIndex::roomAdded);
+        log.info("Created rooms {}-{} in hostel {}", rooms.get(0).getRoomNumber(),
+                rooms.get(rooms.size() - 1).getRoomNumber(), hostelId);
+        return rooms;
+    }
+}
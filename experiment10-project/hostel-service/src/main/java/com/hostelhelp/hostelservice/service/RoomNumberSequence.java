@@ -0,0 +1,65 @@
+package com.hostelhelp.hostelservice.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Hands out room numbers per hostel from the hostel_room_sequence counter row. The bump
+ * locks that row until the caller's transaction ends, so concurrent creations get
+ * disjoint numbers, and a rolled-back creation gives its numbers back.
+ */
+@Component
+public class RoomNumberSequence {
+
+    static final int FIRST_ROOM_NUMBER = 101;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate seedTransaction;
+
+    public RoomNumberSequence(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserves count consecutive room numbers for the hostel and returns the first.
+     * Must run inside the transaction that inserts the rooms.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reserve(UUID hostelId, int count) {
+        if (count < 1) throw new IllegalArgumentException("count must be positive");
+        if (bump(hostelId, count) == 0) {
+            seed(hostelId);
+            bump(hostelId, count);
+        }
+        Integer next = jdbcTemplate.queryForObject(
+                "select next_number from hostel_room_sequence where hostel_id = ?", Integer.class, hostelId);
+        return next - count;
+    }
+
+    private int bump(UUID hostelId, int count) {
+        return jdbcTemplate.update(
+                "update hostel_room_sequence set next_number = next_number + ? where hostel_id = ?", count, hostelId);
+    }
+
+    // Committed on its own so a lost insert race does not abort the caller's transaction
+    private void seed(UUID hostelId) {
+        try {
+            seedTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                    "insert into hostel_room_sequence (hostel_id, next_number) " +
+                            "select ?, coalesce(max(room_number) + 1, ?) from room where hostel_id = ?",
+                    hostelId, FIRST_ROOM_NUMBER, hostelId));
+        } catch (DuplicateKeyException e) {
+            // another creation seeded it first
+        }
+    }
+}
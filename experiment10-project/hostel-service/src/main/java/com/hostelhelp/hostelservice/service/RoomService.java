@@ -1,24 +1,28 @@
 package com.hostelhelp.hostelservice.service;
 
-import com.hostelhelp.hostelservice.dto.AssignRoomDTO;
+import com.hostelhelp.hostelservice.dto.RoomPageDTO;
+import com.hostelhelp.hostelservice.dto.RoomResponseDTO;
 import com.hostelhelp.hostelservice.exception.NoVacantRoomException;
-import com.hostelhelp.hostelservice.exception.RemoteServiceException;
-import com.hostelhelp.hostelservice.exception.StudentNotFoundRemoteException;
+import com.hostelhelp.hostelservice.exception.StudentAlreadyHousedException;
 import com.hostelhelp.hostelservice.model.Room;
 import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import com.hostelhelp.hostelservice.repository.RoomVersionView;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
-import java.util.Comparator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,34 +30,79 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RoomService {
 
+    // a claim only comes back empty with seats left when it lost a race for the last ones
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    // reservations the database rejects before falling back to the locking query
+    private static final int MAX_INDEX_ATTEMPTS = 3;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final RoomRepository roomRepository;
-    private final RestTemplate restTemplate;
+    private final StudentCacheNotifier studentCacheNotifier;
+    private final HostelRosterService hostelRosterService;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomVacancyIndex roomVacancyIndex;
+    private final HostelWriteQueues hostelWriteQueues;
+    private final RoomNumberSequence roomNumberSequence;
+    private final HostelOccupancySummary hostelOccupancySummary;
+    private final StudentAssignmentOutbox studentAssignmentOutbox;
     private final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RoomService.class);
 
     // Create room with automatic numbering starting from 101
     public Room createRoom(Room room) {
-        List<Room> hostelRooms = roomRepository.findByHostelId(room.getHostelId());
-
-        int nextRoomNumber = 101; // default starting number
-        if (!hostelRooms.isEmpty()) {
-            // Find the max room number for this hostel and increment by 1
-            nextRoomNumber = hostelRooms.stream()
-                    .map(Room::getRoomNumber)
-                    .max(Comparator.naturalOrder())
-                    .orElse(100) + 1;
+        Room saved = transactionTemplate.execute(status -> {
+            room.setRoomNumber(roomNumberSequence.reserve(room.getHostelId(), 1));
+            Room created = roomRepository.save(room);
+            hostelOccupancySummary.roomAdded(created);
+            return created;
+        });
+        hostelRosterService.evict(saved.getHostelId());
+        roomVacancyIndex.roomAdded(saved);
+        return saved;
+    }
+
+    /**
+     * One page of rooms, of one hostel or of all of them, in one query for the rooms and
+     * one for their occupants. Without occupants studentIds is left null and only the
+     * seat counts are returned.
+     */
+    public RoomPageDTO getRooms(UUID hostelId, int page, int size, boolean withOccupants) {
+        Pageable pageable = pageable(page, size);
+        Slice<RoomSeatsView> rooms = hostelId == null
+                ? roomRepository.findSeatViewPage(pageable)
+                : roomRepository.findSeatViewPageByHostelId(hostelId, pageable);
+
+        Map<UUID, List<UUID>> occupants = new HashMap<>();
+        if (withOccupants && rooms.hasContent()) {
+            List<UUID> roomIds = rooms.map(RoomSeatsView::id).toList();
+            roomRepository.findOccupantsByRoomIds(roomIds).forEach(o ->
+                    occupants.computeIfAbsent(o.roomId(), id -> new ArrayList<>()).add(o.studentId()));
         }
 
-        room.setRoomNumber(nextRoomNumber);
-        return roomRepository.save(room);
+        List<RoomResponseDTO> items = rooms.map(r -> new RoomResponseDTO(r.id(), r.hostelId(), r.roomNumber(),
+                r.totalSeats(), withOccupants ? occupants.getOrDefault(r.id(), List.of()) : null,
+                r.filledSeats(), r.filledSeats() < r.totalSeats())).toList();
+        return new RoomPageDTO(items, rooms.hasNext() ? pageable.getPageNumber() + 1 : null);
     }
 
-    public List<Room> getAllRooms() {
-        return roomRepository.findAll();
+    // Digest of the page's room versions; changes whenever getRooms would return something else
+    public String getRoomsVersion(UUID hostelId, int page, int size) {
+        Pageable pageable = pageable(page, size);
+        Slice<RoomVersionView> versions = hostelId == null
+                ? roomRepository.findVersionPage(pageable)
+                : roomRepository.findVersionPageByHostelId(hostelId, pageable);
+        StringBuilder content = new StringBuilder(versions.getNumberOfElements() * 40);
+        versions.forEach(v -> content.append(v.id()).append(':').append(v.version()).append(','));
+        content.append(versions.hasNext());
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
     }
 
-    // New: fetch all rooms for a given hostelId
-    public List<Room> getRoomsByHostelId(UUID hostelId) {
-        return roomRepository.findByHostelId(hostelId);
+    // Empty for an unknown room
+    public Optional<Long> getRoomVersion(UUID roomId) {
+        return roomRepository.findVersionById(roomId);
+    }
+
+    private static Pageable pageable(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
     }
 
     public Room getRoomById(UUID roomId) {
@@ -62,67 +111,157 @@ public class RoomService {
     }
 
     public void deleteRoom(UUID roomId) {
-        roomRepository.deleteById(roomId);
-    }
-
-    // Allocate student to first available room in the hostel
-    public Room allocateStudent(UUID hostelId, UUID studentId, String token) {
-        List<Room> rooms = roomRepository.findByHostelId(hostelId);
-        log.debug("Found {} rooms for hostel {}", rooms.size(), hostelId);
-
-        for (Room room : rooms) {
-            if (room.hasVacancy()) {
-                room.addStudent(studentId);
-                Room savedRoom = roomRepository.save(room);
-                log.info("Reserved room {} for student {} (hostel {})", savedRoom.getId(), studentId, hostelId);
-
-                // Prepare assign-room REST call
-                try {
-                    String studentServiceUrl = "http://api-gateway:4004/students/" + studentId + "/assign-room";
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_JSON);
-                    if (token != null && !token.isBlank()) headers.setBearerAuth(token);
-
-                    AssignRoomDTO dto = new AssignRoomDTO(hostelId.toString(), savedRoom.getId().toString());
-                    HttpEntity<AssignRoomDTO> entity = new HttpEntity<>(dto, headers);
-
-                    ResponseEntity<Void> response = restTemplate.postForEntity(studentServiceUrl, entity, Void.class);
-                    if (!response.getStatusCode().is2xxSuccessful()) {
-                        log.error("Student service assign-room returned non-2xx: {} for student {}", response.getStatusCode(), studentId);
-                        throw new RemoteServiceException("Failed to update student record: status " + response.getStatusCode());
-                    }
-
-                    log.info("Student {} assigned to room {} successfully (remote updated)", studentId, savedRoom.getId());
-                    return savedRoom;
-                } catch (HttpClientErrorException.NotFound e) {
-                    log.error("Student service responded 404 for student {}: {}", studentId, e.getMessage());
-                    // Undo local assignment before throwing
-                    room.removeStudent(studentId);
-                    roomRepository.save(room);
-                    throw new StudentNotFoundRemoteException("Student not found: " + studentId);
-                } catch (HttpClientErrorException e) {
-                    log.error("Student service client error: {} body: {}", e.getStatusCode(), e.getResponseBodyAsString());
-                    room.removeStudent(studentId);
-                    roomRepository.save(room);
-                    throw new RemoteServiceException("Student service error: " + e.getMessage(), e);
-                } catch (Exception e) {
-                    log.error("Unexpected error calling student service: {}", e.getMessage(), e);
-                    room.removeStudent(studentId);
-                    roomRepository.save(room);
-                    throw new RemoteServiceException("Failed to notify student service: " + e.getMessage(), e);
-                }
+        Optional<UUID> hostelId = transactionTemplate.execute(status -> {
+            Optional<RoomSeatsView> room = roomRepository.findSeatViewById(roomId);
+            roomRepository.deleteById(roomId);
+            room.ifPresent(hostelOccupancySummary::roomRemoved);
+            return room.map(RoomSeatsView::hostelId);
+        });
+        hostelId.ifPresent(hostelRosterService::evict);
+        hostelId.ifPresent(id -> roomVacancyIndex.roomRemoved(id, roomId));
+        studentCacheNotifier.roomChanged(roomId);
+    }
+
+    /**
+     * Allocates the student to the lowest-numbered room with a free seat. The room is
+     * picked from the in-memory vacancy index and the seat claimed in its own short
+     * transaction (conditional counter update, occupant insert) on the hostel's writer
+     * queue, so concurrent allocations cannot overbook. The same transaction adds the
+     * assignment to the outbox, and StudentAssignmentDispatcher tells student-service
+     * afterwards; if student-service rejects the student the seat is released again.
+     * A student who already holds a seat in any hostel is refused, as in the batch path.
+     */
+    public Room allocateStudent(UUID hostelId, UUID studentId) {
+        UUID roomId;
+        try {
+            roomId = hostelWriteQueues.call(hostelId, () -> {
+                if (isHoused(studentId)) throw alreadyHoused(studentId);
+                return claimSeat(hostelId, studentId);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // an allocation on another hostel's queue seated the student first
+            if (!isHoused(studentId)) throw e;
+            throw alreadyHoused(studentId);
+        }
+        if (roomId == null) {
+            log.warn("No vacant rooms found for hostel {}", hostelId);
+            throw new NoVacantRoomException("No vacant rooms in hostel: " + hostelId);
+        }
+        log.info("Student {} allocated room {} (hostel {}), student service update queued", studentId, roomId, hostelId);
+
+        // roommates' cached composites still list the old occupants
+        hostelRosterService.evict(hostelId);
+        studentCacheNotifier.roomChanged(roomId);
+        return getRoomById(roomId);
+    }
+
+    private boolean isHoused(UUID studentId) {
+        return !roomRepository.findHousedStudentIds(List.of(studentId)).isEmpty();
+    }
+
+    private StudentAlreadyHousedException alreadyHoused(UUID studentId) {
+        log.warn("Student {} already has a room", studentId);
+        return new StudentAlreadyHousedException("Student already has a room: " + studentId);
+    }
+
+    // Id of the room the seat was taken in, or null if the hostel is full
+    UUID claimSeat(UUID hostelId, UUID studentId) {
+        for (int attempt = 0; attempt < MAX_INDEX_ATTEMPTS; attempt++) {
+            Optional<UUID> candidate = roomVacancyIndex.reserve(hostelId);
+            if (candidate.isEmpty()) break;
+            boolean confirmed;
+            try {
+                confirmed = confirmSeat(hostelId, candidate.get(), studentId);
+            } catch (RuntimeException e) {
+                // the seat was reserved in the index but never taken; reload so it is offered again
+                roomVacancyIndex.refresh(hostelId);
+                throw e;
             }
+            if (confirmed) return candidate.get();
+            // another instance or a direct change filled the room behind the index
+            roomVacancyIndex.refresh(hostelId);
+        }
+        // the index has nothing for this hostel; make sure with the database before saying full
+        UUID roomId = hostelWriteQueues.isSerialising()
+                ? claimFirstVacantSeat(hostelId, studentId)
+                : lockAndClaimSeat(hostelId, studentId);
+        if (roomId != null) roomVacancyIndex.refresh(hostelId);
+        return roomId;
+    }
+
+    private boolean confirmSeat(UUID hostelId, UUID roomId, UUID studentId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (roomRepository.incrementFilledSeats(roomId) == 0) return false;
+            roomRepository.insertOccupant(roomId, studentId);
+            hostelOccupancySummary.seatsTaken(Map.of(roomId, 1));
+            studentAssignmentOutbox.add(hostelId, roomId, studentId);
+            return true;
+        }));
+    }
+
+    // Only this instance's writer changes the hostel, so no lock is needed; the conditional
+    // update still catches a seat taken by another instance
+    private UUID claimFirstVacantSeat(UUID hostelId, UUID studentId) {
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            List<UUID> vacant = roomRepository.findVacantRoomIds(hostelId, Limit.of(1));
+            if (vacant.isEmpty()) return null;
+            if (confirmSeat(hostelId, vacant.get(0), studentId)) return vacant.get(0);
         }
+        return null;
+    }
+
+    private UUID lockAndClaimSeat(UUID hostelId, UUID studentId) {
+        // the first pass skips rooms other allocations hold; only if that finds nothing
+        // while seats remain do we queue behind their locks
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            boolean skipLocked = attempt == 0;
+            UUID roomId = transactionTemplate.execute(status -> {
+                Optional<UUID> candidate = (skipLocked
+                        ? roomRepository.lockFirstVacantRoomSkipLocked(hostelId)
+                        : roomRepository.lockFirstVacantRoom(hostelId)).map(Room::getId);
+                if (candidate.isEmpty() || roomRepository.incrementFilledSeats(candidate.get()) == 0) {
+                    return null;
+                }
+                roomRepository.insertOccupant(candidate.get(), studentId);
+                hostelOccupancySummary.seatsTaken(Map.of(candidate.get(), 1));
+                studentAssignmentOutbox.add(hostelId, candidate.get(), studentId);
+                return candidate.get();
+            });
+            if (roomId != null) return roomId;
+            if (!roomRepository.existsVacantRoom(hostelId)) return null;
+        }
+        return null;
+    }
+
+    void releaseSeat(UUID hostelId, UUID roomId, UUID studentId) {
+        hostelWriteQueues.call(hostelId, () -> {
+            Integer removed = transactionTemplate.execute(status -> {
+                int deleted = roomRepository.deleteOccupant(roomId, studentId);
+                // otherwise the dispatcher would still tell student-service about a seat that is gone
+                studentAssignmentOutbox.cancel(roomId, studentId);
+                if (deleted > 0) {
+                    roomRepository.decrementFilledSeats(roomId, deleted);
+                    hostelOccupancySummary.seatsReleased(Map.of(roomId, deleted));
+                }
+                return deleted;
+            });
+            if (removed != null && removed > 0) roomVacancyIndex.release(hostelId, roomId);
+            return removed;
+        });
+    }
 
-        log.warn("No vacant rooms found for hostel {}", hostelId);
-        throw new NoVacantRoomException("No vacant rooms in hostel: " + hostelId);
+    boolean holdsSeat(UUID roomId, UUID studentId) {
+        return roomRepository.existsOccupant(roomId, studentId);
     }
 
     public Room removeStudent(UUID studentId, UUID roomId, String token) {
         try{
-            Room room = getRoomById(roomId);
-            room.getStudentIds().remove(studentId);
-            return roomRepository.save(room);
+            UUID hostelId = getRoomById(roomId).getHostelId();
+            releaseSeat(hostelId, roomId, studentId);
+            Room saved = getRoomById(roomId);
+            hostelRosterService.evict(saved.getHostelId());
+            studentCacheNotifier.roomChanged(roomId);
+            return saved;
         } catch (Exception e) {
             throw new RuntimeException("Room not found");
         }
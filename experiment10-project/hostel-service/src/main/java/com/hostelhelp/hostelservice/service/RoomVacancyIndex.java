@@ -0,0 +1,175 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map of free seats per hostel, so allocation can pick a room without scanning
+ * the room table. Within a hostel rooms are ordered by room number and a reservation takes
+ * a seat from the lowest-numbered vacant room in O(log n). The database stays the source
+ * of truth: RoomService confirms every reservation with a conditional update and refreshes
+ * the hostel here when the two disagree. Built on startup and rebuilt periodically to pick
+ * up changes made by other instances.
+ */
+@Component
+public class RoomVacancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomVacancyIndex.class);
+
+    private static final Comparator<RoomSeats> ORDER = Comparator
+            .comparing((RoomSeats r) -> r.roomNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(r -> r.id);
+
+    private static final class RoomSeats {
+        final UUID id;
+        final Integer roomNumber;
+        final int totalSeats;
+        int filledSeats;
+
+        RoomSeats(UUID id, Integer roomNumber, int totalSeats, int filledSeats) {
+            this.id = id;
+            this.roomNumber = roomNumber;
+            this.totalSeats = totalSeats;
+            this.filledSeats = filledSeats;
+        }
+
+        boolean hasVacancy() {
+            return filledSeats < totalSeats;
+        }
+    }
+
+    // All rooms of one hostel; every method holds the hostel's monitor
+    private static final class HostelRooms {
+        private final Map<UUID, RoomSeats> rooms = new HashMap<>();
+        private final TreeSet<RoomSeats> vacant = new TreeSet<>(ORDER);
+
+        synchronized void put(RoomSeats room) {
+            remove(room.id);
+            rooms.put(room.id, room);
+            if (room.hasVacancy()) vacant.add(room);
+        }
+
+        synchronized void remove(UUID roomId) {
+            RoomSeats room = rooms.remove(roomId);
+            if (room != null) vacant.remove(room);
+        }
+
+        synchronized Optional<UUID> reserve() {
+            if (vacant.isEmpty()) return Optional.empty();
+            RoomSeats room = vacant.first();
+            room.filledSeats++;
+            if (!room.hasVacancy()) vacant.remove(room);
+            return Optional.of(room.id);
+        }
+
+        synchronized void release(UUID roomId) {
+            RoomSeats room = rooms.get(roomId);
+            if (room == null || room.filledSeats == 0) return;
+            room.filledSeats--;
+            vacant.add(room);
+        }
+
+        synchronized int vacantSeats() {
+            return vacant.stream().mapToInt(r -> r.totalSeats - r.filledSeats).sum();
+        }
+    }
+
+    private final RoomRepository roomRepository;
+    private final Map<UUID, HostelRooms> hostels = new ConcurrentHashMap<>();
+
+    public RoomVacancyIndex(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            int rooms = rebuild();
+            log.info("Room vacancy index built with {} rooms in {} hostels", rooms, hostels.size());
+        } catch (Exception e) {
+            // allocation falls back to the locking query until the next rebuild
+            log.warn("Building room vacancy index failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${hostels.vacancy-index.reconcile-interval-ms:60000}",
+            fixedDelayString = "${hostels.vacancy-index.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Reconciling room vacancy index failed: {}", e.getMessage());
+        }
+    }
+
+    // Replaces every hostel with its current database state; returns the number of rooms loaded
+    int rebuild() {
+        Map<UUID, HostelRooms> fresh = new HashMap<>();
+        List<RoomSeatsView> views = roomRepository.findSeatViews();
+        views.forEach(v -> fresh.computeIfAbsent(v.hostelId(), id -> new HostelRooms()).put(toSeats(v)));
+        hostels.putAll(fresh);
+        hostels.keySet().retainAll(fresh.keySet());
+        return views.size();
+    }
+
+    /**
+     * Takes a seat in the lowest-numbered vacant room of the hostel and returns that room,
+     * or empty if the index has no free seat there. The caller must confirm it in the
+     * database and call {@link #release} or {@link #refresh} if that fails.
+     */
+    public Optional<UUID> reserve(UUID hostelId) {
+        HostelRooms rooms = hostels.get(hostelId);
+        return rooms == null ? Optional.empty() : rooms.reserve();
+    }
+
+    public void release(UUID hostelId, UUID roomId) {
+        HostelRooms rooms = hostels.get(hostelId);
+        if (rooms != null) rooms.release(roomId);
+    }
+
+    // Reloads one hostel from the database after the index was found to be behind it
+    public void refresh(UUID hostelId) {
+        HostelRooms fresh = new HostelRooms();
+        roomRepository.findSeatViewsByHostelId(hostelId).forEach(v -> fresh.put(toSeats(v)));
+        hostels.put(hostelId, fresh);
+    }
+
+    public void roomAdded(Room room) {
+        hostels.computeIfAbsent(room.getHostelId(), id -> new HostelRooms())
+                .put(new RoomSeats(room.getId(), room.getRoomNumber(), seats(room.getTotalSeats()), room.getFilledSeats()));
+    }
+
+    public void roomRemoved(UUID hostelId, UUID roomId) {
+        HostelRooms rooms = hostels.get(hostelId);
+        if (rooms != null) rooms.remove(roomId);
+    }
+
+    int vacantSeats(UUID hostelId) {
+        HostelRooms rooms = hostels.get(hostelId);
+        return rooms == null ? 0 : rooms.vacantSeats();
+    }
+
+    private static RoomSeats toSeats(RoomSeatsView v) {
+        return new RoomSeats(v.id(), v.roomNumber(), seats(v.totalSeats()), v.filledSeats());
+    }
+
+    private static int seats(Integer totalSeats) {
+        return totalSeats == null ? 0 : totalSeats;
+    }
+}
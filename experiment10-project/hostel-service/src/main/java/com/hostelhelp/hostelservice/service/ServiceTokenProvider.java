@@ -0,0 +1,68 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bearer token for calls hostel-service makes on its own behalf, such as outbox deliveries
+ * that run after the request which queued them has finished. It is signed with the shared
+ * jwt.secret like the tokens auth-service issues and lives for a few minutes; nothing is
+ * stored, a fresh one is minted before the current one runs out. It carries role WARDEN,
+ * the least that the student-service endpoints it calls (batch assign, get student, leave)
+ * accept, so a leaked token cannot reach the admin-only ones.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    static final String SUBJECT = "hostel-service";
+    static final String ROLE = "WARDEN";
+
+    private final JwtEncoder encoder;
+    private final Duration ttl;
+    private volatile Jwt current;
+
+    public ServiceTokenProvider(@Value("${jwt.secret}") String secret,
+                                @Value("${hostels.service-token.ttl-seconds:300}") long ttlSeconds) {
+        SecretKey key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public String token() {
+        Jwt jwt = current;
+        // renew with a fifth of the lifetime left so a token never expires mid-request
+        if (jwt == null || jwt.getExpiresAt().isBefore(Instant.now().plus(ttl.dividedBy(5)))) {
+            jwt = mint();
+        }
+        return jwt.getTokenValue();
+    }
+
+    private synchronized Jwt mint() {
+        Instant now = Instant.now();
+        Jwt jwt = current;
+        if (jwt != null && !jwt.getExpiresAt().isBefore(now.plus(ttl.dividedBy(5)))) return jwt;
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(SUBJECT)
+                .claim("role", ROLE)
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+        jwt = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims));
+        current = jwt;
+        return jwt;
+    }
+}
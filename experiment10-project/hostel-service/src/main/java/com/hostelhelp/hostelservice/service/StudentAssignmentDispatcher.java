@@ -0,0 +1,275 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.BulkAssignRoomDTO;
+import com.hostelhelp.hostelservice.dto.BulkAssignRoomResultDTO;
+import com.hostelhelp.hostelservice.dto.RoomAssignmentDTO;
+import com.hostelhelp.hostelservice.dto.RoomAssignmentResultDTO;
+import com.hostelhelp.hostelservice.dto.StudentRoomDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the student assignment outbox to student-service. Due rows are leased in
+ * batches and sent per hostel with one bulk assign-room call, authenticated with
+ * hostel-service's own token since the requests that queued them are long gone. Confirmed rows are deleted;
+ * students student-service rejects (unknown, already housed, wrong gender) get their seat
+ * released, as a failed allocation did before. Transport failures are retried with
+ * exponential backoff. Once the attempts run out student-service is asked whether it has
+ * the student in that room after all: if so the row is done, if not the seat is released,
+ * and if it cannot say the row is parked for an operator rather than freeing a seat that
+ * may be taken. A row whose seat was released after it went out is cancelled rather than
+ * sent: if student-service has the student in that room and the seat has not been taken by
+ * them again, the student is sent through leave so the two services agree.
+ */
+@Service
+public class StudentAssignmentDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentAssignmentDispatcher.class);
+
+    private enum Check { ASSIGNED, NOT_ASSIGNED, UNKNOWN }
+
+    private final StudentAssignmentOutbox outbox;
+    private final RoomService roomService;
+    private final HostelRosterService hostelRosterService;
+    private final RestTemplate restTemplate;
+    private final ServiceTokenProvider serviceTokenProvider;
+    // student-service rejects larger assign-room batches
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    // must outlast a delivery, or another instance sends the same rows again
+    private final Duration lease;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final AtomicLong undone = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+
+    @Value("${services.student.base-url:http://api-gateway:4004}")
+    private String studentServiceBaseUrl;
+
+    public StudentAssignmentDispatcher(StudentAssignmentOutbox outbox,
+                                       RoomService roomService,
+                                       HostelRosterService hostelRosterService,
+                                       RestTemplate restTemplate,
+                                       ServiceTokenProvider serviceTokenProvider,
+                                       @Value("${hostels.outbox.batch-size:500}") int batchSize,
+                                       @Value("${hostels.outbox.max-attempts:8}") int maxAttempts,
+                                       @Value("${hostels.outbox.retry-delay-ms:1000}") long retryDelayMs,
+                                       @Value("${hostels.outbox.max-retry-delay-ms:300000}") long maxRetryDelayMs,
+                                       @Value("${hostels.outbox.lease-ms:60000}") long leaseMs) {
+        this.outbox = outbox;
+        this.roomService = roomService;
+        this.hostelRosterService = hostelRosterService;
+        this.restTemplate = restTemplate;
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+        this.maxRetryDelay = Duration.ofMillis(maxRetryDelayMs);
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    @Scheduled(initialDelayString = "${hostels.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${hostels.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            // a full batch means more are probably due
+            while (dispatch() == batchSize) {
+                log.debug("Outbox batch full, dispatching again");
+            }
+        } catch (Exception e) {
+            log.warn("Dispatching student assignments failed: {}", e.getMessage());
+        }
+    }
+
+    // Sends one leased batch; returns the number of rows leased
+    int dispatch() {
+        List<StudentAssignmentOutbox.Entry> due = outbox.lease(batchSize, lease);
+        Map<UUID, List<StudentAssignmentOutbox.Entry>> byHostel = new LinkedHashMap<>();
+        for (StudentAssignmentOutbox.Entry e : due) {
+            if (e.cancelled()) {
+                undo(e);
+            } else {
+                byHostel.computeIfAbsent(e.hostelId(), h -> new ArrayList<>()).add(e);
+            }
+        }
+        byHostel.forEach(this::deliver);
+        return due.size();
+    }
+
+    private void deliver(UUID hostelId, List<StudentAssignmentOutbox.Entry> entries) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(serviceTokenProvider.token());
+        BulkAssignRoomDTO body = new BulkAssignRoomDTO(hostelId,
+                entries.stream().map(e -> new RoomAssignmentDTO(e.studentId(), e.roomId())).toList());
+
+        BulkAssignRoomResultDTO response;
+        try {
+            response = restTemplate.postForObject(studentServiceBaseUrl + "/students/assign-room:batch",
+                    new HttpEntity<>(body, headers), BulkAssignRoomResultDTO.class);
+            if (response == null || response.results() == null) {
+                throw new IllegalStateException("empty response");
+            }
+        } catch (Exception e) {
+            log.warn("Assign-room for {} students in hostel {} failed: {}", entries.size(), hostelId, e.getMessage());
+            entries.forEach(entry -> retryOrAbandon(entry, e.getMessage()));
+            return;
+        }
+
+        Map<RoomAssignmentDTO, RoomAssignmentResultDTO> results = new HashMap<>();
+        response.results().forEach(r -> results.putIfAbsent(new RoomAssignmentDTO(r.studentId(), r.roomId()), r));
+        List<UUID> done = new ArrayList<>();
+        for (StudentAssignmentOutbox.Entry entry : entries) {
+            RoomAssignmentResultDTO result = results.get(new RoomAssignmentDTO(entry.studentId(), entry.roomId()));
+            if (result == null) {
+                retryOrAbandon(entry, "Not confirmed by student service");
+            } else if (result.error() == null) {
+                done.add(entry.id());
+            } else {
+                log.warn("Student service rejected student {} for room {}: {}", entry.studentId(), entry.roomId(), result.error());
+                rejected.incrementAndGet();
+                release(entry);
+            }
+        }
+        // rows whose seat was released meanwhile stay behind, cancelled, to be undone
+        outbox.complete(done);
+        delivered.addAndGet(done.size());
+        hostelRosterService.evict(hostelId);
+    }
+
+    private void retryOrAbandon(StudentAssignmentOutbox.Entry entry, String error) {
+        failedAttempts.incrementAndGet();
+        if (entry.attempts() < maxAttempts) {
+            outbox.retryLater(entry.id(), error, backoff(entry.attempts()));
+            return;
+        }
+        // a lost response can hide an assignment student-service did record
+        switch (checkStudentService(entry)) {
+            case ASSIGNED -> {
+                log.warn("Student service has student {} in room {} although delivery failed; keeping the seat",
+                        entry.studentId(), entry.roomId());
+                outbox.complete(List.of(entry.id()));
+                delivered.incrementAndGet();
+            }
+            case NOT_ASSIGNED -> {
+                log.error("Giving up on assigning student {} to room {} after {} attempts: {}",
+                        entry.studentId(), entry.roomId(), entry.attempts(), error);
+                abandoned.incrementAndGet();
+                release(entry);
+            }
+            case UNKNOWN -> {
+                log.error("Could not confirm student {} in room {} after {} attempts, parking the assignment: {}",
+                        entry.studentId(), entry.roomId(), entry.attempts(), error);
+                outbox.park(entry.id(), error);
+            }
+        }
+    }
+
+    private Check checkStudentService(StudentAssignmentOutbox.Entry entry) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setBearerAuth(serviceTokenProvider.token());
+        try {
+            StudentRoomDTO student = restTemplate.exchange(studentServiceBaseUrl + "/students/" + entry.studentId(),
+                    HttpMethod.GET, new HttpEntity<>(headers), StudentRoomDTO.class).getBody();
+            if (student == null) return Check.UNKNOWN;
+            return entry.roomId().equals(student.roomId()) ? Check.ASSIGNED : Check.NOT_ASSIGNED;
+        } catch (HttpClientErrorException.NotFound e) {
+            return Check.NOT_ASSIGNED;
+        } catch (Exception e) {
+            log.warn("Looking up student {} for an undelivered assignment failed: {}", entry.studentId(), e.getMessage());
+            return Check.UNKNOWN;
+        }
+    }
+
+    // Takes back an assignment student-service may have recorded for a seat released since
+    private void undo(StudentAssignmentOutbox.Entry entry) {
+        // allocated to the same seat again; the newer row tells student-service
+        if (roomService.holdsSeat(entry.roomId(), entry.studentId())) {
+            outbox.delete(List.of(entry.id()));
+            return;
+        }
+        Check check = checkStudentService(entry);
+        if (check == Check.NOT_ASSIGNED) {
+            outbox.delete(List.of(entry.id()));
+        } else if (check == Check.ASSIGNED && leave(entry)) {
+            log.info("Took student {} out of room {} in student service after the seat was released",
+                    entry.studentId(), entry.roomId());
+            outbox.delete(List.of(entry.id()));
+            undone.incrementAndGet();
+        } else if (entry.attempts() < maxAttempts) {
+            failedAttempts.incrementAndGet();
+            outbox.retryLater(entry.id(), "Could not undo cancelled assignment", backoff(entry.attempts()));
+        } else {
+            log.error("Could not undo the cancelled assignment of student {} to room {}, parking it",
+                    entry.studentId(), entry.roomId());
+            outbox.park(entry.id(), "Could not undo cancelled assignment");
+        }
+    }
+
+    private boolean leave(StudentAssignmentOutbox.Entry entry) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(serviceTokenProvider.token());
+        try {
+            restTemplate.postForEntity(studentServiceBaseUrl + "/students/" + entry.studentId() + "/leave",
+                    new HttpEntity<>(headers), Void.class);
+            return true;
+        } catch (Exception e) {
+            log.warn("Taking student {} out of room {} failed: {}", entry.studentId(), entry.roomId(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Gives parked rows another full round of attempts; returns how many
+    public int requeueParked() {
+        int requeued = outbox.requeueParked();
+        if (requeued > 0) log.info("Requeued {} parked student assignments", requeued);
+        return requeued;
+    }
+
+    private void release(StudentAssignmentOutbox.Entry entry) {
+        roomService.releaseSeat(entry.hostelId(), entry.roomId(), entry.studentId());
+        outbox.delete(List.of(entry.id()));
+    }
+
+    // retryDelay after the first attempt, doubling up to maxRetryDelay
+    Duration backoff(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 30));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outbox.countPending());
+        stats.put("parked", outbox.countParked());
+        stats.put("oldestPendingAt", outbox.oldestPendingAt());
+        stats.put("delivered", delivered.get());
+        stats.put("rejected", rejected.get());
+        stats.put("abandoned", abandoned.get());
+        stats.put("undone", undone.get());
+        stats.put("failedAttempts", failedAttempts.get());
+        return stats;
+    }
+}
@@ -0,0 +1,181 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.RoomAssignmentDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Room assignments waiting to be sent to student-service. A row is added in the transaction
+ * that takes the seat, so the assignment is delivered exactly when the seat is committed;
+ * StudentAssignmentDispatcher leases due rows, sends them and deletes them again. The row id
+ * is the assignment's idempotency key: a row is only ever delivered by the instance holding
+ * its lease, and student-service treats a repeated (student, room) assignment as done.
+ * Releasing the seat cancels the row; one that may already have reached student-service is
+ * kept, marked cancelled, until the dispatcher has taken the assignment back there.
+ */
+@Component
+public class StudentAssignmentOutbox {
+
+    public record Entry(UUID id, UUID hostelId, UUID roomId, UUID studentId, int attempts, boolean cancelled) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentAssignmentOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(UUID hostelId, UUID roomId, UUID studentId) {
+        LocalDateTime now = now();
+        jdbcTemplate.update("insert into student_assignment_outbox " +
+                        "(id, hostel_id, room_id, student_id, attempts, next_attempt_at, created_at) " +
+                        "values (?, ?, ?, ?, 0, ?, ?)",
+                UUID.randomUUID(), hostelId, roomId, studentId, now, now);
+    }
+
+    // One row per seat of a batch allocation, inserted as a single JDBC batch
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(UUID hostelId, List<RoomAssignmentDTO> assignments) {
+        if (assignments.isEmpty()) return;
+        LocalDateTime now = now();
+        jdbcTemplate.batchUpdate("insert into student_assignment_outbox " +
+                        "(id, hostel_id, room_id, student_id, attempts, next_attempt_at, created_at) " +
+                        "values (?, ?, ?, ?, 0, ?, ?)",
+                assignments, assignments.size(), (ps, a) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, hostelId);
+                    ps.setObject(3, a.roomId());
+                    ps.setObject(4, a.studentId());
+                    ps.setObject(5, now);
+                    ps.setObject(6, now);
+                });
+    }
+
+    /**
+     * Gives up the assignment for a seat that is being released. A row that was never sent is
+     * dropped. One that has been sent, or is being sent right now, may already be recorded by
+     * student-service, so it is marked cancelled (and unparked) for the dispatcher to undo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int cancel(UUID roomId, UUID studentId) {
+        int dropped = jdbcTemplate.update("delete from student_assignment_outbox " +
+                        "where room_id = ? and student_id = ? and attempts = 0 and cancelled_at is null",
+                roomId, studentId);
+        int marked = jdbcTemplate.update("update student_assignment_outbox set cancelled_at = ?, parked_at = null " +
+                        "where room_id = ? and student_id = ? and cancelled_at is null",
+                now(), roomId, studentId);
+        return dropped + marked;
+    }
+
+    /**
+     * Claims up to limit due rows, oldest first, by counting an attempt on each and pushing
+     * it back by the lease. Rows another instance claimed in between are skipped, and a row
+     * whose holder dies becomes due again when the lease runs out.
+     */
+    public List<Entry> lease(int limit, Duration lease) {
+        List<Entry> due = jdbcTemplate.query(
+                "select id, hostel_id, room_id, student_id, attempts, cancelled_at from student_assignment_outbox " +
+                        "where parked_at is null and next_attempt_at <= ? order by created_at limit ?",
+                (rs, i) -> new Entry(rs.getObject("id", UUID.class), rs.getObject("hostel_id", UUID.class),
+                        rs.getObject("room_id", UUID.class), rs.getObject("student_id", UUID.class),
+                        rs.getInt("attempts"), rs.getTimestamp("cancelled_at") != null),
+                now(), limit);
+        if (due.isEmpty()) return due;
+
+        Timestamp until = Timestamp.valueOf(now().plus(lease));
+        int[][] claimed = jdbcTemplate.batchUpdate(
+                "update student_assignment_outbox set attempts = attempts + 1, next_attempt_at = ? " +
+                        "where id = ? and attempts = ?",
+                due, due.size(), (ps, e) -> {
+                    ps.setTimestamp(1, until);
+                    ps.setObject(2, e.id());
+                    ps.setInt(3, e.attempts());
+                });
+        List<Entry> leased = new ArrayList<>(due.size());
+        for (int i = 0; i < due.size(); i++) {
+            Entry e = due.get(i);
+            if (claimed[0][i] != 0) {
+                leased.add(new Entry(e.id(), e.hostelId(), e.roomId(), e.studentId(), e.attempts() + 1, e.cancelled()));
+            }
+        }
+        return leased;
+    }
+
+    public void delete(Collection<UUID> ids) {
+        if (ids.isEmpty()) return;
+        jdbcTemplate.batchUpdate("delete from student_assignment_outbox where id = ?",
+                ids, ids.size(), (ps, id) -> ps.setObject(1, id));
+    }
+
+    /**
+     * Deletes rows student-service has confirmed, except those cancelled while they were in
+     * flight: those are made due at once so the dispatcher takes the assignment back.
+     */
+    public void complete(Collection<UUID> ids) {
+        if (ids.isEmpty()) return;
+        jdbcTemplate.batchUpdate("delete from student_assignment_outbox where id = ? and cancelled_at is null",
+                ids, ids.size(), (ps, id) -> ps.setObject(1, id));
+        jdbcTemplate.batchUpdate("update student_assignment_outbox set next_attempt_at = ? " +
+                        "where id = ? and cancelled_at is not null",
+                ids, ids.size(), (ps, id) -> {
+                    ps.setObject(1, now());
+                    ps.setObject(2, id);
+                });
+    }
+
+    public void retryLater(UUID id, String error, Duration delay) {
+        jdbcTemplate.update("update student_assignment_outbox set next_attempt_at = ?, last_error = ? where id = ?",
+                now().plus(delay), truncate(error), id);
+    }
+
+    // Stops retrying the row until an operator requeues it
+    public void park(UUID id, String error) {
+        jdbcTemplate.update("update student_assignment_outbox set parked_at = ?, last_error = ? where id = ?",
+                now(), truncate(error), id);
+    }
+
+    // Makes every parked row due again with a fresh set of attempts; returns how many
+    public int requeueParked() {
+        return jdbcTemplate.update("update student_assignment_outbox set parked_at = null, attempts = 0, " +
+                "next_attempt_at = ? where parked_at is not null", now());
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from student_assignment_outbox where parked_at is null", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public long countParked() {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from student_assignment_outbox where parked_at is not null", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    // Null when nothing is pending
+    public LocalDateTime oldestPendingAt() {
+        return jdbcTemplate.queryForObject(
+                "select min(created_at) from student_assignment_outbox where parked_at is null", LocalDateTime.class);
+    }
+
+    // the columns are timestamp(6); keeping Java at the same precision avoids rounding surprises
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
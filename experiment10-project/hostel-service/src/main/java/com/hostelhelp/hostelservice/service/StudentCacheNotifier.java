@@ -0,0 +1,75 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.CacheInvalidationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tells student-service to drop cached student composites (and, for hostels, its cached
+ * hostel metadata) after a room or hostel changes.
+ * Notifications are best-effort and sent asynchronously with the caller's token.
+ */
+@Service
+public class StudentCacheNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentCacheNotifier.class);
+    private static final String INVALIDATE_URL = "http://api-gateway:4004/students/cache/invalidate";
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+
+    public StudentCacheNotifier(RestTemplate restTemplate,
+                                @Qualifier("notificationExecutor") ExecutorService executor) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+    }
+
+    public void hostelChanged(UUID hostelId) {
+        if (hostelId == null) return;
+        send(new CacheInvalidationDTO(hostelId, null));
+    }
+
+    public void roomChanged(UUID roomId) {
+        if (roomId == null) return;
+        send(new CacheInvalidationDTO(null, roomId));
+    }
+
+    private void send(CacheInvalidationDTO dto) {
+        // read the token on the request thread; the security context is not visible to the executor
+        String token = currentToken();
+        if (token == null) {
+            log.debug("No caller token, skipping student cache invalidation {}", dto);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setBearerAuth(token);
+                restTemplate.postForEntity(INVALIDATE_URL, new HttpEntity<>(dto, headers), Void.class);
+            } catch (Exception e) {
+                log.warn("Failed to invalidate student cache for {}: {}", dto, e.getMessage());
+            }
+        });
+    }
+
+    private String currentToken() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth instanceof JwtAuthenticationToken jwtAuth) {
+            return jwtAuth.getToken().getTokenValue();
+        }
+        return null;
+    }
+}
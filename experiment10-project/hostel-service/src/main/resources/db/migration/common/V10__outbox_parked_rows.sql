@@ -0,0 +1,3 @@
+-- Assignments that ran out of attempts while student-service could not say whether it took
+-- them. They keep their seat and wait for an operator instead of being released blindly.
+alter table student_assignment_outbox add column if not exists parked_at timestamp(6);
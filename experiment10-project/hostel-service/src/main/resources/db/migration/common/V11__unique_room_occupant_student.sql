@@ -0,0 +1,7 @@
+-- A student holds at most one seat across all hostels. The (room_id, student_id) key only
+-- stopped the same room being taken twice, so two allocations in different hostels could
+-- both succeed. A student already holding two seats has to be released from one before this
+-- runs; the assignment dispatcher frees whichever seat student-service rejected.
+drop index if exists idx_room_occupant_student_id;
+
+create unique index if not exists idx_room_occupant_student_id on room_occupant (student_id);
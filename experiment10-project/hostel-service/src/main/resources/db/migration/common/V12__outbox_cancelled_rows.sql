@@ -0,0 +1,3 @@
+-- Assignments whose seat was released after they had gone out to student-service, which may
+-- have recorded them. The dispatcher takes them back there before deleting the row.
+alter table student_assignment_outbox add column if not exists cancelled_at timestamp(6);
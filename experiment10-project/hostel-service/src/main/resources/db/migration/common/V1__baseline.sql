@@ -0,0 +1,27 @@
+-- Schema as previously created by hibernate ddl-auto. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+create table if not exists hostel (
+    id                   uuid         not null,
+    name                 varchar(255) not null unique,
+    hasac                boolean      not null,
+    number_of_rooms      integer      not null,
+    charges_per_semester float(53)    not null,
+    is_boys_hostel       boolean      not null,
+    created_at           timestamp(6),
+    updated_at           timestamp(6),
+    primary key (id)
+);
+
+create table if not exists room (
+    id          uuid    not null,
+    hostel_id   uuid    not null,
+    room_number integer,
+    total_seats integer not null,
+    primary key (id)
+);
+
+create table if not exists room_student_ids (
+    room_id     uuid not null,
+    student_ids uuid,
+    constraint fk_room_student_ids_room foreign key (room_id) references room (id)
+);
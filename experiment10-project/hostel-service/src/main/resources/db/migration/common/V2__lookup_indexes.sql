@@ -0,0 +1,4 @@
+-- Rooms are always loaded per hostel; occupants are joined by room and looked up by student
+create index if not exists idx_room_hostel_id on room (hostel_id);
+create index if not exists idx_room_student_ids_room_id on room_student_ids (room_id);
+create index if not exists idx_room_student_ids_student_ids on room_student_ids (student_ids);
@@ -0,0 +1,8 @@
+-- Denormalised seat counter so allocation can claim a seat with one locked row instead of
+-- counting room_student_ids; backfilled from the existing occupants
+alter table room add column filled_seats integer default 0 not null;
+
+update room set filled_seats = (select count(*) from room_student_ids s where s.room_id = room.id);
+
+-- allocation takes the lowest-numbered vacant room of a hostel
+create index if not exists idx_room_hostel_number on room (hostel_id, room_number);
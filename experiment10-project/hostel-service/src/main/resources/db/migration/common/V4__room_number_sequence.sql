@@ -0,0 +1,11 @@
+-- Next room number per hostel, bumped in place so creating a room no longer scans the
+-- hostel's rooms for the highest number. Seeded from the rooms that already exist;
+-- hostels without a row here get one on their first new room.
+create table if not exists hostel_room_sequence (
+    hostel_id   uuid    not null,
+    next_number integer not null,
+    primary key (hostel_id)
+);
+
+insert into hostel_room_sequence (hostel_id, next_number)
+select hostel_id, coalesce(max(room_number), 100) + 1 from room group by hostel_id;
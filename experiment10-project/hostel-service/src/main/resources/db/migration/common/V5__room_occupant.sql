@@ -0,0 +1,19 @@
+-- Occupancy as a set: one row per (room, student), replacing the unkeyed
+-- room_student_ids collection table that hibernate rewrote whole on every save.
+create table if not exists room_occupant (
+    room_id    uuid not null,
+    student_id uuid not null,
+    primary key (room_id, student_id),
+    constraint fk_room_occupant_room foreign key (room_id) references room (id)
+);
+
+-- which room a student is in
+create index if not exists idx_room_occupant_student_id on room_occupant (student_id);
+
+insert into room_occupant (room_id, student_id)
+select distinct room_id, student_ids from room_student_ids where student_ids is not null;
+
+-- duplicates and null rows in the old table were counted too
+update room set filled_seats = (select count(*) from room_occupant o where o.room_id = room.id);
+
+drop table room_student_ids;
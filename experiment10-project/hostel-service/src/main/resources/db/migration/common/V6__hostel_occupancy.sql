@@ -0,0 +1,22 @@
+-- Seat and room totals per hostel, kept up to date by the transactions that change rooms
+-- and recomputed periodically; seeded here from the current rooms.
+create table if not exists hostel_occupancy (
+    hostel_id    uuid    not null,
+    rooms        integer not null,
+    total_seats  integer not null,
+    filled_seats integer not null,
+    vacant_rooms integer not null,
+    full_rooms   integer not null,
+    updated_at   timestamp(6),
+    primary key (hostel_id)
+);
+
+insert into hostel_occupancy (hostel_id, rooms, total_seats, filled_seats, vacant_rooms, full_rooms, updated_at)
+select hostel_id,
+       count(*),
+       sum(total_seats),
+       sum(filled_seats),
+       sum(case when filled_seats < total_seats then 1 else 0 end),
+       sum(case when filled_seats >= total_seats then 1 else 0 end),
+       current_timestamp
+from room group by hostel_id;
@@ -0,0 +1,3 @@
+-- Bumped on every change to a room, occupancy included, so room GETs can answer
+-- conditional requests from this column alone
+alter table room add column version bigint default 0 not null;
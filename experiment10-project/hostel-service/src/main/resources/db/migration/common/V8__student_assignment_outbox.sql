@@ -0,0 +1,16 @@
+-- Room assignments student-service still has to be told about. Written in the transaction
+-- that takes the seat and deleted once student-service confirms or rejects the assignment.
+create table if not exists student_assignment_outbox (
+    id              uuid         not null,
+    hostel_id       uuid         not null,
+    room_id         uuid         not null,
+    student_id      uuid         not null,
+    auth_token      text,
+    attempts        integer      default 0 not null,
+    next_attempt_at timestamp(6) not null,
+    last_error      varchar(500),
+    created_at      timestamp(6) not null,
+    primary key (id)
+);
+
+create index if not exists idx_student_assignment_outbox_due on student_assignment_outbox (next_attempt_at);
@@ -0,0 +1,2 @@
+-- Deliveries now authenticate as hostel-service, so the caller's JWT is no longer kept
+alter table student_assignment_outbox drop column if exists auth_token;
@@ -0,0 +1,79 @@
+package com.hostelhelp.hostelservice.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares polling an unchanged resource with and without If-None-Match against a running
+ * service. Skipped unless a target is given:
+ *
+ *   mvn test -Dtest=ConditionalPollingBenchmarkTest \
+ *       -Dpolling.benchmark.url=http://localhost:4001 -Dpolling.benchmark.token=<admin jwt> \
+ *       [-Dpolling.benchmark.path=/hostels/rooms?size=500]
+ *
+ * Any endpoint that sends an ETag works, e.g. /hostels, /students/me or /wardens/me on
+ * their own services. Prints bytes and time per poll for both modes.
+ */
+@EnabledIfSystemProperty(named = "polling.benchmark.url", matches = ".+")
+class ConditionalPollingBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int POLLS = 2000;
+
+    @Test
+    void conditionalPollsSkipTheBody() throws Exception {
+        String url = System.getProperty("polling.benchmark.url")
+                + System.getProperty("polling.benchmark.path", "/hostels/rooms?size=500");
+        String token = System.getProperty("polling.benchmark.token", "");
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<byte[]> first = send(client, url, token, null);
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        assertNotNull(etag, url + " sent no ETag");
+
+        for (int i = 0; i < WARMUP; i++) {
+            send(client, url, token, null);
+            send(client, url, token, etag);
+        }
+
+        long fullBytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < POLLS; i++) {
+            fullBytes += send(client, url, token, null).body().length;
+        }
+        long fullNanos = System.nanoTime() - start;
+
+        long conditionalBytes = 0;
+        int notModified = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < POLLS; i++) {
+            HttpResponse<byte[]> resp = send(client, url, token, etag);
+            conditionalBytes += resp.body().length;
+            if (resp.statusCode() == 304) notModified++;
+        }
+        long conditionalNanos = System.nanoTime() - start;
+
+        System.out.printf("full polls:        %d x %d bytes, %.3f ms/poll%n",
+                POLLS, fullBytes / POLLS, fullNanos / 1e6 / POLLS);
+        System.out.printf("conditional polls: %d x %d bytes, %.3f ms/poll (%d not modified)%n",
+                POLLS, conditionalBytes / POLLS, conditionalNanos / 1e6 / POLLS, notModified);
+        assertEquals(POLLS, notModified, "resource changed during the run");
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, String url, String token, String etag)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        if (etag != null) request.header("If-None-Match", etag);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
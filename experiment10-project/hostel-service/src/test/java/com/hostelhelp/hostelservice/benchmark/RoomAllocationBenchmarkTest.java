@@ -0,0 +1,135 @@
+package com.hostelhelp.hostelservice.benchmark;
+
+import com.hostelhelp.hostelservice.exception.NoVacantRoomException;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.service.HostelOccupancySummary;
+import com.hostelhelp.hostelservice.service.HostelRosterService;
+import com.hostelhelp.hostelservice.service.HostelWriteQueues;
+import com.hostelhelp.hostelservice.service.RoomNumberSequence;
+import com.hostelhelp.hostelservice.service.RoomService;
+import com.hostelhelp.hostelservice.service.RoomVacancyIndex;
+import com.hostelhelp.hostelservice.service.StudentAssignmentOutbox;
+import com.hostelhelp.hostelservice.service.StudentCacheNotifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Allocation throughput with row locks against the per-hostel single-writer queues, both
+ * without the vacancy index so every claim goes to the database. Runs on the embedded
+ * database unless pointed at a real one; skipped unless asked for:
+ *
+ *   mvn test -Dtest=RoomAllocationBenchmarkTest -Dallocation.benchmark=true \
+ *       [-Dspring.datasource.url=jdbc:postgresql://localhost:5001/db -Dspring.datasource.username=... ]
+ *
+ * Student-service is mocked, so the numbers are the seat claim alone.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "allocation.benchmark", matches = "true")
+class RoomAllocationBenchmarkTest {
+
+    private static final int HOSTELS = 8;
+    private static final int ROOMS_PER_HOSTEL = 40;
+    private static final int SEATS = 4;
+    private static final int CONCURRENCY = 32;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareRowLocksWithSingleWriterQueues() throws Exception {
+        // warm up both paths before measuring
+        run(false);
+        run(true);
+        double locks = run(false);
+        double queues = run(true);
+        System.out.printf("allocation throughput: row locks %.0f/s, single-writer queues %.0f/s%n", locks, queues);
+    }
+
+    // Fills every seat of fresh hostels from CONCURRENCY threads; returns allocations per second
+    private double run(boolean singleWriter) throws Exception {
+        List<UUID> hostels = new ArrayList<>();
+        List<Room> rooms = new ArrayList<>();
+        for (int h = 0; h < HOSTELS; h++) {
+            UUID hostelId = UUID.randomUUID();
+            hostels.add(hostelId);
+            for (int r = 0; r < ROOMS_PER_HOSTEL; r++) {
+                rooms.add(Room.builder().hostelId(hostelId).roomNumber(101 + r).totalSeats(SEATS).build());
+            }
+        }
+        roomRepository.saveAll(rooms);
+
+        RoomVacancyIndex noIndex = mock(RoomVacancyIndex.class);
+        when(noIndex.reserve(any())).thenReturn(Optional.empty());
+        HostelWriteQueues queues = new HostelWriteQueues(singleWriter, 16);
+        RoomService roomService = new RoomService(roomRepository, mock(StudentCacheNotifier.class),
+                mock(HostelRosterService.class), new TransactionTemplate(transactionManager), noIndex, queues,
+                mock(RoomNumberSequence.class), mock(HostelOccupancySummary.class),
+                mock(StudentAssignmentOutbox.class));
+
+        int allocations = HOSTELS * ROOMS_PER_HOSTEL * SEATS;
+        AtomicInteger allocated = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long began;
+        try (ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < allocations; i++) {
+                UUID hostelId = hostels.get(i % HOSTELS);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        roomService.allocateStudent(hostelId, UUID.randomUUID());
+                        allocated.incrementAndGet();
+                    } catch (NoVacantRoomException ignored) {
+                        // only possible if a claim lost every retry; counted by the assertion below
+                    }
+                    return null;
+                }));
+            }
+            began = System.nanoTime();
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        Map<String, Object> stats = queues.stats();
+        queues.shutdown();
+
+        assertEquals(allocations, allocated.get());
+        for (UUID hostelId : hostels) {
+            assertEquals((long) ROOMS_PER_HOSTEL * SEATS, roomRepository.countOccupantsByHostelId(hostelId));
+        }
+        if (singleWriter) {
+            System.out.printf("single-writer queues: avg wait %.2fms, max wait %sms%n",
+                    (Double) stats.get("avgWaitMillis"), stats.get("maxWaitMillis"));
+        }
+        return allocations / seconds;
+    }
+}
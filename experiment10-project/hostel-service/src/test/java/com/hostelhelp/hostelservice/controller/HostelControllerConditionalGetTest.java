@@ -0,0 +1,64 @@
+package com.hostelhelp.hostelservice.controller;
+
+import com.hostelhelp.hostelservice.dto.HostelResponseDTO;
+import com.hostelhelp.hostelservice.service.HostelRosterService;
+import com.hostelhelp.hostelservice.service.HostelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HostelControllerConditionalGetTest {
+
+    private final HostelService hostelService = mock(HostelService.class);
+    private final HostelController controller = new HostelController(hostelService, mock(HostelRosterService.class));
+    private final UUID id = UUID.randomUUID();
+    private final LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000);
+
+    @BeforeEach
+    void setUp() {
+        when(hostelService.getUpdatedAt(id)).thenReturn(Optional.of(updatedAt));
+        when(hostelService.getHostel(id)).thenReturn(new HostelResponseDTO(id, "A", true, 10, 1.0, true,
+                updatedAt.minusDays(1), updatedAt));
+    }
+
+    private ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hostels/" + id);
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    void matchingTagAnswers304WithoutLoadingTheHostel() {
+        ResponseEntity<HostelResponseDTO> first = controller.getStudent(id, get(null));
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+
+        ServletWebRequest revalidation = get(etag);
+        assertNull(controller.getStudent(id, revalidation));
+        assertEquals(304, revalidation.getResponse().getStatus());
+        verify(hostelService, times(1)).getHostel(id);
+    }
+
+    @Test
+    void updateChangesTheTag() {
+        String etag = controller.getStudent(id, get(null)).getHeaders().getETag();
+        // a second write within the same millisecond still counts
+        when(hostelService.getUpdatedAt(id)).thenReturn(Optional.of(updatedAt.plusNanos(1_000)));
+
+        ServletWebRequest revalidation = get(etag);
+        assertNotNull(controller.getStudent(id, revalidation));
+        assertEquals(200, revalidation.getResponse().getStatus());
+    }
+}
@@ -0,0 +1,60 @@
+package com.hostelhelp.hostelservice.repository;
+
+import com.hostelhelp.hostelservice.model.Room;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RoomRepositoryTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private void save(UUID hostelId, int number, int seats, int occupants) {
+        Set<UUID> students = new LinkedHashSet<>();
+        for (int i = 0; i < occupants; i++) students.add(UUID.randomUUID());
+        roomRepository.save(Room.builder()
+                .hostelId(hostelId)
+                .roomNumber(number)
+                .totalSeats(seats)
+                .studentIds(students)
+                .build());
+    }
+
+    @Test
+    void occupancyAggregatesCountOnlyTheRequestedHostel() {
+        UUID hostel = UUID.randomUUID();
+        save(hostel, 101, 3, 2);
+        save(hostel, 102, 2, 0);
+        save(UUID.randomUUID(), 101, 4, 4);
+
+        assertEquals(2, roomRepository.countByHostelId(hostel));
+        assertEquals(5, roomRepository.sumTotalSeatsByHostelId(hostel));
+        assertEquals(2, roomRepository.countOccupantsByHostelId(hostel));
+        assertEquals(0, roomRepository.sumTotalSeatsByHostelId(UUID.randomUUID()));
+    }
+
+    @Test
+    void seatChangesBumpTheVersion() {
+        UUID hostel = UUID.randomUUID();
+        save(hostel, 101, 1, 0);
+        UUID roomId = roomRepository.findByHostelId(hostel).get(0).getId();
+        long before = roomRepository.findVersionById(roomId).orElseThrow();
+
+        roomRepository.incrementFilledSeats(roomId);
+        assertEquals(before + 1, roomRepository.findVersionById(roomId).orElseThrow());
+        // a refused claim leaves the room, and its version, alone
+        roomRepository.incrementFilledSeats(roomId);
+        assertEquals(before + 1, roomRepository.findVersionById(roomId).orElseThrow());
+        roomRepository.decrementFilledSeats(roomId, 1);
+        assertEquals(before + 2, roomRepository.findVersionById(roomId).orElseThrow());
+    }
+}
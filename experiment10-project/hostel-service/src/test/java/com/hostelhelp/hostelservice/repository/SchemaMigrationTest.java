@@ -0,0 +1,67 @@
+package com.hostelhelp.hostelservice.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on the embedded H2 database and checks that the hot
+ * lookups are planned as index scans.
+ */
+@DataJpaTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String plan(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args).toLowerCase();
+    }
+
+    @Test
+    void roomsByHostelUseIndex() {
+        assertTrue(plan("select id from room where hostel_id = ?", UUID.randomUUID())
+                .contains("idx_room_hostel_id"));
+    }
+
+    @Test
+    void occupantLookupsUseIndexes() {
+        assertTrue(plan("select room_id from room_occupant where student_id = ?", UUID.randomUUID())
+                .contains("idx_room_occupant_student_id"));
+        // served by the (room_id, student_id) primary key
+        assertFalse(plan("select student_id from room_occupant where room_id = ?", UUID.randomUUID())
+                .contains("tablescan"));
+    }
+
+    @Test
+    void occupantsAreASet() {
+        UUID roomId = UUID.randomUUID();
+        jdbcTemplate.update("insert into room (id, hostel_id, room_number, total_seats, filled_seats) values (?, ?, 101, 2, 0)",
+                roomId, UUID.randomUUID());
+        UUID student = UUID.randomUUID();
+        jdbcTemplate.update("insert into room_occupant (room_id, student_id) values (?, ?)", roomId, student);
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("insert into room_occupant (room_id, student_id) values (?, ?)", roomId, student));
+    }
+
+    @Test
+    void aStudentHoldsOneSeat() {
+        UUID hostelId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        jdbcTemplate.update("insert into room (id, hostel_id, room_number, total_seats, filled_seats) values (?, ?, 101, 2, 0)",
+                first, hostelId);
+        jdbcTemplate.update("insert into room (id, hostel_id, room_number, total_seats, filled_seats) values (?, ?, 102, 2, 0)",
+                second, hostelId);
+        UUID student = UUID.randomUUID();
+        jdbcTemplate.update("insert into room_occupant (room_id, student_id) values (?, ?)", first, student);
+        assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("insert into room_occupant (room_id, student_id) values (?, ?)", second, student));
+    }
+}
@@ -0,0 +1,104 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.HostelOccupancyDTO;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the summary row of a new hostel is seeded in its own transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HostelOccupancySummaryTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID hostelId = UUID.randomUUID();
+    private HostelOccupancySummary summary;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        summary = new HostelOccupancySummary(jdbcTemplate, roomRepository, transactionManager);
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    private Room addRoom(int number, int seats) {
+        return tx.execute(status -> {
+            Room room = roomRepository.save(Room.builder().hostelId(hostelId).roomNumber(number).totalSeats(seats).build());
+            summary.roomAdded(room);
+            return room;
+        });
+    }
+
+    private void take(UUID roomId, int count) {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                roomRepository.incrementFilledSeats(roomId);
+                roomRepository.insertOccupant(roomId, UUID.randomUUID());
+            }
+            summary.seatsTaken(Map.of(roomId, count));
+        });
+    }
+
+    private HostelOccupancyDTO occupancy() {
+        return summary.getOccupancy(hostelId).orElseThrow();
+    }
+
+    @Test
+    void tracksRoomsFillingAndEmptying() {
+        Room a = addRoom(101, 2);
+        Room b = addRoom(102, 1);
+        assertEquals(new HostelOccupancyDTO(hostelId, 2, 3, 0, 3, 2, 0), occupancy());
+
+        take(a.getId(), 2);
+        take(b.getId(), 1);
+        assertEquals(new HostelOccupancyDTO(hostelId, 2, 3, 3, 0, 0, 2), occupancy());
+
+        tx.executeWithoutResult(status -> {
+            roomRepository.decrementFilledSeats(a.getId(), 1);
+            summary.seatsReleased(Map.of(a.getId(), 1));
+        });
+        assertEquals(new HostelOccupancyDTO(hostelId, 2, 3, 2, 1, 1, 1), occupancy());
+
+        tx.executeWithoutResult(status -> {
+            RoomSeatsView view = roomRepository.findSeatViewById(b.getId()).orElseThrow();
+            jdbcTemplate.update("delete from room_occupant where room_id = ?", b.getId());
+            roomRepository.deleteById(b.getId());
+            summary.roomRemoved(view);
+        });
+        assertEquals(new HostelOccupancyDTO(hostelId, 1, 2, 1, 1, 1, 0), occupancy());
+        assertEquals(0, summary.recompute());
+    }
+
+    @Test
+    void recomputeRepairsChangesMadeAroundTheSummary() {
+        Room a = addRoom(101, 2);
+        // a seat taken without telling the summary, as a manual fix in the database would
+        tx.executeWithoutResult(status -> roomRepository.incrementFilledSeats(a.getId()));
+        assertEquals(0, occupancy().filledSeats());
+
+        assertTrue(summary.recompute() >= 1);
+        assertEquals(new HostelOccupancyDTO(hostelId, 1, 2, 1, 1, 1, 0), occupancy());
+    }
+}
@@ -0,0 +1,110 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.HostelRosterDTO;
+import com.hostelhelp.hostelservice.dto.StudentMinDetailsDTO;
+import com.hostelhelp.hostelservice.exception.HostelNotFoundException;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.HostelRepository;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HostelRosterServiceTest {
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final HostelRepository hostelRepository = mock(HostelRepository.class);
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final HostelRosterService service =
+            new HostelRosterService(roomRepository, hostelRepository, restTemplate, 2, 100, 10);
+
+    private final UUID hostel = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(hostelRepository.existsById(hostel)).thenReturn(true);
+        when(roomRepository.findByHostelId(hostel)).thenReturn(List.of(
+                room(102, 2, carol),
+                room(101, 3, alice, bob)));
+    }
+
+    @Test
+    void joinsRoomsWithBatchedStudentDetailsAndCaches() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), studentDetailsType()))
+                .thenReturn(ResponseEntity.ok(Map.of(alice, details("Alice"), bob, details("Bob"))))
+                .thenReturn(ResponseEntity.ok(Map.of(carol, details("Carol"))));
+
+        HostelRosterDTO roster = service.getRoster(hostel, "token");
+
+        assertEquals(5, roster.totalSeats());
+        assertEquals(3, roster.filledSeats());
+        assertEquals(101, roster.rooms().get(0).roomNumber());
+        assertEquals("Alice", roster.rooms().get(0).occupants().get(0).details().name());
+        assertEquals("Carol", roster.rooms().get(1).occupants().get(0).details().name());
+        // three occupants with a batch size of two
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), studentDetailsType());
+
+        assertSame(roster, service.getRoster(hostel, "token"));
+        verify(roomRepository, times(1)).findByHostelId(hostel);
+
+        service.evict(hostel);
+        service.getRoster(hostel, "token");
+        verify(roomRepository, times(2)).findByHostelId(hostel);
+    }
+
+    @Test
+    void studentServiceFailureReturnsRosterWithoutCachingIt() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), studentDetailsType()))
+                .thenThrow(new ResourceAccessException("down"));
+
+        HostelRosterDTO roster = service.getRoster(hostel, "token");
+        assertEquals(3, roster.filledSeats());
+        assertNull(roster.rooms().get(0).occupants().get(0).details());
+
+        service.getRoster(hostel, "token");
+        verify(roomRepository, times(2)).findByHostelId(hostel);
+    }
+
+    @Test
+    void unknownHostelIsRejected() {
+        assertThrows(HostelNotFoundException.class, () -> service.getRoster(UUID.randomUUID(), "token"));
+    }
+
+    private static ParameterizedTypeReference<Map<UUID, StudentMinDetailsDTO>> studentDetailsType() {
+        return ArgumentMatchers.<ParameterizedTypeReference<Map<UUID, StudentMinDetailsDTO>>>any();
+    }
+
+    private Room room(int number, int seats, UUID... students) {
+        Room room = new Room();
+        room.setId(UUID.randomUUID());
+        room.setHostelId(hostel);
+        room.setRoomNumber(number);
+        room.setTotalSeats(seats);
+        room.setStudentIds(new LinkedHashSet<>(List.of(students)));
+        return room;
+    }
+
+    private static StudentMinDetailsDTO details(String name) {
+        return new StudentMinDetailsDTO(name, name.toLowerCase() + "@example.com", 2026, name.toUpperCase(), "9999999999");
+    }
+}
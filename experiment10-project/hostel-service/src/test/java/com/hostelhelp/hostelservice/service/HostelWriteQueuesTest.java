@@ -0,0 +1,86 @@
+package com.hostelhelp.hostelservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostelWriteQueuesTest {
+
+    private final HostelWriteQueues queues = new HostelWriteQueues(true, 8);
+
+    @AfterEach
+    void shutdown() {
+        queues.shutdown();
+    }
+
+    @Test
+    void operationsOfOneHostelNeverOverlapAndKeepOrder() {
+        UUID hostel = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            futures.add(queues.submit(hostel, () -> {
+                assertEquals(1, running.incrementAndGet());
+                order.add(n);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        for (int i = 0; i < 200; i++) assertEquals(i, order.get(i));
+        assertEquals(200L, queues.stats().get("completed"));
+    }
+
+    @Test
+    void differentStripesRunInParallel() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        while (Math.floorMod(second.hashCode(), 8) == Math.floorMod(first.hashCode(), 8)) second = UUID.randomUUID();
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        CompletableFuture<Void> slow = queues.submit(first, () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        // would time out if the second hostel had to wait for the first
+        assertEquals("done", queues.submit(second, () -> "done").get(2, TimeUnit.SECONDS));
+        assertEquals(1, queues.stats().get("queueDepth"));
+        blocked.countDown();
+        slow.join();
+    }
+
+    @Test
+    void callRethrowsTheOperationsException() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> queues.call(UUID.randomUUID(), () -> { throw new IllegalStateException("full"); }));
+        assertEquals("full", thrown.getMessage());
+    }
+
+    @Test
+    void disabledQueuesRunOnTheCallersThread() {
+        HostelWriteQueues inline = new HostelWriteQueues(false, 8);
+        Thread caller = Thread.currentThread();
+        assertSame(caller, inline.call(UUID.randomUUID(), Thread::currentThread));
+        Map<String, Object> stats = inline.stats();
+        assertEquals(false, stats.get("enabled"));
+        assertEquals(0, stats.get("stripes"));
+    }
+}
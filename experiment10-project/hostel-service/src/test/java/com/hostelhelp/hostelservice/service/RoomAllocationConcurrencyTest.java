@@ -0,0 +1,242 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.HostelOccupancyDTO;
+import com.hostelhelp.hostelservice.exception.NoVacantRoomException;
+import com.hostelhelp.hostelservice.exception.StudentAlreadyHousedException;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Runs without the test transaction so every allocation commits on its own, as in production
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomAllocationConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAllocationConcurrencyTest.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HostelOccupancySummary summary() {
+        return new HostelOccupancySummary(jdbcTemplate, roomRepository, transactionManager);
+    }
+
+    private RoomService roomService() {
+        return roomService(true);
+    }
+
+    private RoomService roomService(boolean singleWriter) {
+        RoomVacancyIndex index = new RoomVacancyIndex(roomRepository);
+        index.rebuild();
+        return roomService(singleWriter, index);
+    }
+
+    private RoomService roomService(boolean singleWriter, RoomVacancyIndex index) {
+        return new RoomService(roomRepository, mock(StudentCacheNotifier.class),
+                mock(HostelRosterService.class), new TransactionTemplate(transactionManager), index,
+                new HostelWriteQueues(singleWriter, 4), mock(RoomNumberSequence.class),
+                summary(), new StudentAssignmentOutbox(jdbcTemplate));
+    }
+
+    private List<UUID> queuedStudents(UUID hostelId) {
+        return jdbcTemplate.queryForList("select student_id from student_assignment_outbox where hostel_id = ?",
+                UUID.class, hostelId);
+    }
+
+    private UUID hostelWithRooms(int rooms, int seats) {
+        UUID hostelId = UUID.randomUUID();
+        List<Room> batch = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            batch.add(Room.builder().hostelId(hostelId).roomNumber(101 + i).totalSeats(seats).build());
+        }
+        roomRepository.saveAll(batch);
+        return hostelId;
+    }
+
+    @ParameterizedTest(name = "single writer {0}")
+    @ValueSource(booleans = {true, false})
+    void parallelAllocationsNeverOverbook(boolean singleWriter) throws Exception {
+        int rooms = 50;
+        int seats = 3;
+        int students = 400;
+        UUID hostelId = hostelWithRooms(rooms, seats);
+        RoomService roomService = roomService(singleWriter);
+
+        AtomicInteger allocated = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        Set<UUID> seated = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        long began;
+        try (ExecutorService pool = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < students; i++) {
+                UUID studentId = UUID.randomUUID();
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        roomService.allocateStudent(hostelId, studentId);
+                        allocated.incrementAndGet();
+                        seated.add(studentId);
+                    } catch (NoVacantRoomException e) {
+                        full.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            began = System.nanoTime();
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        log.info("{} allocations over {} rooms in {} ms ({} per second)", students, rooms,
+                Math.round(seconds * 1000), Math.round(students / seconds));
+
+        assertEquals(rooms * seats, allocated.get());
+        assertEquals(students - rooms * seats, full.get());
+
+        Set<UUID> occupants = new HashSet<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Room room : roomRepository.findByHostelId(hostelId)) {
+                assertEquals(seats, room.getFilledSeats(), "room " + room.getRoomNumber());
+                assertEquals(seats, room.getStudentIds().size(), "room " + room.getRoomNumber());
+                occupants.addAll(room.getStudentIds());
+            }
+        });
+        assertEquals(seated, occupants);
+        assertEquals(seated, new HashSet<>(queuedStudents(hostelId)));
+        assertEquals(new HostelOccupancyDTO(hostelId, rooms, rooms * seats, rooms * seats, 0, 0, rooms),
+                summary().getOccupancy(hostelId).orElseThrow());
+    }
+
+    @Test
+    void assignmentIsQueuedWithTheSeat() {
+        UUID hostelId = hostelWithRooms(1, 1);
+        UUID studentId = UUID.randomUUID();
+
+        Room room = roomService().allocateStudent(hostelId, studentId);
+
+        assertEquals(List.of(studentId), queuedStudents(hostelId));
+        assertEquals(room.getId(), jdbcTemplate.queryForObject(
+                "select room_id from student_assignment_outbox where student_id = ?", UUID.class, studentId));
+        // a full hostel queues nothing
+        assertThrows(NoVacantRoomException.class, () -> roomService().allocateStudent(hostelId, UUID.randomUUID()));
+        assertEquals(1, queuedStudents(hostelId).size());
+    }
+
+    @Test
+    void staleIndexIsCaughtByTheDatabase() {
+        UUID hostelId = hostelWithRooms(2, 1);
+        RoomService roomService = roomService();
+        // fill room 101 behind the index's back, as another instance would
+        UUID first = roomRepository.findSeatViewsByHostelId(hostelId).stream()
+                .filter(v -> v.roomNumber() == 101).findFirst().orElseThrow().id();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            roomRepository.incrementFilledSeats(first);
+            roomRepository.insertOccupant(first, UUID.randomUUID());
+        });
+
+        Room room = roomService.allocateStudent(hostelId, UUID.randomUUID());
+
+        assertEquals(102, room.getRoomNumber());
+        assertThrows(NoVacantRoomException.class, () -> roomService.allocateStudent(hostelId, UUID.randomUUID()));
+    }
+
+    @Test
+    void failedSeatInsertGivesTheReservationBack() {
+        UUID hostelId = hostelWithRooms(1, 2);
+        UUID roomId = roomRepository.findSeatViewsByHostelId(hostelId).get(0).id();
+        UUID housed = UUID.randomUUID();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            roomRepository.incrementFilledSeats(roomId);
+            roomRepository.insertOccupant(roomId, housed);
+        });
+        RoomVacancyIndex index = new RoomVacancyIndex(roomRepository);
+        index.rebuild();
+
+        // the occupant row already exists, so the insert fails after the index handed out the last seat;
+        // claimSeat skips the housed check allocateStudent makes first
+        assertThrows(DataIntegrityViolationException.class,
+                () -> roomService(true, index).claimSeat(hostelId, housed));
+
+        assertEquals(Optional.of(roomId), index.reserve(hostelId));
+        assertTrue(queuedStudents(hostelId).isEmpty());
+    }
+
+    @Test
+    void studentHousedInAnotherHostelIsRefused() {
+        UUID studentId = UUID.randomUUID();
+        roomService().allocateStudent(hostelWithRooms(1, 1), studentId);
+        UUID otherHostel = hostelWithRooms(1, 1);
+
+        assertThrows(StudentAlreadyHousedException.class, () -> roomService().allocateStudent(otherHostel, studentId));
+
+        assertTrue(queuedStudents(otherHostel).isEmpty());
+        assertEquals(0, roomRepository.findSeatViewsByHostelId(otherHostel).get(0).filledSeats());
+    }
+
+    @RepeatedTest(20)
+    void racingAllocationsInTwoHostelsSeatTheStudentOnce() throws Exception {
+        UUID studentId = UUID.randomUUID();
+        List<UUID> hostels = List.of(hostelWithRooms(1, 1), hostelWithRooms(1, 1));
+        RoomService roomService = roomService();
+
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+            for (UUID hostelId : hostels) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        roomService.allocateStudent(hostelId, studentId);
+                    } catch (StudentAlreadyHousedException e) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        }
+
+        assertEquals(1, refused.get());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from room_occupant where student_id = ?", Integer.class, studentId));
+        assertEquals(1, queuedStudents(hostels.get(0)).size() + queuedStudents(hostels.get(1)).size());
+    }
+}
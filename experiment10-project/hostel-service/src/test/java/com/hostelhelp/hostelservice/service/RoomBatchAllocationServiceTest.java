@@ -0,0 +1,115 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.BatchAllocationResultDTO;
+import com.hostelhelp.hostelservice.dto.StudentAllocationResultDTO;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.HostelRepository;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class RoomBatchAllocationServiceTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final HostelRepository hostelRepository = mock(HostelRepository.class);
+    private final HostelOccupancySummary summary = mock(HostelOccupancySummary.class);
+    private final UUID hostelId = UUID.randomUUID();
+    private final UUID resident = UUID.randomUUID();
+    private JdbcTemplate jdbcTemplate;
+    private RoomBatchAllocationService service;
+
+    @BeforeEach
+    void setUp() {
+        when(hostelRepository.existsById(hostelId)).thenReturn(true);
+        roomRepository.saveAll(List.of(
+                Room.builder().hostelId(hostelId).roomNumber(102).totalSeats(2).build(),
+                Room.builder().hostelId(hostelId).roomNumber(101).totalSeats(2)
+                        .studentIds(new LinkedHashSet<>(List.of(resident))).build()));
+        roomRepository.flush();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        service = new RoomBatchAllocationService(roomRepository, hostelRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), new StudentAssignmentOutbox(jdbcTemplate), mock(RoomVacancyIndex.class),
+                mock(HostelRosterService.class), new HostelWriteQueues(false, 1), summary, 10);
+    }
+
+    private List<RoomSeatsView> seats() {
+        return roomRepository.findSeatViewsByHostelId(hostelId).stream()
+                .sorted(Comparator.comparing(RoomSeatsView::roomNumber))
+                .toList();
+    }
+
+    // student id to room id of every assignment waiting for student-service
+    private Map<UUID, UUID> queued() {
+        Map<UUID, UUID> queued = new HashMap<>();
+        jdbcTemplate.query("select student_id, room_id from student_assignment_outbox where hostel_id = ?",
+                rs -> {
+                    queued.put(rs.getObject("student_id", UUID.class), rs.getObject("room_id", UUID.class));
+                }, hostelId);
+        return queued;
+    }
+
+    @Test
+    void fillsLowestRoomsFirstAndQueuesEveryAssignment() {
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID(), c = UUID.randomUUID(), d = UUID.randomUUID();
+
+        BatchAllocationResultDTO result = service.allocate(hostelId, List.of(a, b, c, a, d));
+
+        assertEquals(5, result.requested());
+        assertEquals(3, result.allocated());
+        List<StudentAllocationResultDTO> r = result.results();
+        assertEquals(101, r.get(0).roomNumber());
+        assertEquals(102, r.get(1).roomNumber());
+        assertEquals(102, r.get(2).roomNumber());
+        assertEquals("Student appears more than once in the batch", r.get(3).error());
+        assertEquals("No vacant seat left in hostel", r.get(4).error());
+
+        assertEquals(2, seats().get(0).filledSeats());
+        assertEquals(2, seats().get(1).filledSeats());
+        assertEquals(4, roomRepository.countOccupantsByHostelId(hostelId));
+        verify(summary).seatsTaken(Map.of(seats().get(0).id(), 1, seats().get(1).id(), 2));
+        // student-service hears about them from the dispatcher, which releases any it rejects
+        assertEquals(Map.of(a, seats().get(0).id(), b, seats().get(1).id(), c, seats().get(1).id()), queued());
+    }
+
+    @Test
+    void studentsWithASeatAreReportedWithoutFailingTheCohort() {
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID();
+
+        BatchAllocationResultDTO result = service.allocate(hostelId, List.of(a, resident, b));
+
+        assertEquals(2, result.allocated());
+        assertEquals(101, result.results().get(0).roomNumber());
+        assertEquals("Student already has a room", result.results().get(1).error());
+        assertEquals(102, result.results().get(2).roomNumber());
+        assertEquals(Set.of(a, b), queued().keySet());
+        assertEquals(3, roomRepository.countOccupantsByHostelId(hostelId));
+    }
+}
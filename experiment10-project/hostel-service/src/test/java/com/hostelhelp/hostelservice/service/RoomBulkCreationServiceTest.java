@@ -0,0 +1,113 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.HostelOccupancyDTO;
+import com.hostelhelp.hostelservice.exception.BatchTooLargeException;
+import com.hostelhelp.hostelservice.model.Hostel;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.HostelRepository;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Not transactional: the number reservation and the seeding of a new hostel's counter commit
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomBulkCreationServiceTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final HostelRepository hostelRepository = mock(HostelRepository.class);
+    private final UUID hostelId = UUID.randomUUID();
+    private RoomBulkCreationService service;
+    private HostelOccupancySummary summary;
+
+    @BeforeEach
+    void setUp() {
+        when(hostelRepository.findById(hostelId)).thenReturn(Optional.of(
+                Hostel.builder().id(hostelId).name("A").numberOfRooms(5).chargesPerSemester(1.0).build()));
+        // rooms from before the counter existed
+        roomRepository.saveAll(List.of(
+                Room.builder().hostelId(hostelId).roomNumber(101).totalSeats(2).build(),
+                Room.builder().hostelId(hostelId).roomNumber(102).totalSeats(2).build()));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        summary = new HostelOccupancySummary(jdbcTemplate, roomRepository, transactionManager);
+        service = new RoomBulkCreationService(hostelRepository, roomRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), new RoomNumberSequence(jdbcTemplate, transactionManager),
+                mock(RoomVacancyIndex.class), mock(HostelRosterService.class), summary, 50);
+    }
+
+    @Test
+    void numbersContinueFromExistingRooms() {
+        List<Room> created = service.createRooms(hostelId, List.of(3, 1, 2), null);
+
+        assertEquals(List.of(103, 104, 105), created.stream().map(Room::getRoomNumber).toList());
+        assertEquals(List.of(3, 1, 2), created.stream().map(Room::getTotalSeats).toList());
+        assertEquals(5, roomRepository.countByHostelId(hostelId));
+        assertEquals(106, service.createRooms(hostelId, List.of(1), null).get(0).getRoomNumber());
+        // seeded from the two older rooms, then bumped by each creation
+        assertEquals(new HostelOccupancyDTO(hostelId, 6, 11, 0, 11, 6, 0), summary.getOccupancy(hostelId).orElseThrow());
+    }
+
+    @Test
+    void generatesTheRoomsTheHostelIsMissing() {
+        List<Room> created = service.createRooms(hostelId, null, 4);
+
+        assertEquals(List.of(103, 104, 105), created.stream().map(Room::getRoomNumber).toList());
+        assertTrue(created.stream().allMatch(r -> r.getTotalSeats() == 4));
+        assertTrue(service.createRooms(hostelId, null, 4).isEmpty());
+    }
+
+    @Test
+    void concurrentCreationsGetDistinctNumbers() throws Exception {
+        List<Future<List<Room>>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> service.createRooms(hostelId, Collections.nCopies(5, 2), null)));
+            }
+        }
+        Set<Integer> numbers = new TreeSet<>();
+        for (Future<List<Room>> f : futures) {
+            f.get().forEach(r -> assertTrue(numbers.add(r.getRoomNumber()), "duplicate " + r.getRoomNumber()));
+        }
+        assertEquals(40, numbers.size());
+        assertEquals(103, ((TreeSet<Integer>) numbers).first());
+        assertEquals(142, ((TreeSet<Integer>) numbers).last());
+    }
+
+    @Test
+    void rejectsTooManyRooms() {
+        assertThrows(BatchTooLargeException.class,
+                () -> service.createRooms(hostelId, Collections.nCopies(51, 2), null));
+        assertEquals(2, roomRepository.countByHostelId(hostelId));
+    }
+}
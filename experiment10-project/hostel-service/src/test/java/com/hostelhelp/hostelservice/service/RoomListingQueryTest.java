@@ -0,0 +1,89 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.RoomPageDTO;
+import com.hostelhelp.hostelservice.dto.RoomResponseDTO;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Counts the statements the listing issues, so a lazy collection load per room shows up
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RoomListingQueryTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID hostelId = UUID.randomUUID();
+    private RoomService roomService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Set<UUID> students = new LinkedHashSet<>();
+            for (int s = 0; s < i % 3; s++) students.add(UUID.randomUUID());
+            rooms.add(Room.builder().hostelId(hostelId).roomNumber(101 + i).totalSeats(2).studentIds(students).build());
+        }
+        roomRepository.saveAll(rooms);
+        roomRepository.flush();
+        entityManager.clear();
+
+        roomService = new RoomService(roomRepository, mock(StudentCacheNotifier.class),
+                mock(HostelRosterService.class), mock(TransactionTemplate.class), mock(RoomVacancyIndex.class),
+                mock(HostelWriteQueues.class), mock(RoomNumberSequence.class),
+                mock(HostelOccupancySummary.class), mock(StudentAssignmentOutbox.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageWithOccupantsTakesTwoQueries() {
+        RoomPageDTO page = roomService.getRooms(hostelId, 0, 20, true);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, page.items().size());
+        assertEquals(1, page.nextPage());
+        RoomResponseDTO second = page.items().get(1);
+        assertEquals(102, second.roomNumber());
+        assertEquals(1, second.studentIds().size());
+        assertEquals(1, second.filledSeats());
+        assertTrue(second.hasVacancy());
+        assertFalse(page.items().get(2).hasVacancy());
+    }
+
+    @Test
+    void countsOnlyPageTakesOneQuery() {
+        RoomPageDTO page = roomService.getRooms(hostelId, 1, 20, false);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, page.items().size());
+        assertNull(page.nextPage());
+        assertEquals(121, page.items().get(0).roomNumber());
+        assertNull(page.items().get(0).studentIds());
+        assertEquals(2, page.items().get(0).filledSeats());
+    }
+}
@@ -0,0 +1,72 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomVacancyIndexTest {
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomVacancyIndex index = new RoomVacancyIndex(roomRepository);
+    private final UUID hostel = UUID.randomUUID();
+    private final UUID room101 = UUID.randomUUID();
+    private final UUID room102 = UUID.randomUUID();
+    private final UUID room103 = UUID.randomUUID();
+
+    private void load() {
+        when(roomRepository.findSeatViews()).thenReturn(List.of(
+                new RoomSeatsView(room103, hostel, 103, 2, 0),
+                new RoomSeatsView(room101, hostel, 101, 2, 1),
+                new RoomSeatsView(room102, hostel, 102, 1, 1),
+                new RoomSeatsView(UUID.randomUUID(), UUID.randomUUID(), 101, 4, 0)));
+        index.rebuild();
+    }
+
+    @Test
+    void reservesLowestNumberedVacantRoomsUntilFull() {
+        load();
+        assertEquals(3, index.vacantSeats(hostel));
+
+        assertEquals(Optional.of(room101), index.reserve(hostel));
+        assertEquals(Optional.of(room103), index.reserve(hostel));
+        assertEquals(Optional.of(room103), index.reserve(hostel));
+        assertEquals(Optional.empty(), index.reserve(hostel));
+        assertEquals(Optional.empty(), index.reserve(UUID.randomUUID()));
+    }
+
+    @Test
+    void releaseAndRoomChangesAreReflected() {
+        load();
+        index.reserve(hostel);
+        index.release(hostel, room101);
+        assertEquals(Optional.of(room101), index.reserve(hostel));
+
+        index.roomRemoved(hostel, room103);
+        assertEquals(Optional.empty(), index.reserve(hostel));
+
+        UUID room100 = UUID.randomUUID();
+        index.roomAdded(Room.builder().id(room100).hostelId(hostel).roomNumber(100).totalSeats(1).build());
+        assertEquals(Optional.of(room100), index.reserve(hostel));
+    }
+
+    @Test
+    void refreshReplacesTheHostelWithDatabaseState() {
+        load();
+        when(roomRepository.findSeatViewsByHostelId(hostel)).thenReturn(List.of(
+                new RoomSeatsView(room101, hostel, 101, 2, 2),
+                new RoomSeatsView(room103, hostel, 103, 2, 1)));
+
+        index.refresh(hostel);
+
+        assertEquals(1, index.vacantSeats(hostel));
+        assertEquals(Optional.of(room103), index.reserve(hostel));
+    }
+}
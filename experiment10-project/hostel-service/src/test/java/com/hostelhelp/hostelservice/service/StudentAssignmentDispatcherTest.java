@@ -0,0 +1,314 @@
+package com.hostelhelp.hostelservice.service;
+
+import com.hostelhelp.hostelservice.dto.BulkAssignRoomDTO;
+import com.hostelhelp.hostelservice.dto.BulkAssignRoomResultDTO;
+import com.hostelhelp.hostelservice.dto.RoomAssignmentResultDTO;
+import com.hostelhelp.hostelservice.dto.StudentRoomDTO;
+import com.hostelhelp.hostelservice.model.Room;
+import com.hostelhelp.hostelservice.repository.RoomRepository;
+import com.hostelhelp.hostelservice.repository.RoomSeatsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Runs without the test transaction so the seat and its outbox row commit together, as in production
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentAssignmentDispatcherTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long";
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final ServiceTokenProvider serviceTokenProvider = new ServiceTokenProvider(SECRET, 300);
+    private final UUID hostelId = UUID.randomUUID();
+    private StudentAssignmentOutbox outbox;
+    private RoomService roomService;
+
+    @BeforeEach
+    void setUp() {
+        // other tests share the database and leave their own rows behind
+        jdbcTemplate.update("delete from student_assignment_outbox");
+        roomRepository.save(Room.builder().hostelId(hostelId).roomNumber(101).totalSeats(3).build());
+        outbox = new StudentAssignmentOutbox(jdbcTemplate);
+        RoomVacancyIndex index = new RoomVacancyIndex(roomRepository);
+        index.rebuild();
+        roomService = new RoomService(roomRepository, mock(StudentCacheNotifier.class),
+                mock(HostelRosterService.class), new TransactionTemplate(transactionManager), index,
+                new HostelWriteQueues(true, 1), mock(RoomNumberSequence.class),
+                new HostelOccupancySummary(jdbcTemplate, roomRepository, transactionManager), outbox);
+    }
+
+    private StudentAssignmentDispatcher dispatcher(int maxAttempts) {
+        return new StudentAssignmentDispatcher(outbox, roomService, mock(HostelRosterService.class),
+                restTemplate, serviceTokenProvider, 10, maxAttempts, 0, 60_000, 60_000);
+    }
+
+    private RoomSeatsView seats() {
+        return roomRepository.findSeatViewsByHostelId(hostelId).get(0);
+    }
+
+    private List<UUID> occupants() {
+        return jdbcTemplate.queryForList("select student_id from room_occupant where room_id = ?", UUID.class, seats().id());
+    }
+
+    // student-service accepts everyone except the given student
+    private void studentServiceRejects(UUID rejected) {
+        when(restTemplate.postForObject(endsWith("/students/assign-room:batch"), any(HttpEntity.class),
+                eq(BulkAssignRoomResultDTO.class))).thenAnswer(inv -> {
+            BulkAssignRoomDTO body = (BulkAssignRoomDTO) inv.getArgument(1, HttpEntity.class).getBody();
+            List<RoomAssignmentResultDTO> results = body.assignments().stream()
+                    .map(a -> new RoomAssignmentResultDTO(a.studentId(), a.roomId(),
+                            a.studentId().equals(rejected) ? "Already hostel assigned" : null))
+                    .toList();
+            return new BulkAssignRoomResultDTO((int) results.stream().filter(r -> r.error() == null).count(), results);
+        });
+    }
+
+    @Test
+    void assignmentsAreSentInOneBatchAndRemoved() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, first);
+        roomService.allocateStudent(hostelId, second);
+        studentServiceRejects(null);
+
+        assertEquals(2, dispatcher(3).dispatch());
+
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.captor();
+        verify(restTemplate, times(1)).postForObject(anyString(), request.capture(), eq(BulkAssignRoomResultDTO.class));
+        assertEquals(2, ((BulkAssignRoomDTO) request.getValue().getBody()).assignments().size());
+        // sent as hostel-service, not with a token kept from the allocating request
+        String token = request.getValue().getHeaders().getFirst("Authorization").substring("Bearer ".length());
+        Jwt jwt = NimbusJwtDecoder.withSecretKey(
+                new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256")).build().decode(token);
+        assertEquals(ServiceTokenProvider.SUBJECT, jwt.getSubject());
+        assertEquals("WARDEN", jwt.getClaimAsString("role"));
+        assertEquals(0, outbox.countPending());
+        assertEquals(2, seats().filledSeats());
+    }
+
+    @Test
+    void rejectedStudentGetsTheSeatBack() {
+        UUID accepted = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, accepted);
+        roomService.allocateStudent(hostelId, rejected);
+        studentServiceRejects(rejected);
+
+        StudentAssignmentDispatcher dispatcher = dispatcher(3);
+        dispatcher.dispatch();
+
+        assertEquals(0, outbox.countPending());
+        assertEquals(1, seats().filledSeats());
+        assertEquals(List.of(accepted), occupants());
+        assertEquals(1L, dispatcher.stats().get("rejected"));
+    }
+
+    private void deliveryFails() {
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(BulkAssignRoomResultDTO.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+    }
+
+    // what GET /students/{id} answers once the attempts have run out
+    private void studentServiceHasRoom(UUID studentId, UUID roomId) {
+        when(restTemplate.exchange(endsWith("/students/" + studentId), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(StudentRoomDTO.class))).thenReturn(ResponseEntity.ok(new StudentRoomDTO(studentId, hostelId, roomId)));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedThenGivenUp() {
+        UUID studentId = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, studentId);
+        deliveryFails();
+        studentServiceHasRoom(studentId, null);
+        StudentAssignmentDispatcher dispatcher = dispatcher(2);
+
+        dispatcher.dispatch();
+        assertEquals(1, outbox.countPending());
+        assertEquals("connection refused", jdbcTemplate.queryForObject(
+                "select last_error from student_assignment_outbox", String.class));
+        assertEquals(1, seats().filledSeats());
+
+        // retry delay is zero here, so the row is due again straight away
+        dispatcher.dispatch();
+        assertEquals(0, outbox.countPending());
+        assertEquals(0, seats().filledSeats());
+        assertTrue(occupants().isEmpty());
+        assertEquals(1L, dispatcher.stats().get("abandoned"));
+    }
+
+    @Test
+    void assignmentStudentServiceRecordedDespiteTheErrorKeepsTheSeat() {
+        UUID studentId = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, studentId);
+        deliveryFails();
+        studentServiceHasRoom(studentId, seats().id());
+        StudentAssignmentDispatcher dispatcher = dispatcher(1);
+
+        dispatcher.dispatch();
+
+        assertEquals(0, outbox.countPending());
+        assertEquals(List.of(studentId), occupants());
+        assertEquals(1L, dispatcher.stats().get("delivered"));
+        assertEquals(0L, dispatcher.stats().get("abandoned"));
+    }
+
+    @Test
+    void unconfirmedAssignmentIsParkedUntilRequeued() {
+        UUID studentId = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, studentId);
+        deliveryFails();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(StudentRoomDTO.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+        StudentAssignmentDispatcher dispatcher = dispatcher(1);
+
+        dispatcher.dispatch();
+
+        // the seat is kept and the row is left alone
+        assertEquals(List.of(studentId), occupants());
+        assertEquals(0L, dispatcher.stats().get("pending"));
+        assertEquals(1L, dispatcher.stats().get("parked"));
+        assertEquals(0, dispatcher.dispatch());
+
+        assertEquals(1, dispatcher.requeueParked());
+        assertEquals(1L, dispatcher.stats().get("pending"));
+        assertEquals(1, outbox.lease(10, Duration.ofMinutes(1)).get(0).attempts());
+    }
+
+    @Test
+    void removingTheStudentCancelsThePendingAssignment() {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, kept);
+        roomService.allocateStudent(hostelId, removed);
+
+        roomService.removeStudent(removed, seats().id(), null);
+
+        assertEquals(1, outbox.countPending());
+        assertEquals(List.of(kept), jdbcTemplate.queryForList(
+                "select student_id from student_assignment_outbox", UUID.class));
+        assertEquals(1, seats().filledSeats());
+    }
+
+    private void leaveSucceeds() {
+        when(restTemplate.postForEntity(endsWith("/leave"), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    void seatReleasedWhileTheAssignmentIsInFlightIsTakenBack() {
+        UUID studentId = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, studentId);
+        UUID roomId = seats().id();
+        // the student is removed while student-service is recording the assignment
+        when(restTemplate.postForObject(endsWith("/students/assign-room:batch"), any(HttpEntity.class),
+                eq(BulkAssignRoomResultDTO.class))).thenAnswer(inv -> {
+            roomService.removeStudent(studentId, roomId, null);
+            return new BulkAssignRoomResultDTO(1, List.of(new RoomAssignmentResultDTO(studentId, roomId, null)));
+        });
+        studentServiceHasRoom(studentId, roomId);
+        leaveSucceeds();
+        StudentAssignmentDispatcher dispatcher = dispatcher(3);
+
+        dispatcher.dispatch();
+        assertTrue(occupants().isEmpty());
+        assertEquals(1, outbox.countPending());
+
+        dispatcher.dispatch();
+        verify(restTemplate).postForEntity(endsWith("/students/" + studentId + "/leave"), any(HttpEntity.class), eq(Void.class));
+        assertEquals(0, outbox.countPending());
+        assertEquals(1L, dispatcher.stats().get("undone"));
+        assertEquals(0, seats().filledSeats());
+    }
+
+    @Test
+    void cancelledAssignmentStudentServiceNeverRecordedIsDropped() {
+        UUID studentId = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, studentId);
+        deliveryFails();
+        StudentAssignmentDispatcher dispatcher = dispatcher(3);
+        dispatcher.dispatch();
+
+        // sent once, so student-service may have it; the row outlives the seat
+        roomService.removeStudent(studentId, seats().id(), null);
+        assertEquals(1, outbox.countPending());
+        studentServiceHasRoom(studentId, null);
+
+        dispatcher.dispatch();
+
+        assertEquals(0, outbox.countPending());
+        verify(restTemplate, never()).postForEntity(anyString(), any(HttpEntity.class), eq(Void.class));
+        assertEquals(0L, dispatcher.stats().get("undone"));
+    }
+
+    @Test
+    void cancelledAssignmentIsLeftAloneWhenTheSeatIsTakenAgain() {
+        UUID studentId = UUID.randomUUID();
+        roomService.allocateStudent(hostelId, studentId);
+        deliveryFails();
+        StudentAssignmentDispatcher dispatcher = dispatcher(3);
+        dispatcher.dispatch();
+        roomService.removeStudent(studentId, seats().id(), null);
+        roomService.allocateStudent(hostelId, studentId);
+        reset(restTemplate);
+        studentServiceRejects(null);
+
+        dispatcher.dispatch();
+
+        assertEquals(0, outbox.countPending());
+        assertEquals(List.of(studentId), occupants());
+        verify(restTemplate, never()).postForEntity(anyString(), any(HttpEntity.class), eq(Void.class));
+        verify(restTemplate, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(StudentRoomDTO.class));
+    }
+
+    @Test
+    void leasedRowsAreNotHandedOutTwice() {
+        roomService.allocateStudent(hostelId, UUID.randomUUID());
+
+        assertEquals(1, outbox.lease(10, Duration.ofMinutes(1)).size());
+        assertTrue(outbox.lease(10, Duration.ofMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        StudentAssignmentDispatcher dispatcher = new StudentAssignmentDispatcher(outbox, roomService,
+                mock(HostelRosterService.class), restTemplate, serviceTokenProvider, 10, 20, 1_000, 60_000, 60_000);
+
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(8), dispatcher.backoff(4));
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoff(12));
+    }
+}
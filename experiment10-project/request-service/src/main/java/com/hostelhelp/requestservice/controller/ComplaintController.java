@@ -101,6 +101,16 @@ public class ComplaintController {
         }
     }
 
+    @GetMapping("/hostel/{hostelId}/counts")
+    public ResponseEntity<?> countHostelComplaints(@PathVariable String hostelId) {
+        try {
+            return ResponseEntity.ok(complaintService.countComplaintsByStatus(hostelId));
+        } catch (Exception e) {
+            log.error("Failed to count hostel complaints {}: {}", hostelId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to count hostel complaints: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/student/{studentId}")
     public ResponseEntity<?> getStudentComplaints(@PathVariable String studentId) {
         try {
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -50,6 +51,14 @@ public class RequestController {
         return ResponseEntity.ok(service.getRequestsByHostel(hostelId));
     }
 
+    // Pending (or other status) request counts per type, for dashboards that only need numbers
+    @GetMapping("/hostel/{hostelId}/counts")
+    public ResponseEntity<Map<String, Long>> countRequestsByHostel(
+            @PathVariable String hostelId,
+            @RequestParam(defaultValue = "PENDING") Request.Status status) {
+        return ResponseEntity.ok(service.countRequestsByType(hostelId, status));
+    }
+
     // Get request by id
     @GetMapping("/{id}")
     public ResponseEntity<RequestResponseDTO> getRequestById(@PathVariable String id) {
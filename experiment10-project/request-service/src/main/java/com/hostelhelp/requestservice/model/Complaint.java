@@ -3,6 +3,7 @@ package com.hostelhelp.requestservice.model;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
@@ -15,6 +16,7 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Document(collection = "complaint")
+@CompoundIndex(name = "hostel_status", def = "{'hostelId': 1, 'status': 1}")
 public class Complaint {
 
     @Id
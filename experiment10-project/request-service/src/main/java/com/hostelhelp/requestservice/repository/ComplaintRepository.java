@@ -1,11 +1,21 @@
 package com.hostelhelp.requestservice.repository;
 
 import com.hostelhelp.requestservice.model.Complaint;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ComplaintRepository extends MongoRepository<Complaint, String> {
     Complaint findByHostelId(String hostelId);
     Complaint findByStudentId(String studentId);
+
+    // served by the (hostelId, status) index
+    @Aggregation(pipeline = {
+            "{ $match: { hostelId: ?0 } }",
+            "{ $group: { _id: '$status', count: { $sum: 1 } } }"
+    })
+    List<GroupCount> countByStatusForHostel(String hostelId);
 }
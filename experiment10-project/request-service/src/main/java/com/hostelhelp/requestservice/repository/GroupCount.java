@@ -0,0 +1,6 @@
+package com.hostelhelp.requestservice.repository;
+
+import org.springframework.data.annotation.Id;
+
+// One row of a $group-by-field count; id is the grouped value
+public record GroupCount(@Id String id, long count) {}
@@ -1,6 +1,7 @@
 package com.hostelhelp.requestservice.repository;
 
 import com.hostelhelp.requestservice.model.Request;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -11,4 +12,11 @@ public interface RequestRepository extends MongoRepository<Request, String> {
     List<Request> findByStudentId(String studentId);
 
     List<Request> findByStatus(Request.Status status);
+
+    // served by the (hostelId, status, type) index
+    @Aggregation(pipeline = {
+            "{ $match: { hostelId: ?0, status: ?1 } }",
+            "{ $group: { _id: '$type', count: { $sum: 1 } } }"
+    })
+    List<GroupCount> countByTypeForHostelAndStatus(String hostelId, String status);
 }
@@ -2,6 +2,7 @@ package com.hostelhelp.requestservice.service;
 
 import com.hostelhelp.requestservice.model.Complaint;
 import com.hostelhelp.requestservice.repository.ComplaintRepository;
+import com.hostelhelp.requestservice.repository.GroupCount;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
@@ -150,6 +151,19 @@ public class ComplaintService {
         return out;
     }
 
+    // Counts per complaint status for one hostel, with zero for statuses that have none
+    public Map<String, Long> countComplaintsByStatus(String hostelId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Complaint.Status status : Complaint.Status.values()) {
+            counts.put(status.name(), 0L);
+        }
+        for (GroupCount c : repository.countByStatusForHostel(hostelId)) {
+            String key = c.id() == null ? Complaint.Status.UNKNOWN.name() : c.id();
+            counts.merge(key, c.count(), Long::sum);
+        }
+        return counts;
+    }
+
     public List<Complaint> getStudentComplaints(String studentId) {
         if (studentId == null) return List.of();
         List<Complaint> all = repository.findAll();
@@ -8,6 +8,7 @@ import com.hostelhelp.requestservice.exception.StudentNotFoundRemoteException;
 import com.hostelhelp.requestservice.exception.UnauthorizedActionException;
 import com.hostelhelp.requestservice.mapper.RequestMapper;
 import com.hostelhelp.requestservice.model.Request;
+import com.hostelhelp.requestservice.repository.GroupCount;
 import com.hostelhelp.requestservice.repository.RequestRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -420,4 +422,16 @@ public class RequestService {
                 .collect(Collectors.toList());
 
     }
+
+    // Counts per request type for one hostel and status, with zero for types that have none
+    public Map<String, Long> countRequestsByType(String hostelId, Request.Status status) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Request.RequestType type : Request.RequestType.values()) {
+            counts.put(type.name(), 0L);
+        }
+        for (GroupCount c : repository.countByTypeForHostelAndStatus(hostelId, status.name())) {
+            if (c.id() != null) counts.put(c.id(), c.count());
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,28 @@
+package com.hostelhelp.studentservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // Remote branches are blocking HTTP calls, so a virtual thread per task is cheap
+    @Bean(destroyMethod = "close")
+    public ExecutorService compositeExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // BCrypt is CPU-bound, so hashing gets a small fixed pool instead of virtual threads
+    @Bean(destroyMethod = "close")
+    public ExecutorService passwordHashExecutor(
+            @Value("${students.import.hash-threads:0}") int hashThreads) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads);
+    }
+}
@@ -1,14 +1,43 @@
 package com.hostelhelp.studentservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
 
+    // Shared client for the composite endpoints; built once instead of per request
+    @Bean
+    public RestTemplate compositeRestTemplate(
+            RestTemplateBuilder builder,
+            @Value("${services.composite.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${services.composite.read-timeout-ms:5000}") long readTimeoutMs) {
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+    }
+
+    // Webhook receivers are outside our control; a hung one must not stall the dispatcher's pool
+    @Bean
+    public RestTemplate webhookRestTemplate(
+            RestTemplateBuilder builder,
+            @Value("${students.changes.webhooks.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${students.changes.webhooks.read-timeout-ms:5000}") long readTimeoutMs) {
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+    }
+}
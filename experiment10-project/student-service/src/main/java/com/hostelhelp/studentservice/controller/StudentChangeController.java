@@ -0,0 +1,60 @@
+package com.hostelhelp.studentservice.controller;
+
+import com.hostelhelp.studentservice.dto.StudentChangePageDTO;
+import com.hostelhelp.studentservice.dto.StudentChangeSubscriptionDTO;
+import com.hostelhelp.studentservice.dto.StudentChangeSubscriptionRequestDTO;
+import com.hostelhelp.studentservice.service.StudentChangeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/students/changes")
+@Tag(name = "Student changes", description = "Change feed and webhooks for student updates")
+public class StudentChangeController {
+
+    private final StudentChangeService studentChangeService;
+
+    public StudentChangeController(StudentChangeService studentChangeService) {
+        this.studentChangeService = studentChangeService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Student changes after the given cursor, oldest first")
+    @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
+    public ResponseEntity<StudentChangePageDTO> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(studentChangeService.getChanges(after, limit));
+    }
+
+    @PostMapping("/subscriptions")
+    @Operation(summary = "Register a webhook that receives student changes in batches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StudentChangeSubscriptionDTO> subscribe(
+            @Validated @RequestBody StudentChangeSubscriptionRequestDTO dto) {
+        return ResponseEntity.ok(studentChangeService.subscribe(dto));
+    }
+
+    @GetMapping("/subscriptions")
+    @Operation(summary = "List webhook subscriptions and their delivery state")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<StudentChangeSubscriptionDTO>> getSubscriptions() {
+        return ResponseEntity.ok(studentChangeService.getSubscriptions());
+    }
+
+    @DeleteMapping("/subscriptions/{id}")
+    @Operation(summary = "Remove a webhook subscription")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> unsubscribe(@PathVariable UUID id) {
+        return studentChangeService.unsubscribe(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -1,25 +1,20 @@
 package com.hostelhelp.studentservice.controller;
 
-import com.hostelhelp.studentservice.dto.HostelResponseDTO;
-import com.hostelhelp.studentservice.dto.RoomResponseDTO;
+import com.hostelhelp.studentservice.dto.CacheInvalidationDTO;
 import com.hostelhelp.studentservice.dto.StudentCompositeDTO;
-import com.hostelhelp.studentservice.dto.StudentResponseDTO;
 import com.hostelhelp.studentservice.exception.StudentNotFoundException;
-import com.hostelhelp.studentservice.service.StudentService;
+import com.hostelhelp.studentservice.service.HostelMetadataCache;
+import com.hostelhelp.studentservice.service.StudentCompositeCache;
+import com.hostelhelp.studentservice.service.StudentCompositeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Map;
 
 @Slf4j
@@ -28,16 +23,15 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class StudentCompositeController {
 
-    private final StudentService studentService;
-    private final RestTemplateBuilder restTemplateBuilder;
+    private final StudentCompositeService studentCompositeService;
+    private final StudentCompositeCache studentCompositeCache;
+    private final HostelMetadataCache hostelMetadataCache;
     private final ObjectMapper objectMapper; // injected
 
-    @Value("${services.hostel.base-url:http://api-gateway:4004}")
-    private String hostelServiceBaseUrl;
-
     /**
      * GET /students/me/full
      * Returns StudentCompositeDTO { student, room, hostel }
+     * Room and hostel are fetched in parallel; either may be null if its call fails or times out.
      */
     @GetMapping("/me/full")
     public ResponseEntity<StudentCompositeDTO> getStudentWithRoomAndHostel(HttpServletRequest request) {
@@ -74,65 +68,9 @@ public class StudentCompositeController {
                 }
             }
 
-            // 2) fetch student locally
-            StudentResponseDTO student = studentService.getStudentByEmail(email);
-
-            // Prepare RestTemplate and headers (forward Authorization)
-            RestTemplate restTemplate = restTemplateBuilder
-                    .requestFactory(() -> {
-                        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-                        factory.setConnectTimeout((int) Duration.ofSeconds(3).toMillis());
-                        factory.setReadTimeout((int) Duration.ofSeconds(5).toMillis());
-                        return factory;
-                    })
-                    .build();
-
-            HttpHeaders headers = new HttpHeaders();
-            String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-            if (authHeader != null) {
-                headers.set(HttpHeaders.AUTHORIZATION, authHeader);
-            }
-            headers.setAccept(java.util.List.of(MediaType.APPLICATION_JSON));
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            RoomResponseDTO roomDto = null;
-            HostelResponseDTO hostelDto = null;
-
-            // 3) fetch room if student has roomId
-            try {
-                if (student.roomId() != null) {
-                    String roomUrl = String.format("%s/hostels/rooms/%s", hostelServiceBaseUrl, student.roomId());
-                    ResponseEntity<RoomResponseDTO> roomResp = restTemplate.exchange(roomUrl, HttpMethod.GET, entity, RoomResponseDTO.class);
-                    roomDto = roomResp.getBody();
-                }
-            } catch (HttpClientErrorException.NotFound nfe) {
-                log.debug("Room not found for id {}: {}", student.roomId(), nfe.getMessage());
-                roomDto = null;
-            } catch (Exception ex) {
-                log.error("Error fetching room for student {}: {}", student.id(), ex.getMessage());
-                roomDto = null;
-            }
-
-            // 4) fetch hostel: prefer student.hostelId, else try nested hostelId from room
-            try {
-                if (student.hostelId() != null) {
-                    String hostelUrl = String.format("%s/hostels/%s", hostelServiceBaseUrl, student.hostelId());
-                    ResponseEntity<HostelResponseDTO> hostelResp = restTemplate.exchange(hostelUrl, HttpMethod.GET, entity, HostelResponseDTO.class);
-                    hostelDto = hostelResp.getBody();
-                } else if (roomDto != null && roomDto.hostelId() != null) {
-                    String hostelUrl = String.format("%s/hostels/%s", hostelServiceBaseUrl, roomDto.hostelId());
-                    ResponseEntity<HostelResponseDTO> hostelResp = restTemplate.exchange(hostelUrl, HttpMethod.GET, entity, HostelResponseDTO.class);
-                    hostelDto = hostelResp.getBody();
-                }
-            } catch (HttpClientErrorException.NotFound nfe) {
-                log.debug("Hostel not found: {}", nfe.getMessage());
-                hostelDto = null;
-            } catch (Exception ex) {
-                log.error("Error fetching hostel for student {}: {}", student.id(), ex.getMessage());
-                hostelDto = null;
-            }
-
-            StudentCompositeDTO composite = new StudentCompositeDTO(student, roomDto, hostelDto);
+            // 2) fetch student locally, then room and hostel concurrently (forward Authorization)
+            StudentCompositeDTO composite = studentCompositeService.getStudentComposite(
+                    email, request.getHeader(HttpHeaders.AUTHORIZATION));
             return ResponseEntity.ok(composite);
 
         } catch (StudentNotFoundException snf) {
@@ -144,6 +82,27 @@ public class StudentCompositeController {
         }
     }
 
+    /**
+     * POST /students/cache/invalidate
+     * Called by hostel-service when a room or hostel changes; drops the affected composites
+     * and any cached hostel metadata.
+     */
+    @PostMapping("/cache/invalidate")
+    @PreAuthorize("hasAnyRole('ADMIN','WARDEN')")
+    public ResponseEntity<Map<String, Integer>> invalidateComposites(@RequestBody CacheInvalidationDTO dto) {
+        hostelMetadataCache.evict(dto.hostelId());
+        int evicted = studentCompositeCache.evictByHostelId(dto.hostelId())
+                + studentCompositeCache.evictByRoomId(dto.roomId());
+        log.debug("Composite cache invalidation hostel={} room={} evicted={}", dto.hostelId(), dto.roomId(), evicted);
+        return ResponseEntity.ok(Map.of("evicted", evicted));
+    }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCompositeCacheStats() {
+        return ResponseEntity.ok(studentCompositeCache.stats());
+    }
+
     /**
      * Helper: extract email/sub from a Bearer JWT without validating signature (best-effort fallback).
      *
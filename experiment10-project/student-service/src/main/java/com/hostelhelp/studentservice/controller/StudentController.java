@@ -1,17 +1,27 @@
 package com.hostelhelp.studentservice.controller;
 
 import com.hostelhelp.studentservice.dto.AssignRoomDTO;
+import com.hostelhelp.studentservice.dto.BulkAssignRoomDTO;
+import com.hostelhelp.studentservice.dto.StudentFilterDTO;
+import com.hostelhelp.studentservice.dto.StudentImportReportDTO;
 import com.hostelhelp.studentservice.dto.StudentMinDetailsDTO;
+import com.hostelhelp.studentservice.dto.StudentPageDTO;
 import com.hostelhelp.studentservice.dto.StudentRequestDTO;
 import com.hostelhelp.studentservice.dto.StudentResponseDTO;
 import com.hostelhelp.studentservice.dto.UpdateStudentDTO;
 import com.hostelhelp.studentservice.exception.StudentNotFoundException;
+import com.hostelhelp.studentservice.service.StudentExportService;
+import com.hostelhelp.studentservice.service.StudentImportService;
 import com.hostelhelp.studentservice.service.StudentService;
 import com.hostelhelp.studentservice.validation.CreateStudentValidationGroup;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.groups.Default;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,8 +29,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Slf4j
@@ -29,28 +45,95 @@ import java.util.UUID;
 @Tag(name = "Student", description = "API for managing Students")
 public class StudentController {
     private final StudentService studentService;
+    private final StudentExportService studentExportService;
+    private final StudentImportService studentImportService;
 
-    public StudentController(StudentService studentService) {
+    @Value("${students.batch.max-ids:500}")
+    private int maxBatchIds;
+
+    public StudentController(StudentService studentService,
+                             StudentExportService studentExportService,
+                             StudentImportService studentImportService) {
         this.studentService = studentService;
+        this.studentExportService = studentExportService;
+        this.studentImportService = studentImportService;
     }
 
     @GetMapping
-    @Operation(summary = "Get all students")
+    @Operation(summary = "Get students, keyset-paginated and filterable")
     @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
-    public ResponseEntity<List<StudentResponseDTO>> getStudents() {
-        List<StudentResponseDTO> students = studentService.getStudents();
-        return ResponseEntity.ok().body(students);
+    public ResponseEntity<StudentPageDTO> getStudents(
+            @RequestParam(required = false) Integer graduationYear,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) UUID hostelId,
+            @RequestParam(required = false) Boolean unassigned,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        StudentFilterDTO filter = new StudentFilterDTO(graduationYear, gender, hostelId, unassigned);
+        StudentPageDTO page = studentService.getStudents(filter, sort, direction, cursor, limit, includeTotal);
+        return ResponseEntity.ok().body(page);
     }
 
 
 
+    @GetMapping("/search")
+    @Operation(summary = "Ranked prefix and fuzzy search on name, uid and email")
+    @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
+    public ResponseEntity<?> searchStudents(@RequestParam String q,
+                                            @RequestParam(required = false) UUID hostelId,
+                                            @RequestParam(defaultValue = "0") int offset,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("q", "Search query must not be blank"));
+        }
+        return ResponseEntity.ok(studentService.searchStudents(q, hostelId, offset, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all students as NDJSON or CSV")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportStudents(@RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        StudentExportService.Format exportFormat = StudentExportService.Format.parse(format);
+        if (exportFormat == null) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "format must be ndjson or csv");
+            return;
+        }
+        boolean csv = exportFormat == StudentExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"students." + (csv ? "csv" : "ndjson") + "\"");
+        studentExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Bulk import students from a CSV or NDJSON body")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importStudents(@RequestParam(defaultValue = "ndjson") String format,
+                                            HttpServletRequest request) throws IOException {
+        StudentExportService.Format importFormat = StudentExportService.Format.parse(format);
+        if (importFormat == null) {
+            return ResponseEntity.badRequest().body(Map.of("format", "format must be ndjson or csv"));
+        }
+        StudentImportReportDTO report = studentImportService.importStudents(importFormat, request.getInputStream());
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a student by ID")
     @PreAuthorize("hasAnyRole('ADMIN','WARDEN')")
-    public ResponseEntity<StudentResponseDTO> getStudent(@PathVariable UUID id) {
+    public ResponseEntity<StudentResponseDTO> getStudent(@PathVariable UUID id, WebRequest request) {
+        LocalDateTime updatedAt = studentService.getUpdatedAt(id);
+        if (updatedAt != null && request.checkNotModified(
+                ConditionalGets.etag(id, updatedAt), ConditionalGets.lastModified(updatedAt))) {
+            return null;
+        }
         try {
             StudentResponseDTO student = studentService.getStudent(id);
-            return ResponseEntity.ok().body(student);
+            return ConditionalGets.ok(student, id, updatedAt);
         } catch (StudentNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -60,9 +143,7 @@ public class StudentController {
     @PreAuthorize("hasAnyRole('STUDENT','WARDEN','ADMIN')")
     public ResponseEntity<String> getNameById(@PathVariable UUID id){
         try {
-            var dto = studentService.getStudentMinDetails(id);
-            if (dto == null) return ResponseEntity.notFound().build();
-            return ResponseEntity.ok().body(dto.name());
+            return ResponseEntity.ok().body(studentService.getStudentName(id));
         } catch (StudentNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -79,6 +160,18 @@ public class StudentController {
         }
     }
 
+    @PostMapping("/min:batch")
+    @Operation(summary = "Get min details for a list of student IDs")
+    @PreAuthorize("hasAnyRole('STUDENT','WARDEN','ADMIN')")
+    public ResponseEntity<?> getMinDetailsBatch(@RequestBody List<UUID> ids) {
+        if (ids.size() > maxBatchIds) {
+            return ResponseEntity.badRequest().body(Map.of("ids", "At most " + maxBatchIds + " ids per request"));
+        }
+        List<UUID> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<UUID, StudentMinDetailsDTO> details = distinct.isEmpty() ? Map.of() : studentService.getStudentMinDetails(distinct);
+        return ResponseEntity.ok(details);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new student")
     public ResponseEntity<StudentResponseDTO> createStudent(
@@ -109,11 +202,18 @@ public class StudentController {
     @GetMapping("/me")
     @Operation(summary = "Get current student's profile")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<StudentResponseDTO> getCurrentStudentProfile() {
+    public ResponseEntity<StudentResponseDTO> getCurrentStudentProfile(WebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
+        LocalDateTime updatedAt = studentService.getUpdatedAtByEmail(email);
+        // the tag only needs to be unique per caller, so the email stands in for the id
+        UUID key = UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8));
+        if (updatedAt != null && request.checkNotModified(
+                ConditionalGets.etag(key, updatedAt), ConditionalGets.lastModified(updatedAt))) {
+            return null;
+        }
         StudentResponseDTO student = studentService.getStudentByEmail(email);
-        return ResponseEntity.ok().body(student);
+        return ConditionalGets.ok(student, key, updatedAt);
     }
 
     @PutMapping("/me")
@@ -148,6 +248,20 @@ public class StudentController {
         }
     }
 
+    @PostMapping("/assign-room:batch")
+    @Operation(summary = "Assign rooms of one hostel to many students; results are reported per student")
+    @PreAuthorize("hasAnyRole('ADMIN','WARDEN')")
+    public ResponseEntity<?> assignRooms(
+            @Validated @RequestBody BulkAssignRoomDTO dto,
+            @RequestHeader(value = "Authorization", required = false) String authHeader
+    ) {
+        if (dto.assignments().size() > maxBatchIds) {
+            return ResponseEntity.badRequest().body(Map.of("assignments", "At most " + maxBatchIds + " students per request"));
+        }
+        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
+        return ResponseEntity.ok(studentService.assignRooms(dto, token));
+    }
+
     @PostMapping("/{studentId}/leave")
     @Operation(summary = "Assign a room to a student")
     @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
@@ -166,9 +280,18 @@ public class StudentController {
     @GetMapping("/hostel/{hostelId}")
     @Operation(summary = "Get students by hostel id")
     @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
-    public ResponseEntity<List<StudentResponseDTO>> getStudentsByHostel(@PathVariable UUID hostelId) {
-        List<StudentResponseDTO> students = studentService.getStudentsByHostelId(hostelId);
-        return ResponseEntity.ok().body(students);
+    public ResponseEntity<StudentPageDTO> getStudentsByHostel(
+            @PathVariable UUID hostelId,
+            @RequestParam(required = false) Integer graduationYear,
+            @RequestParam(required = false) String gender,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        StudentFilterDTO filter = new StudentFilterDTO(graduationYear, gender, hostelId, null);
+        StudentPageDTO page = studentService.getStudents(filter, sort, direction, cursor, limit, includeTotal);
+        return ResponseEntity.ok().body(page);
     }
 
 
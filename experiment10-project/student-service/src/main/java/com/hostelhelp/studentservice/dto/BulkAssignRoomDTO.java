@@ -0,0 +1,13 @@
+package com.hostelhelp.studentservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+// Rooms for many students of one hostel, sent by hostel-service's batch allocation
+public record BulkAssignRoomDTO(
+        @NotNull UUID hostelId,
+        @NotEmpty List<@Valid RoomAssignmentDTO> assignments
+) {}
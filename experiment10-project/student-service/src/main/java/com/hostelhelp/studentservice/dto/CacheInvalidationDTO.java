@@ -0,0 +1,8 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.UUID;
+
+public record CacheInvalidationDTO(
+        UUID hostelId,
+        UUID roomId
+) {}
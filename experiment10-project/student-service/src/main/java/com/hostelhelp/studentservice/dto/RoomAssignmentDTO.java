@@ -0,0 +1,6 @@
+package com.hostelhelp.studentservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+public record RoomAssignmentDTO(@NotNull UUID studentId, @NotNull UUID roomId) {}
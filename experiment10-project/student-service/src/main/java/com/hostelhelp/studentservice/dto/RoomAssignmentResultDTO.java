@@ -0,0 +1,6 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.UUID;
+
+// error is null when the student was assigned
+public record RoomAssignmentResultDTO(UUID studentId, UUID roomId, String error) {}
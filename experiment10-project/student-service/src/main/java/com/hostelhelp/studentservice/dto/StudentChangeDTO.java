@@ -0,0 +1,14 @@
+package com.hostelhelp.studentservice.dto;
+
+import com.hostelhelp.studentservice.model.StudentChangeType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record StudentChangeDTO(
+        long id,
+        UUID studentId,
+        StudentChangeType type,
+        LocalDateTime occurredAt,
+        StudentResponseDTO student
+) {}
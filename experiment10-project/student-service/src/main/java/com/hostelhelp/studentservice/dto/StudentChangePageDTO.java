@@ -0,0 +1,12 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. nextCursor is always set; pass it back as ?after= to
+ * continue, including when items is empty.
+ */
+public record StudentChangePageDTO(
+        List<StudentChangeDTO> items,
+        long nextCursor
+) {}
@@ -0,0 +1,15 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record StudentChangeSubscriptionDTO(
+        UUID id,
+        String url,
+        boolean signed,
+        long lastEventId,
+        int failures,
+        String lastError,
+        LocalDateTime nextAttemptAt,
+        LocalDateTime createdAt
+) {}
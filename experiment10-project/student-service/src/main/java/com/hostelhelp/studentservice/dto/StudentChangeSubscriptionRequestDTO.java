@@ -0,0 +1,16 @@
+package com.hostelhelp.studentservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * startAfter is the change id to deliver from; when null the subscriber only
+ * receives changes made after it registers.
+ */
+public record StudentChangeSubscriptionRequestDTO(
+        @NotBlank(message = "URL is required")
+        @Pattern(regexp = "^https?://.+", message = "URL must be http or https")
+        String url,
+        String secret,
+        Long startAfter
+) {}
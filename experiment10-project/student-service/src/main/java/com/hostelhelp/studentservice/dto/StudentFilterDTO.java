@@ -0,0 +1,10 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.UUID;
+
+public record StudentFilterDTO(
+        Integer graduationYear,
+        String gender,
+        UUID hostelId,
+        Boolean unassigned
+) {}
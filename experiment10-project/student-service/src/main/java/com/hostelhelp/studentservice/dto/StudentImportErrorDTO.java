@@ -0,0 +1,9 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.Map;
+
+public record StudentImportErrorDTO(
+        long row,
+        String email,
+        Map<String, String> errors
+) {}
@@ -0,0 +1,9 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.List;
+
+public record StudentImportReportDTO(
+        long received,
+        long imported,
+        List<StudentImportErrorDTO> errors
+) {}
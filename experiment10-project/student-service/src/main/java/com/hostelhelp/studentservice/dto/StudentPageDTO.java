@@ -0,0 +1,9 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.List;
+
+public record StudentPageDTO(
+        List<StudentResponseDTO> items,
+        String nextCursor,
+        Long totalCount
+) {}
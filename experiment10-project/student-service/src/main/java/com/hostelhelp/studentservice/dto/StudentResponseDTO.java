@@ -14,8 +14,8 @@ public record StudentResponseDTO(
         LocalDate dateOfBirth,
         String gender,
         String phone,
-        String hostelId,
-        String roomId,
+        UUID hostelId,
+        UUID roomId,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {}
@@ -0,0 +1,13 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.UUID;
+
+public record StudentSearchHitDTO(
+        UUID id,
+        String name,
+        String uid,
+        String email,
+        UUID hostelId,
+        UUID roomId,
+        double score
+) {}
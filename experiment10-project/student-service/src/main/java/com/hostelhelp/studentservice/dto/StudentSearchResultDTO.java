@@ -0,0 +1,8 @@
+package com.hostelhelp.studentservice.dto;
+
+import java.util.List;
+
+public record StudentSearchResultDTO(
+        List<StudentSearchHitDTO> items,
+        Integer nextOffset
+) {}
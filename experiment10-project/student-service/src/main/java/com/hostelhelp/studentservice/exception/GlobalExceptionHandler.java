@@ -43,6 +43,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String,String>> handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn(ex.getMessage());
+        Map<String,String> errors = new HashMap<>();
+        errors.put("cursor", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Map<String,String>> handleInvalidSortException(InvalidSortException ex) {
+        log.warn(ex.getMessage());
+        Map<String,String> errors = new HashMap<>();
+        errors.put("sort", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Map<String,String>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
         log.warn("Data integrity violation: {}", ex.getMessage());
@@ -51,7 +67,7 @@ public class GlobalExceptionHandler {
         if (message != null) {
             if (message.contains("student_uid_key")) {
                 errors.put("uid", "UID already exists");
-            } else if (message.contains("student_email_key")) {
+            } else if (message.contains("student_email_key") || message.contains("ux_student_email_lower")) {
                 errors.put("email", "Email already exists");
             } else {
                 errors.put("database", "Duplicate or invalid data. Please check your input.");
@@ -3,7 +3,10 @@ package com.hostelhelp.studentservice.mapper;
 import com.hostelhelp.studentservice.dto.StudentMinDetailsDTO;
 import com.hostelhelp.studentservice.dto.StudentRequestDTO;
 import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import com.hostelhelp.studentservice.dto.StudentSearchHitDTO;
 import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.repository.StudentMinView;
+import com.hostelhelp.studentservice.repository.StudentSearchView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -13,10 +16,15 @@ import org.springframework.stereotype.Repository;
 public class StudentMapper {
     private static final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     public static Student toModel(StudentRequestDTO dto) {
+        return toModel(dto, encodePassword(dto.password()));
+    }
+
+    // For callers that hash passwords themselves (bulk import hashes them in parallel)
+    public static Student toModel(StudentRequestDTO dto, String encodedPassword) {
         return Student.builder()
                 .name(dto.name())
                 .email(dto.email())
-                .password(passwordEncoder.encode(dto.password()))
+                .password(encodedPassword)
                 .graduationYear(dto.graduationYear())
                 .uid(dto.uid())
                 .address(dto.address())
@@ -26,6 +34,10 @@ public class StudentMapper {
                 .build();
     }
 
+    public static String encodePassword(String rawPassword) {
+        return passwordEncoder.encode(rawPassword);
+    }
+
     public static StudentResponseDTO toDTO(Student student) {
         return new StudentResponseDTO(
                 student.getId(),
@@ -55,4 +67,27 @@ public class StudentMapper {
                 student.getPhone()
         );
     }
+
+    public static StudentMinDetailsDTO toMinDetails(StudentMinView view) {
+        if (view == null) return null;
+        return new StudentMinDetailsDTO(
+                view.getName(),
+                view.getEmail(),
+                view.getGraduationYear(),
+                view.getUid(),
+                view.getPhone()
+        );
+    }
+
+    public static StudentSearchHitDTO toSearchHit(StudentSearchView view) {
+        return new StudentSearchHitDTO(
+                view.getId(),
+                view.getName(),
+                view.getUid(),
+                view.getEmail(),
+                view.getHostelId(),
+                view.getRoomId(),
+                view.getScore() == null ? 0 : view.getScore()
+        );
+    }
 }
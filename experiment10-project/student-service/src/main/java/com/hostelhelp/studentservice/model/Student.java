@@ -48,8 +48,12 @@ public class Student {
     @Column(nullable = false)
     private String phone;
 
-    private String hostelId;
-    private String roomId;
+    // typed replacements for the legacy free-form hostel_id/room_id varchar columns (see V6__typed_id_backfill)
+    @Column(name = "hostel_uuid")
+    private UUID hostelId;
+
+    @Column(name = "room_uuid")
+    private UUID roomId;
 
 
     private LocalDateTime createdAt;
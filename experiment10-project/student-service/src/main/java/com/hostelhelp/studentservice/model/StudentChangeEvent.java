@@ -0,0 +1,49 @@
+package com.hostelhelp.studentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row for one student change. The payload is the student as JSON after the
+ * change (null for deletions) so consumers can update a local copy without a lookup.
+ * Readers page by {@code feedPosition}, not by id.
+ */
+@Entity
+@Table(name = "student_change_event")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Feed cursor, set by StudentChangeSequencer once the row has committed; null until then
+    @Column(unique = true)
+    private Long feedPosition;
+
+    @Column(nullable = false)
+    private UUID studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 32)
+    private StudentChangeType type;
+
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,54 @@
+package com.hostelhelp.studentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "student_change_subscription")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChangeSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    // optional HMAC key; deliveries are signed when set
+    private String secret;
+
+    @Column(nullable = false)
+    private long lastEventId;
+
+    @Column(nullable = false)
+    private int failures;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.hostelhelp.studentservice.model;
+
+public enum StudentChangeType {
+    CREATED,
+    UPDATED,
+    ROOM_ASSIGNED,
+    LEFT_HOSTEL,
+    DELETED
+}
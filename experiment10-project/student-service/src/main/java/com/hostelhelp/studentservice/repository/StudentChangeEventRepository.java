@@ -0,0 +1,33 @@
+package com.hostelhelp.studentservice.repository;
+
+import com.hostelhelp.studentservice.model.StudentChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StudentChangeEventRepository extends JpaRepository<StudentChangeEvent, Long> {
+
+    List<StudentChangeEvent> findByFeedPositionGreaterThanOrderByFeedPositionAsc(long after, Limit limit);
+
+    @Query("select coalesce(max(e.feedPosition), 0) from StudentChangeEvent e")
+    long findMaxFeedPosition();
+
+    @Query("select e.id from StudentChangeEvent e where e.feedPosition is null order by e.id")
+    List<Long> findUnsequencedIds(Limit limit);
+
+    // 0 if the event already has a position, i.e. another sequencer got there first
+    @Modifying(clearAutomatically = true)
+    @Query("update StudentChangeEvent e set e.feedPosition = :position where e.id = :id and e.feedPosition is null")
+    int assignFeedPosition(@Param("id") long id, @Param("position") long position);
+
+    @Modifying
+    @Query("delete from StudentChangeEvent e where e.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
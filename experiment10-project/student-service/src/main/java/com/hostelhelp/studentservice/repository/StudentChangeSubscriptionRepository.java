@@ -0,0 +1,34 @@
+package com.hostelhelp.studentservice.repository;
+
+import com.hostelhelp.studentservice.model.StudentChangeSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StudentChangeSubscriptionRepository extends JpaRepository<StudentChangeSubscription, UUID> {
+
+    @Query("select s from StudentChangeSubscription s where s.nextAttemptAt is null or s.nextAttemptAt <= :now")
+    List<StudentChangeSubscription> findDue(@Param("now") LocalDateTime now);
+
+    // targeted updates so a delivery finishing after an unsubscribe does not re-insert the row
+    @Transactional
+    @Modifying
+    @Query("update StudentChangeSubscription s set s.lastEventId = :lastEventId, s.failures = 0, " +
+            "s.lastError = null, s.nextAttemptAt = null, s.updatedAt = :now where s.id = :id")
+    int markDelivered(@Param("id") UUID id, @Param("lastEventId") long lastEventId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update StudentChangeSubscription s set s.failures = :failures, s.lastError = :error, " +
+            "s.nextAttemptAt = :nextAttemptAt, s.updatedAt = :now where s.id = :id")
+    int markFailed(@Param("id") UUID id, @Param("failures") int failures, @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package com.hostelhelp.studentservice.repository;
+
+import java.util.UUID;
+
+// Interface projection: only these columns are selected, no Student entity is loaded
+public interface StudentMinView {
+    UUID getId();
+    String getName();
+    String getEmail();
+    Integer getGraduationYear();
+    String getUid();
+    String getPhone();
+}
@@ -2,16 +2,92 @@ package com.hostelhelp.studentservice.repository;
 
 import com.hostelhelp.studentservice.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, UUID> {
-    boolean existsByEmail(String email);
-    boolean existsByEmailAndIdNot(String email, UUID id);
+public interface StudentRepository extends JpaRepository<Student, UUID>, JpaSpecificationExecutor<Student> {
+    // case-insensitive, matching the unique index on lower(email)
+    @Query("select count(s) > 0 from Student s where lower(s.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
+
+    @Query("select count(s) > 0 from Student s where lower(s.email) = lower(:email) and s.id <> :id")
+    boolean existsByEmailAndIdNot(@Param("email") String email, @Param("id") UUID id);
+
     Optional<Student> findByEmail(String email);
-    List<Student> findByHostelId(String hostelId);
+    List<Student> findByHostelId(UUID hostelId);
+
+    Optional<StudentMinView> findMinById(UUID id);
+
+    List<StudentMinView> findMinByIdIn(Collection<UUID> ids);
+
+    @Query("select s.name from Student s where s.id = :id")
+    Optional<String> findNameById(@Param("id") UUID id);
+
+    // Lets conditional GETs be answered without loading the student
+    @Query("select s.updatedAt from Student s where s.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+    @Query("select s.updatedAt from Student s where s.email = :email")
+    Optional<LocalDateTime> findUpdatedAtByEmail(@Param("email") String email);
+
+    /**
+     * Ranked search over name, uid and email (PostgreSQL only, needs pg_trgm). Exact uid/email
+     * matches rank first, then exact names, then prefixes, then trigram similarity.
+     * {@code prefix} is "q%" and {@code wordPrefix} "% q%", both already LIKE-escaped.
+     */
+    @Query(value = """
+            select s.id as id, s.name as name, s.uid as uid, s.email as email,
+                   s.hostel_uuid as hostelId, s.room_uuid as roomId,
+                   cast(greatest(
+                       case when lower(s.uid) = :q or lower(s.email) = :q then 4
+                            when lower(s.name) = :q then 3
+                            when lower(s.uid) like :prefix or lower(s.email) like :prefix
+                                 or lower(s.name) like :prefix then 2
+                            when lower(s.name) like :wordPrefix then 1.5
+                            else 0 end,
+                       word_similarity(:q, lower(s.name)),
+                       similarity(lower(s.uid), :q),
+                       similarity(lower(s.email), :q)) as double precision) as score
+            from student s
+            where (cast(:hostelId as uuid) is null or s.hostel_uuid = cast(:hostelId as uuid))
+              and (lower(s.name) like :prefix or lower(s.uid) like :prefix or lower(s.email) like :prefix
+                   or lower(s.name) like :wordPrefix
+                   or :q <% lower(s.name) or lower(s.uid) % :q or lower(s.email) % :q)
+            order by score desc, s.name, s.id
+            limit :limit offset :offset
+            """, nativeQuery = true)
+    List<StudentSearchView> search(@Param("q") String q,
+                                   @Param("prefix") String prefix,
+                                   @Param("wordPrefix") String wordPrefix,
+                                   @Param("hostelId") UUID hostelId,
+                                   @Param("limit") int limit,
+                                   @Param("offset") int offset);
+
+    // emails must be passed lower-cased; returns the lower-cased ones that are taken
+    @Query("select lower(s.email) from Student s where lower(s.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select s.uid from Student s where s.uid in :uids")
+    List<String> findExistingUids(@Param("uids") Collection<String> uids);
+
+    // Server-side cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Student s order by s.createdAt, s.id")
+    Stream<Student> streamAllOrderByCreatedAt();
 }
@@ -0,0 +1,14 @@
+package com.hostelhelp.studentservice.repository;
+
+import java.util.UUID;
+
+// Row of the native search query, aliases match the getters
+public interface StudentSearchView {
+    UUID getId();
+    String getName();
+    String getUid();
+    String getEmail();
+    UUID getHostelId();
+    UUID getRoomId();
+    Double getScore();
+}
@@ -0,0 +1,59 @@
+package com.hostelhelp.studentservice.repository;
+
+import com.hostelhelp.studentservice.dto.StudentFilterDTO;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.service.StudentCursor;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> matches(StudentFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.graduationYear() != null) {
+                predicates.add(cb.equal(root.get("graduationYear"), filter.graduationYear()));
+            }
+            if (filter.gender() != null && !filter.gender().isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("gender")), filter.gender().trim().toLowerCase()));
+            }
+            if (filter.hostelId() != null) {
+                predicates.add(cb.equal(root.get("hostelId"), filter.hostelId()));
+            }
+            if (Boolean.TRUE.equals(filter.unassigned())) {
+                predicates.add(cb.isNull(root.get("hostelId")));
+            } else if (Boolean.FALSE.equals(filter.unassigned())) {
+                predicates.add(cb.isNotNull(root.get("hostelId")));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Seek predicate: rows strictly after the cursor in (sortField, id) order,
+     * i.e. (f > v) OR (f = v AND id > lastId), mirrored for descending order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Student> after(StudentCursor cursor) {
+        return (root, query, cb) -> {
+            Expression field = root.get(cursor.sort().name());
+            Comparable value = cursor.value();
+            Expression<UUID> id = root.get("id");
+            if (cursor.direction() == Sort.Direction.ASC) {
+                return cb.or(cb.greaterThan(field, value),
+                        cb.and(cb.equal(field, value), cb.greaterThan(id, cursor.id())));
+            }
+            return cb.or(cb.lessThan(field, value),
+                    cb.and(cb.equal(field, value), cb.lessThan(id, cursor.id())));
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.dto.CacheInvalidationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tells hostel-service to drop its cached occupancy roster after a student leaves a hostel.
+ * Notifications are best-effort and sent asynchronously with the caller's token.
+ */
+@Slf4j
+@Component
+public class HostelCacheNotifier {
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+
+    @Value("${services.hostel.base-url:http://api-gateway:4004}")
+    private String hostelServiceBaseUrl;
+
+    public HostelCacheNotifier(RestTemplate restTemplate,
+                               @Qualifier("compositeExecutor") ExecutorService executor) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+    }
+
+    public void hostelChanged(UUID hostelId) {
+        if (hostelId == null) return;
+        // read the token on the request thread; the security context is not visible to the executor
+        String token = currentToken();
+        if (token == null) {
+            log.debug("No caller token, skipping roster invalidation for hostel {}", hostelId);
+            return;
+        }
+        CacheInvalidationDTO dto = new CacheInvalidationDTO(hostelId, null);
+        executor.execute(() -> {
+            try {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setBearerAuth(token);
+                restTemplate.postForEntity(hostelServiceBaseUrl + "/hostels/cache/invalidate",
+                        new HttpEntity<>(dto, headers), Void.class);
+            } catch (Exception e) {
+                log.warn("Failed to invalidate roster for hostel {}: {}", hostelId, e.getMessage());
+            }
+        });
+    }
+
+    private String currentToken() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth instanceof JwtAuthenticationToken jwtAuth) {
+            return jwtAuth.getToken().getTokenValue();
+        }
+        return null;
+    }
+}
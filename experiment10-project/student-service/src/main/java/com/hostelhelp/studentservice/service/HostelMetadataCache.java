@@ -0,0 +1,121 @@
+package com.hostelhelp.studentservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Bounded TTL cache of hostel metadata (currently only whether a hostel is a boys hostel)
+ * used by room assignment. Entries older than the refresh interval are still served while
+ * a background reload runs with the caller's token; hostel-service evicts entries through
+ * /students/cache/invalidate when a hostel is updated or deleted.
+ */
+@Slf4j
+@Component
+public class HostelMetadataCache {
+
+    private record Entry(Boolean boysHostel, long loadedAtNanos) {}
+
+    private final Cache<UUID, Entry> cache;
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final long refreshAfterNanos;
+
+    @Value("${services.hostel.base-url:http://api-gateway:4004}")
+    private String hostelServiceBaseUrl;
+
+    public HostelMetadataCache(RestTemplate restTemplate,
+                               @Qualifier("compositeExecutor") ExecutorService executor,
+                               @Value("${services.hostel.metadata-cache.max-size:1000}") long maxSize,
+                               @Value("${services.hostel.metadata-cache.ttl-minutes:60}") long ttlMinutes,
+                               @Value("${services.hostel.metadata-cache.refresh-after-minutes:45}") long refreshAfterMinutes) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.refreshAfterNanos = Duration.ofMinutes(refreshAfterMinutes).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Whether the hostel is a boys hostel, or null if hostel-service did not say.
+     * Throws IllegalArgumentException if the hostel does not exist or hostel-service
+     * cannot be reached on a cache miss.
+     */
+    public Boolean isBoysHostel(UUID hostelId, String token) {
+        Entry entry = cache.getIfPresent(hostelId);
+        if (entry == null) {
+            entry = load(hostelId, token);
+            if (entry.boysHostel() != null) cache.put(hostelId, entry);
+            return entry.boysHostel();
+        }
+        if (System.nanoTime() - entry.loadedAtNanos() > refreshAfterNanos) {
+            refreshAsync(hostelId, token);
+        }
+        return entry.boysHostel();
+    }
+
+    public void evict(UUID hostelId) {
+        if (hostelId == null) return;
+        cache.invalidate(hostelId);
+    }
+
+    private void refreshAsync(UUID hostelId, String token) {
+        if (!refreshing.add(hostelId)) return;
+        executor.execute(() -> {
+            try {
+                Entry fresh = load(hostelId, token);
+                if (fresh.boysHostel() != null) cache.put(hostelId, fresh);
+            } catch (Exception e) {
+                // keep serving the current entry until it expires
+                log.warn("Refreshing metadata for hostel {} failed: {}", hostelId, e.getMessage());
+            } finally {
+                refreshing.remove(hostelId);
+            }
+        });
+    }
+
+    private Entry load(UUID hostelId, String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Missing authentication token for verifying hostel");
+        }
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(token);
+            ResponseEntity<Boolean> resp = restTemplate.exchange(
+                    hostelServiceBaseUrl + "/hostels/" + hostelId + "/is-boys",
+                    HttpMethod.GET, new HttpEntity<>(headers), Boolean.class);
+            if (!resp.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalArgumentException("Failed to verify hostel type: " + resp.getStatusCode());
+            }
+            return new Entry(resp.getBody(), System.nanoTime());
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new IllegalArgumentException("Hostel not found: " + hostelId);
+        } catch (HttpClientErrorException e) {
+            log.error("Error calling hostel service for hostel {}: {}", hostelId, e.getMessage());
+            throw new IllegalArgumentException("Failed to verify hostel type: " + e.getStatusCode() + " " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error calling hostel service for hostel {}: {}", hostelId, e.getMessage());
+            throw new IllegalArgumentException("Failed to verify hostel type: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.repository.StudentChangeEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hands out feed positions to committed change events. Event ids are taken at insert time,
+ * so a writer that commits late can hold an id below changes a reader has already passed;
+ * positions are only given to rows this sequencer can see, i.e. committed ones, so each new
+ * position is above every cursor in use. If two instances race, one of them trips the unique
+ * position or finds a row already numbered, rolls back and tries again on the next tick.
+ */
+@Slf4j
+@Component
+public class StudentChangeSequencer {
+
+    private final StudentChangeEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${students.changes.sequence-batch-size:500}")
+    private int batchSize;
+
+    public StudentChangeSequencer(StudentChangeEventRepository eventRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${students.changes.sequence-interval-ms:500}")
+    public void run() {
+        try {
+            int numbered;
+            do {
+                numbered = sequence();
+            } while (numbered == batchSize);
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            log.debug("Student changes were numbered concurrently, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    // Numbers up to batch-size waiting events in id order; returns how many
+    int sequence() {
+        Integer numbered = transactionTemplate.execute(status -> {
+            List<Long> pending = eventRepository.findUnsequencedIds(Limit.of(batchSize));
+            long position = eventRepository.findMaxFeedPosition();
+            for (Long id : pending) {
+                if (eventRepository.assignFeedPosition(id, ++position) == 0) {
+                    throw new OptimisticLockingFailureException("Student change " + id + " already has a feed position");
+                }
+            }
+            return pending.size();
+        });
+        return numbered == null ? 0 : numbered;
+    }
+}
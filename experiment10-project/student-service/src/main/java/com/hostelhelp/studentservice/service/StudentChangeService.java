@@ -0,0 +1,136 @@
+package com.hostelhelp.studentservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelhelp.studentservice.dto.StudentChangeDTO;
+import com.hostelhelp.studentservice.dto.StudentChangePageDTO;
+import com.hostelhelp.studentservice.dto.StudentChangeSubscriptionDTO;
+import com.hostelhelp.studentservice.dto.StudentChangeSubscriptionRequestDTO;
+import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import com.hostelhelp.studentservice.mapper.StudentMapper;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.model.StudentChangeEvent;
+import com.hostelhelp.studentservice.model.StudentChangeSubscription;
+import com.hostelhelp.studentservice.model.StudentChangeType;
+import com.hostelhelp.studentservice.repository.StudentChangeEventRepository;
+import com.hostelhelp.studentservice.repository.StudentChangeSubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for student changes. Writers call {@link #record} inside their own
+ * transaction so an event exists exactly when the change commits; readers page through
+ * the events by feed position, either via GET /students/changes or the webhook dispatcher.
+ * Events only show up once {@link StudentChangeSequencer} has given them a position, and the
+ * position is what the feed reports as the change id.
+ */
+@Slf4j
+@Service
+public class StudentChangeService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final StudentChangeEventRepository eventRepository;
+    private final StudentChangeSubscriptionRepository subscriptionRepository;
+    private final ObjectMapper objectMapper;
+
+    public StudentChangeService(StudentChangeEventRepository eventRepository,
+                                StudentChangeSubscriptionRepository subscriptionRepository,
+                                ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Must run inside the writer's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(StudentChangeType type, Student student) {
+        eventRepository.save(toEvent(type, student));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(StudentChangeType type, List<Student> students) {
+        eventRepository.saveAll(students.stream().map(s -> toEvent(type, s)).toList());
+    }
+
+    @Transactional(readOnly = true)
+    public StudentChangePageDTO getChanges(long after, int limit) {
+        List<StudentChangeDTO> items = findAfter(after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        long next = items.isEmpty() ? after : items.get(items.size() - 1).id();
+        return new StudentChangePageDTO(items, next);
+    }
+
+    List<StudentChangeDTO> findAfter(long after, int limit) {
+        return eventRepository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(after, Limit.of(limit))
+                .stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Transactional
+    public int purgeOlderThan(LocalDateTime before) {
+        return eventRepository.deleteByCreatedAtBefore(before);
+    }
+
+    @Transactional
+    public StudentChangeSubscriptionDTO subscribe(StudentChangeSubscriptionRequestDTO dto) {
+        long start = dto.startAfter() != null ? dto.startAfter() : eventRepository.findMaxFeedPosition();
+        StudentChangeSubscription subscription = subscriptionRepository.save(StudentChangeSubscription.builder()
+                .url(dto.url())
+                .secret(dto.secret() == null || dto.secret().isBlank() ? null : dto.secret())
+                .lastEventId(start)
+                .build());
+        log.info("Registered student change subscriber {} for {} from change {}", subscription.getId(), dto.url(), start);
+        return toDTO(subscription);
+    }
+
+    public List<StudentChangeSubscriptionDTO> getSubscriptions() {
+        return subscriptionRepository.findAll().stream().map(StudentChangeService::toDTO).toList();
+    }
+
+    public boolean unsubscribe(UUID id) {
+        if (!subscriptionRepository.existsById(id)) return false;
+        subscriptionRepository.deleteById(id);
+        return true;
+    }
+
+    private StudentChangeEvent toEvent(StudentChangeType type, Student student) {
+        String payload = null;
+        if (type != StudentChangeType.DELETED) {
+            try {
+                payload = objectMapper.writeValueAsString(StudentMapper.toDTO(student));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialise student " + student.getId(), e);
+            }
+        }
+        return StudentChangeEvent.builder()
+                .studentId(student.getId())
+                .type(type)
+                .payload(payload)
+                .build();
+    }
+
+    private StudentChangeDTO toDTO(StudentChangeEvent event) {
+        StudentResponseDTO student = null;
+        if (event.getPayload() != null) {
+            try {
+                student = objectMapper.readValue(event.getPayload(), StudentResponseDTO.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable payload on student change {}: {}", event.getId(), e.getMessage());
+            }
+        }
+        return new StudentChangeDTO(event.getFeedPosition(), event.getStudentId(), event.getType(), event.getCreatedAt(), student);
+    }
+
+    private static StudentChangeSubscriptionDTO toDTO(StudentChangeSubscription s) {
+        return new StudentChangeSubscriptionDTO(s.getId(), s.getUrl(), s.getSecret() != null, s.getLastEventId(),
+                s.getFailures(), s.getLastError(), s.getNextAttemptAt(), s.getCreatedAt());
+    }
+}
@@ -0,0 +1,145 @@
+package com.hostelhelp.studentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelhelp.studentservice.dto.StudentChangeDTO;
+import com.hostelhelp.studentservice.model.StudentChangeSubscription;
+import com.hostelhelp.studentservice.repository.StudentChangeSubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Pushes the student change feed to registered webhooks. Each due subscriber gets the
+ * changes after its cursor as JSON arrays of up to batch-size items; the cursor only
+ * moves on a 2xx, so delivery is at-least-once and receivers should dedupe on change id.
+ * Failing subscribers back off exponentially, and a receiver that stops answering times out
+ * on the webhook client instead of holding a pool thread. Old changes are purged after the retention
+ * period, so a subscriber that stays down longer than that will miss changes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "students.changes.webhooks.enabled", havingValue = "true", matchIfMissing = true)
+public class StudentChangeWebhookDispatcher {
+
+    static final String SIGNATURE_HEADER = "X-Student-Changes-Signature";
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final StudentChangeService studentChangeService;
+    private final StudentChangeSubscriptionRepository subscriptionRepository;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+
+    @Value("${students.changes.webhooks.batch-size:100}")
+    private int batchSize;
+
+    @Value("${students.changes.webhooks.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${students.changes.webhooks.interval-ms:5000}")
+    private long intervalMillis;
+
+    @Value("${students.changes.retention-days:7}")
+    private long retentionDays;
+
+    public StudentChangeWebhookDispatcher(StudentChangeService studentChangeService,
+                                          StudentChangeSubscriptionRepository subscriptionRepository,
+                                          @Qualifier("webhookRestTemplate") RestTemplate restTemplate,
+                                          ObjectMapper objectMapper,
+                                          @Qualifier("compositeExecutor") ExecutorService executor) {
+        this.studentChangeService = studentChangeService;
+        this.subscriptionRepository = subscriptionRepository;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    @Scheduled(fixedDelayString = "${students.changes.webhooks.interval-ms:5000}")
+    public void dispatch() throws InterruptedException {
+        List<StudentChangeSubscription> due = subscriptionRepository.findDue(LocalDateTime.now());
+        if (due.isEmpty()) return;
+        // subscribers are independent, so a slow endpoint does not hold up the others
+        List<Callable<Void>> deliveries = due.stream()
+                .<Callable<Void>>map(s -> () -> {
+                    deliver(s);
+                    return null;
+                })
+                .toList();
+        executor.invokeAll(deliveries);
+    }
+
+    @Scheduled(fixedDelayString = "${students.changes.purge-interval-ms:3600000}")
+    public void purge() {
+        int removed = studentChangeService.purgeOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            log.info("Purged {} student changes older than {} days", removed, retentionDays);
+        }
+    }
+
+    void deliver(StudentChangeSubscription subscription) {
+        long cursor = subscription.getLastEventId();
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<StudentChangeDTO> changes = studentChangeService.findAfter(cursor, batchSize);
+            if (changes.isEmpty()) return;
+            try {
+                String body = objectMapper.writeValueAsString(changes);
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                if (subscription.getSecret() != null) {
+                    headers.set(SIGNATURE_HEADER, "sha256=" + sign(subscription.getSecret(), body));
+                }
+                ResponseEntity<Void> resp = restTemplate.postForEntity(subscription.getUrl(),
+                        new HttpEntity<>(body, headers), Void.class);
+                if (!resp.getStatusCode().is2xxSuccessful()) {
+                    throw new IllegalStateException("Webhook returned " + resp.getStatusCode());
+                }
+            } catch (Exception e) {
+                int failures = subscription.getFailures() + 1;
+                LocalDateTime next = LocalDateTime.now().plus(backoff(failures));
+                log.warn("Delivering student changes to {} failed ({} in a row), retrying at {}: {}",
+                        subscription.getUrl(), failures, next, e.getMessage());
+                subscriptionRepository.markFailed(subscription.getId(), failures, truncate(e.getMessage()),
+                        next, LocalDateTime.now());
+                return;
+            }
+            cursor = changes.get(changes.size() - 1).id();
+            subscriptionRepository.markDelivered(subscription.getId(), cursor, LocalDateTime.now());
+            subscription.setFailures(0);
+            if (changes.size() < batchSize) return;
+        }
+    }
+
+    Duration backoff(int failures) {
+        long millis = intervalMillis * (1L << Math.min(failures, 20));
+        return millis > MAX_BACKOFF.toMillis() ? MAX_BACKOFF : Duration.ofMillis(millis);
+    }
+
+    static String sign(String secret, String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1024 ? message.substring(0, 1024) : message;
+    }
+}
@@ -0,0 +1,122 @@
+package com.hostelhelp.studentservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hostelhelp.studentservice.dto.StudentCompositeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Bounded per-student cache of the /students/me/full composite.
+ * Entries are evicted by the local write paths in StudentService and by
+ * invalidation notifications sent from hostel-service.
+ */
+@Slf4j
+@Component
+public class StudentCompositeCache {
+
+    private final Cache<UUID, StudentCompositeDTO> cache;
+
+    // bumped on every invalidation so a composite built before it is not stored afterwards
+    private final AtomicLong epoch = new AtomicLong();
+    // puts check the epoch and store under the read lock; invalidations bump it under the write lock,
+    // so a put either lands before the bump (and is swept by the eviction) or sees the new epoch
+    private final ReadWriteLock invalidation = new ReentrantReadWriteLock();
+
+    public StudentCompositeCache(@Value("${services.composite.cache.max-size:10000}") long maxSize,
+                                 @Value("${services.composite.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    public StudentCompositeDTO get(UUID studentId) {
+        return cache.getIfPresent(studentId);
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    // Stores the composite only if nothing was invalidated since the caller read epoch()
+    public void put(UUID studentId, StudentCompositeDTO composite, long expectedEpoch) {
+        invalidation.readLock().lock();
+        try {
+            if (epoch.get() == expectedEpoch) {
+                cache.put(studentId, composite);
+            }
+        } finally {
+            invalidation.readLock().unlock();
+        }
+    }
+
+    public void evict(UUID studentId) {
+        if (studentId == null) return;
+        bumpEpoch();
+        cache.invalidate(studentId);
+    }
+
+    public int evictByHostelId(UUID hostelId) {
+        if (hostelId == null) return 0;
+        return evictMatching(c -> hostelId.equals(c.student().hostelId())
+                || (c.hostel() != null && hostelId.equals(c.hostel().id())));
+    }
+
+    public int evictByRoomId(UUID roomId) {
+        if (roomId == null) return 0;
+        return evictMatching(c -> roomId.equals(c.student().roomId())
+                || (c.room() != null && roomId.equals(c.room().id())));
+    }
+
+    private int evictMatching(Predicate<StudentCompositeDTO> matches) {
+        bumpEpoch();
+        List<UUID> keys = cache.asMap().entrySet().stream()
+                .filter(e -> matches.test(e.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        cache.invalidateAll(keys);
+        log.debug("Evicted {} cached composites", keys.size());
+        return keys.size();
+    }
+
+    private void bumpEpoch() {
+        invalidation.writeLock().lock();
+        try {
+            epoch.incrementAndGet();
+        } finally {
+            invalidation.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", cache.estimatedSize());
+        out.put("hitCount", stats.hitCount());
+        out.put("missCount", stats.missCount());
+        out.put("hitRatio", stats.hitRate());
+        out.put("evictionCount", stats.evictionCount());
+        return out;
+    }
+
+    public boolean isComplete(StudentCompositeDTO composite) {
+        // don't pin a partial result (a branch that failed or timed out) in the cache
+        boolean roomMissing = composite.student().roomId() != null && composite.room() == null;
+        boolean hostelMissing = composite.student().hostelId() != null && composite.hostel() == null;
+        return !roomMissing && !hostelMissing;
+    }
+}
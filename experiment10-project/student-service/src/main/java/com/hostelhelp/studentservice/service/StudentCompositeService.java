@@ -0,0 +1,108 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.dto.HostelResponseDTO;
+import com.hostelhelp.studentservice.dto.RoomResponseDTO;
+import com.hostelhelp.studentservice.dto.StudentCompositeDTO;
+import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class StudentCompositeService {
+
+    private final StudentService studentService;
+    private final StudentCompositeCache compositeCache;
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+
+    @Value("${services.hostel.base-url:http://api-gateway:4004}")
+    private String hostelServiceBaseUrl;
+
+    @Value("${services.composite.branch-timeout-ms:2000}")
+    private long branchTimeoutMs;
+
+    public StudentCompositeService(StudentService studentService,
+                                   StudentCompositeCache compositeCache,
+                                   @Qualifier("compositeRestTemplate") RestTemplate restTemplate,
+                                   @Qualifier("compositeExecutor") ExecutorService executor) {
+        this.studentService = studentService;
+        this.compositeCache = compositeCache;
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns { student, room, hostel } for the given email, from the cache when possible.
+     * On a miss room and hostel are fetched concurrently; a branch that fails or misses
+     * its deadline is returned as null and the partial result is not cached.
+     */
+    public StudentCompositeDTO getStudentComposite(String email, String authHeader) {
+        long epoch = compositeCache.epoch();
+        StudentResponseDTO student = studentService.getStudentByEmail(email);
+
+        StudentCompositeDTO cached = compositeCache.get(student.id());
+        if (cached != null) {
+            return cached;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (authHeader != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        }
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        CompletableFuture<RoomResponseDTO> roomFuture = student.roomId() == null
+                ? CompletableFuture.completedFuture(null)
+                : fetch("room", hostelServiceBaseUrl + "/hostels/rooms/" + student.roomId(), RoomResponseDTO.class, entity);
+
+        // prefer student.hostelId so both calls run in parallel; only fall back to the room's hostelId
+        CompletableFuture<HostelResponseDTO> hostelFuture;
+        if (student.hostelId() != null) {
+            hostelFuture = fetch("hostel", hostelServiceBaseUrl + "/hostels/" + student.hostelId(), HostelResponseDTO.class, entity);
+        } else {
+            hostelFuture = roomFuture.thenCompose(room -> room != null && room.hostelId() != null
+                    ? fetch("hostel", hostelServiceBaseUrl + "/hostels/" + room.hostelId(), HostelResponseDTO.class, entity)
+                    : CompletableFuture.completedFuture(null));
+        }
+
+        StudentCompositeDTO composite = new StudentCompositeDTO(student, roomFuture.join(), hostelFuture.join());
+        if (compositeCache.isComplete(composite)) {
+            compositeCache.put(student.id(), composite, epoch);
+        }
+        return composite;
+    }
+
+    private <T> CompletableFuture<T> fetch(String branch, String url, Class<T> type, HttpEntity<Void> entity) {
+        return CompletableFuture
+                .supplyAsync(() -> restTemplate.exchange(url, HttpMethod.GET, entity, type).getBody(), executor)
+                .orTimeout(branchTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof HttpClientErrorException.NotFound) {
+                        log.debug("{} not found at {}", branch, url);
+                    } else if (cause instanceof TimeoutException) {
+                        log.warn("Fetching {} exceeded {} ms, returning partial composite", branch, branchTimeoutMs);
+                    } else {
+                        log.error("Error fetching {} from {}: {}", branch, url, cause.getMessage());
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.exception.InvalidCursorException;
+import com.hostelhelp.studentservice.exception.InvalidSortException;
+import com.hostelhelp.studentservice.model.Student;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a student listing: the sort key and id of the last row returned.
+ * Serialised as an opaque base64url continuation token.
+ */
+public record StudentCursor(SortField sort, Sort.Direction direction, Comparable<?> value, UUID id) {
+
+    public enum SortField {
+        createdAt, name, uid;
+
+        public static SortField parse(String value) {
+            if (value == null || value.isBlank()) return createdAt;
+            for (SortField f : values()) {
+                if (f.name().equalsIgnoreCase(value)) return f;
+            }
+            throw new InvalidSortException("Unsupported sort field: " + value);
+        }
+
+        Comparable<?> valueOf(Student student) {
+            return switch (this) {
+                case createdAt -> student.getCreatedAt();
+                case name -> student.getName();
+                case uid -> student.getUid();
+            };
+        }
+
+        Comparable<?> parseValue(String raw) {
+            return this == createdAt ? LocalDateTime.parse(raw) : raw;
+        }
+    }
+
+    public static Sort.Direction parseDirection(String value) {
+        if (value == null || value.isBlank()) return Sort.Direction.ASC;
+        return Sort.Direction.fromOptionalString(value)
+                .orElseThrow(() -> new InvalidSortException("Unsupported sort direction: " + value));
+    }
+
+    public static StudentCursor after(Student last, SortField sort, Sort.Direction direction) {
+        return new StudentCursor(sort, direction, sort.valueOf(last), last.getId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + direction.name() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // value goes last since names may contain the separator
+            String[] parts = raw.split("\\|", 4);
+            SortField sort = SortField.parse(parts[0]);
+            return new StudentCursor(sort, Sort.Direction.valueOf(parts[1]), sort.parseValue(parts[3]), UUID.fromString(parts[2]));
+        } catch (Exception e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
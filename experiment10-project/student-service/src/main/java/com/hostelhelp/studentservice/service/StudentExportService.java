@@ -0,0 +1,101 @@
+package com.hostelhelp.studentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import com.hostelhelp.studentservice.mapper.StudentMapper;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the student table straight to an output stream. Rows come from a JPA stream
+ * backed by a server-side cursor and are detached once written, so heap use does not
+ * grow with the number of students.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentExportService {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER =
+            "id,name,email,graduationYear,uid,address,dateOfBirth,gender,phone,hostelId,roomId,createdAt,updatedAt";
+
+    private final StudentRepository studentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format parse(String value) {
+            for (Format f : values()) {
+                if (f.name().equalsIgnoreCase(value)) return f;
+            }
+            return null;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Student> students = studentRepository.streamAllOrderByCreatedAt()) {
+            Iterator<Student> it = students.iterator();
+            while (it.hasNext()) {
+                Student student = it.next();
+                StudentResponseDTO dto = StudentMapper.toDTO(student);
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+                entityManager.detach(student);
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} students as {}", count, format);
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, StudentResponseDTO s) throws IOException {
+        Object[] values = {s.id(), s.name(), s.email(), s.graduationYear(), s.uid(), s.address(),
+                s.dateOfBirth(), s.gender(), s.phone(), s.hostelId(), s.roomId(), s.createdAt(), s.updatedAt()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvEscape(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+        return s;
+    }
+}
@@ -0,0 +1,328 @@
+package com.hostelhelp.studentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelhelp.studentservice.dto.StudentImportErrorDTO;
+import com.hostelhelp.studentservice.dto.StudentImportReportDTO;
+import com.hostelhelp.studentservice.dto.StudentRequestDTO;
+import com.hostelhelp.studentservice.dto.UserDTO;
+import com.hostelhelp.studentservice.mapper.StudentMapper;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.model.StudentChangeType;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import com.hostelhelp.studentservice.validation.CreateStudentValidationGroup;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Bulk student import from CSV or NDJSON. Rows are validated as they are read and
+ * processed in chunks: passwords are BCrypt-hashed in parallel, the chunk is inserted
+ * as one JDBC batch and the matching auth users are registered with a single call.
+ * Bad rows are reported back instead of failing the whole import. If auth-service cannot
+ * register a chunk's logins, that chunk's students are deleted again so the rows can
+ * simply be imported once more.
+ */
+@Slf4j
+@Service
+public class StudentImportService {
+
+    private final StudentRepository studentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final RestTemplate restTemplate;
+    private final ExecutorService hashExecutor;
+    private final StudentChangeService studentChangeService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${students.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${services.auth.base-url:http://api-gateway:4004}")
+    private String authServiceBaseUrl;
+
+    public StudentImportService(StudentRepository studentRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                RestTemplate restTemplate,
+                                @Qualifier("passwordHashExecutor") ExecutorService hashExecutor,
+                                StudentChangeService studentChangeService,
+                                PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.restTemplate = restTemplate;
+        this.hashExecutor = hashExecutor;
+        this.studentChangeService = studentChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private record Row(long number, StudentRequestDTO dto) {}
+
+    public StudentImportReportDTO importStudents(StudentExportService.Format format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<StudentImportErrorDTO> errors = new ArrayList<>();
+        // emails and uids seen earlier in the same file
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenUids = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long received = 0;
+        long imported = 0;
+
+        String[] header = null;
+        CsvRecordReader csv = null;
+        if (format == StudentExportService.Format.CSV) {
+            csv = new CsvRecordReader(reader);
+            List<String> headerFields = csv.next();
+            if (headerFields == null) {
+                return new StudentImportReportDTO(0, 0, errors);
+            }
+            header = headerFields.toArray(new String[0]);
+        }
+
+        long lineNumber = 0;
+        while (true) {
+            // rows are numbered by the line they start on, so a record with quoted line breaks spans several
+            long rowNumber;
+            String line = null;
+            List<String> fields = null;
+            if (csv != null) {
+                rowNumber = csv.linesRead() + 1;
+                fields = csv.next();
+                if (fields == null) break;
+                if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+            } else {
+                line = reader.readLine();
+                if (line == null) break;
+                rowNumber = ++lineNumber;
+                if (line.isBlank()) continue;
+            }
+            received++;
+
+            StudentRequestDTO dto;
+            try {
+                dto = fields == null
+                        ? objectMapper.readValue(line, StudentRequestDTO.class)
+                        : objectMapper.convertValue(toRecord(header, fields), StudentRequestDTO.class);
+            } catch (Exception e) {
+                errors.add(new StudentImportErrorDTO(rowNumber, null, Map.of("row", "Could not parse row")));
+                continue;
+            }
+
+            Map<String, String> rowErrors = validate(dto);
+            if (rowErrors.isEmpty()) {
+                // emails are unique regardless of case
+                if (!seenEmails.add(dto.email().toLowerCase(Locale.ROOT))) rowErrors.put("email", "Duplicate email in file");
+                if (!seenUids.add(dto.uid())) rowErrors.put("uid", "Duplicate UID in file");
+            }
+            if (!rowErrors.isEmpty()) {
+                errors.add(new StudentImportErrorDTO(rowNumber, dto.email(), rowErrors));
+                continue;
+            }
+
+            chunk.add(new Row(rowNumber, dto));
+            if (chunk.size() >= chunkSize) {
+                imported += processChunk(chunk, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += processChunk(chunk, errors);
+        }
+
+        log.info("Student import finished: {} received, {} imported, {} rejected", received, imported, errors.size());
+        return new StudentImportReportDTO(received, imported, errors);
+    }
+
+    private Map<String, String> validate(StudentRequestDTO dto) {
+        Map<String, String> rowErrors = new LinkedHashMap<>();
+        for (ConstraintViolation<StudentRequestDTO> violation :
+                validator.validate(dto, Default.class, CreateStudentValidationGroup.class)) {
+            rowErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return rowErrors;
+    }
+
+    private long processChunk(List<Row> chunk, List<StudentImportErrorDTO> errors) {
+        Set<String> existingEmails = new HashSet<>(studentRepository.findExistingEmails(
+                chunk.stream().map(r -> r.dto().email().toLowerCase(Locale.ROOT)).toList()));
+        Set<String> existingUids = new HashSet<>(studentRepository.findExistingUids(
+                chunk.stream().map(r -> r.dto().uid()).toList()));
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            Map<String, String> rowErrors = new LinkedHashMap<>();
+            if (existingEmails.contains(row.dto().email().toLowerCase(Locale.ROOT))) rowErrors.put("email", "Email already exists");
+            if (existingUids.contains(row.dto().uid())) rowErrors.put("uid", "UID already exists");
+            if (rowErrors.isEmpty()) {
+                accepted.add(row);
+            } else {
+                errors.add(new StudentImportErrorDTO(row.number(), row.dto().email(), rowErrors));
+            }
+        }
+        if (accepted.isEmpty()) return 0;
+
+        List<CompletableFuture<Student>> hashing = accepted.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> StudentMapper.toModel(row.dto(), StudentMapper.encodePassword(row.dto().password())),
+                        hashExecutor))
+                .toList();
+        List<Student> students = hashing.stream().map(CompletableFuture::join).toList();
+
+        List<Student> saved = insert(accepted, students, errors);
+        return registerUsers(saved, accepted, errors) ? saved.size() : 0;
+    }
+
+    // One batched insert for the chunk; if it trips a constraint, retry row by row to isolate the bad ones
+    private List<Student> insert(List<Row> rows, List<Student> students, List<StudentImportErrorDTO> errors) {
+        try {
+            return saveWithChanges(students);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} students failed, retrying individually: {}", students.size(), e.getMessage());
+        } finally {
+            entityManager.clear();
+        }
+
+        List<Student> saved = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            student.setId(null);
+            try {
+                saved.addAll(saveWithChanges(List.of(student)));
+            } catch (DataIntegrityViolationException e) {
+                errors.add(new StudentImportErrorDTO(rows.get(i).number(), student.getEmail(),
+                        Map.of("database", "Duplicate or invalid data")));
+            }
+        }
+        entityManager.clear();
+        return saved;
+    }
+
+    // the CREATED change events commit with the rows they describe
+    private List<Student> saveWithChanges(List<Student> students) {
+        return transactionTemplate.execute(status -> {
+            List<Student> saved = studentRepository.saveAll(students);
+            studentChangeService.recordAll(StudentChangeType.CREATED, saved);
+            return saved;
+        });
+    }
+
+    // False if auth-service could not take the logins; the students are then removed again
+    private boolean registerUsers(List<Student> saved, List<Row> rows, List<StudentImportErrorDTO> errors) {
+        if (saved.isEmpty()) return true;
+        List<UserDTO> users = saved.stream()
+                .map(s -> new UserDTO(s.getEmail(), s.getPassword(), "STUDENT"))
+                .toList();
+        try {
+            restTemplate.postForObject(authServiceBaseUrl + "/auth/register/batch", users, Map.class);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to register {} imported students with auth-service, removing them", users.size(), e);
+            transactionTemplate.executeWithoutResult(status -> {
+                studentRepository.deleteAllByIdInBatch(saved.stream().map(Student::getId).toList());
+                studentChangeService.recordAll(StudentChangeType.DELETED, saved);
+            });
+            Set<String> emails = new HashSet<>();
+            saved.forEach(s -> emails.add(s.getEmail()));
+            rows.stream()
+                    .filter(r -> emails.contains(r.dto().email()))
+                    .forEach(r -> errors.add(new StudentImportErrorDTO(r.number(), r.dto().email(),
+                            Map.of("auth", "Login registration failed; student not imported"))));
+            return false;
+        }
+    }
+
+    private static Map<String, String> toRecord(String[] header, List<String> values) {
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            String value = values.get(i);
+            record.put(header[i].trim(), value.isEmpty() ? null : value);
+        }
+        return record;
+    }
+
+    /**
+     * Reads CSV one record at a time, honouring double-quoted fields, "" escapes and line
+     * breaks inside quotes (the same quoting StudentExportService writes).
+     */
+    static final class CsvRecordReader {
+
+        private final BufferedReader in;
+        private long linesRead;
+
+        CsvRecordReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        long linesRead() {
+            return linesRead;
+        }
+
+        // The next record's fields, or null at the end of the input
+        List<String> next() throws IOException {
+            int c = in.read();
+            if (c == -1) return null;
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (; c != -1; c = in.read()) {
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        if (in.read() == '"') {
+                            current.append('"');
+                        } else {
+                            in.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') linesRead++;
+                        current.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        in.mark(1);
+                        if (in.read() != '\n') in.reset();
+                    }
+                    linesRead++;
+                    break;
+                } else {
+                    current.append((char) c);
+                }
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+}
@@ -1,46 +1,120 @@
 package com.hostelhelp.studentservice.service;
 
 import com.hostelhelp.studentservice.dto.AssignRoomDTO;
+import com.hostelhelp.studentservice.dto.BulkAssignRoomDTO;
+import com.hostelhelp.studentservice.dto.BulkAssignRoomResultDTO;
+import com.hostelhelp.studentservice.dto.RoomAssignmentDTO;
+import com.hostelhelp.studentservice.dto.RoomAssignmentResultDTO;
+import com.hostelhelp.studentservice.dto.StudentFilterDTO;
 import com.hostelhelp.studentservice.dto.StudentMinDetailsDTO;
+import com.hostelhelp.studentservice.dto.StudentPageDTO;
 import com.hostelhelp.studentservice.dto.StudentRequestDTO;
 import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import com.hostelhelp.studentservice.dto.StudentSearchHitDTO;
+import com.hostelhelp.studentservice.dto.StudentSearchResultDTO;
 import com.hostelhelp.studentservice.dto.UpdateStudentDTO;
 import com.hostelhelp.studentservice.dto.UserDTO;
 import com.hostelhelp.studentservice.exception.EmailAlreadyExistsException;
 import com.hostelhelp.studentservice.exception.StudentNotFoundException;
 import com.hostelhelp.studentservice.mapper.StudentMapper;
 import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.model.StudentChangeType;
+import com.hostelhelp.studentservice.repository.StudentMinView;
 import com.hostelhelp.studentservice.repository.StudentRepository;
+import com.hostelhelp.studentservice.repository.StudentSearchView;
+import com.hostelhelp.studentservice.repository.StudentSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StudentService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final StudentRepository studentRepository;
     private final RestTemplate restTemplate;
+    private final StudentCompositeCache compositeCache;
+    private final HostelMetadataCache hostelMetadataCache;
+    private final HostelCacheNotifier hostelCacheNotifier;
+    private final StudentChangeService studentChangeService;
+    private final TransactionTemplate transactionTemplate;
 
-    // small ObjectMapper to parse possible JSON-stringified room objects saved in DB
+    // small ObjectMapper to convert hostel/room responses into maps
     private final ObjectMapper objectMapper = new ObjectMapper();
 
 
 
-    public List<StudentResponseDTO> getStudents() {
-        List<Student> students = studentRepository.findAll();
+    /**
+     * Keyset-paginated listing ordered by (sort field, id). The cursor carries its own sort
+     * and direction, so follow-up pages ignore the sort/direction arguments.
+     */
+    public StudentPageDTO getStudents(StudentFilterDTO filter, String sortField, String direction,
+                                      String cursor, int limit, boolean includeTotal) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        StudentCursor after = (cursor == null || cursor.isBlank()) ? null : StudentCursor.decode(cursor);
+        StudentCursor.SortField sort = after != null ? after.sort() : StudentCursor.SortField.parse(sortField);
+        Sort.Direction dir = after != null ? after.direction() : StudentCursor.parseDirection(direction);
 
-        return students.stream().map(StudentMapper::toDTO).toList();
+        Specification<Student> filtered = StudentSpecifications.matches(filter);
+        Specification<Student> spec = after == null ? filtered : filtered.and(StudentSpecifications.after(after));
+        Sort order = Sort.by(dir, sort.name()).and(Sort.by(dir, "id"));
+
+        // fetch one extra row to know whether another page exists
+        List<Student> rows = studentRepository.findBy(spec, q -> q.sortBy(order).limit(pageSize + 1).all());
+        boolean hasMore = rows.size() > pageSize;
+        List<Student> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore ? StudentCursor.after(page.get(page.size() - 1), sort, dir).encode() : null;
+        Long total = includeTotal ? studentRepository.count(filtered) : null;
+        return new StudentPageDTO(page.stream().map(StudentMapper::toDTO).toList(), nextCursor, total);
+    }
+
+    /**
+     * Ranked prefix/fuzzy search on name, uid and email, optionally limited to one hostel.
+     * Offset-paginated since results are ordered by score rather than a stable key.
+     */
+    public StudentSearchResultDTO searchStudents(String query, UUID hostelId, int offset, int limit) {
+        String q = query.trim().toLowerCase();
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        int from = Math.max(offset, 0);
+        String escaped = escapeLike(q);
+
+        List<StudentSearchView> rows = studentRepository.search(q, escaped + "%", "% " + escaped + "%",
+                hostelId, pageSize + 1, from);
+        boolean hasMore = rows.size() > pageSize;
+        List<StudentSearchHitDTO> hits = rows.stream()
+                .limit(pageSize)
+                .map(StudentMapper::toSearchHit)
+                .toList();
+        return new StudentSearchResultDTO(hits, hasMore ? from + pageSize : null);
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     public StudentResponseDTO getStudent(UUID id) {
@@ -50,6 +124,11 @@ public class StudentService {
         return StudentMapper.toDTO(student);
     }
 
+    /**
+     * Registers the login first, outside any transaction, so no connection is held while
+     * auth-service answers; the student and its CREATED change then commit together. If
+     * that insert fails the login is removed again.
+     */
     public StudentResponseDTO createStudent(StudentRequestDTO studentRequestDTO) {
         if (studentRepository.existsByEmail(studentRequestDTO.email())) {
             throw new EmailAlreadyExistsException(
@@ -57,38 +136,69 @@ public class StudentService {
                             + studentRequestDTO.email());
         }
 
-
-        Student newStudent = studentRepository.save(
-                StudentMapper.toModel(studentRequestDTO));
-        UserDTO userDTO = new UserDTO(newStudent.getEmail(), newStudent.getPassword(), "STUDENT");
+        Student student = StudentMapper.toModel(studentRequestDTO);
+        UserDTO userDTO = new UserDTO(student.getEmail(), student.getPassword(), "STUDENT");
         restTemplate.postForObject("http://api-gateway:4004/auth/register", userDTO, Void.class);
         //restTemplate.postForObject("http://localhost:4004/auth/register", userDTO, Void.class);
+
+        Student newStudent;
+        try {
+            newStudent = transactionTemplate.execute(status -> {
+                Student saved = studentRepository.save(student);
+                studentChangeService.record(StudentChangeType.CREATED, saved);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            try {
+                restTemplate.delete("http://api-gateway:4004/auth/user/" + student.getEmail());
+            } catch (Exception cleanup) {
+                log.error("Failed to remove login for student that was not saved: {}", student.getEmail(), cleanup);
+            }
+            throw e;
+        }
         return StudentMapper.toDTO(newStudent);
     }
 
+    /*
+     * The write paths below commit through transactionTemplate and only then evict caches or
+     * call other services: a cache dropped before commit can be refilled with the old row by a
+     * concurrent read, and a remote call made inside the transaction holds its connection for
+     * the round trip and cannot be taken back if the commit fails.
+     */
+
     public StudentResponseDTO updateStudent(UUID id,
                                             StudentRequestDTO studentRequestDTO) {
-        Student student = studentRepository.findById(id).orElseThrow(() ->
-                new StudentNotFoundException("Student not found with id " + id));
+        Student updatedStudent = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(id).orElseThrow(() ->
+                    new StudentNotFoundException("Student not found with id " + id));
 
-        if(studentRepository.existsByEmailAndIdNot(studentRequestDTO.email(), id)){
-            throw new EmailAlreadyExistsException("A student with the email "
-                    + studentRequestDTO.email() + " already exists");
-        }
+            if(studentRepository.existsByEmailAndIdNot(studentRequestDTO.email(), id)){
+                throw new EmailAlreadyExistsException("A student with the email "
+                        + studentRequestDTO.email() + " already exists");
+            }
 
-        student.setName(studentRequestDTO.name());
-        student.setEmail(studentRequestDTO.email());
-        student.setAddress(studentRequestDTO.address());
-        student.setDateOfBirth(studentRequestDTO.dateOfBirth());
-        Student updatedStudent = studentRepository.save(student);
+            student.setName(studentRequestDTO.name());
+            student.setEmail(studentRequestDTO.email());
+            student.setAddress(studentRequestDTO.address());
+            student.setDateOfBirth(studentRequestDTO.dateOfBirth());
+            Student saved = studentRepository.save(student);
+            studentChangeService.record(StudentChangeType.UPDATED, saved);
+            return saved;
+        });
+        compositeCache.evict(id);
         return StudentMapper.toDTO(updatedStudent);
     }
 
+    // The login is removed once the delete has committed, so a failed commit leaves a student who can still log in
     public void deleteStudent(UUID id) {
-        Student student = studentRepository.findById(id)
-            .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + id));
-        String email = student.getEmail();
-        studentRepository.deleteById(id);
+        String email = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + id));
+            studentRepository.deleteById(id);
+            studentChangeService.record(StudentChangeType.DELETED, student);
+            return student.getEmail();
+        });
+        compositeCache.evict(id);
         // Delete user in auth-service
         try {
             String deleteUrl = "http://api-gateway:4004/auth/user/" + email;
@@ -98,6 +208,15 @@ public class StudentService {
         }
     }
 
+    // Null for an unknown student; read ahead of the body for conditional GETs
+    public LocalDateTime getUpdatedAt(UUID id) {
+        return studentRepository.findUpdatedAtById(id).orElse(null);
+    }
+
+    public LocalDateTime getUpdatedAtByEmail(String email) {
+        return studentRepository.findUpdatedAtByEmail(email).orElse(null);
+    }
+
     public StudentResponseDTO getStudentByEmail(String email) {
         Student student = studentRepository.findByEmail(email)
                 .orElseThrow(() -> new StudentNotFoundException("Student not found with email " + email));
@@ -105,72 +224,134 @@ public class StudentService {
     }
 
     public StudentResponseDTO updateStudentByEmail(String email, UpdateStudentDTO updateStudentDTO) {
-        Student student = studentRepository.findByEmail(email)
-                .orElseThrow(() -> new StudentNotFoundException("Student not found with email " + email));
-
-        student.setPhone(updateStudentDTO.phone());
-        student.setAddress(updateStudentDTO.address());
-        student.setDateOfBirth(updateStudentDTO.dateOfBirth());
-        Student updatedStudent = studentRepository.save(student);
+        Student updatedStudent = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findByEmail(email)
+                    .orElseThrow(() -> new StudentNotFoundException("Student not found with email " + email));
+
+            student.setPhone(updateStudentDTO.phone());
+            student.setAddress(updateStudentDTO.address());
+            student.setDateOfBirth(updateStudentDTO.dateOfBirth());
+            Student saved = studentRepository.save(student);
+            studentChangeService.record(StudentChangeType.UPDATED, saved);
+            return saved;
+        });
+        compositeCache.evict(updatedStudent.getId());
         return StudentMapper.toDTO(updatedStudent);
     }
 
 
+    // The hostel type may need a call to hostel-service, so it is looked up before the transaction opens
     public StudentResponseDTO assignRoom(UUID studentId, AssignRoomDTO dto, String token) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + studentId));
-        if (student.getHostelId() != null) throw new IllegalArgumentException("Already hostel assigned");
-
-        Boolean isBoysHostel = null;
-        try {
-            String hostelUrl = "http://api-gateway:4004/hostels/" + dto.hostelId() + "/is-boys";
-            if (token == null || token.isBlank()) {
-                // If you expect caller always to forward token, treat as auth error:
-                throw new IllegalArgumentException("Missing authentication token for verifying hostel");
-            }
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(token);
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
+        Boolean isBoysHostel = hostelMetadataCache.isBoysHostel(dto.hostelId(), token);
+        AssignOutcome outcome = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(studentId)
+                    .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + studentId));
+            // a retried delivery of an assignment that already went through
+            if (isAssigned(student, dto.hostelId(), dto.roomId())) return new AssignOutcome(student, false);
+            if (student.getHostelId() != null) throw new IllegalArgumentException("Already hostel assigned");
+
+            String genderError = genderMismatch(student, isBoysHostel);
+            if (genderError != null) throw new IllegalArgumentException(genderError);
+
+            student.setRoomId(dto.roomId());
+            student.setHostelId(dto.hostelId());
+            studentRepository.save(student);
+            studentChangeService.record(StudentChangeType.ROOM_ASSIGNED, student);
+            return new AssignOutcome(student, true);
+        });
+        if (outcome.changed()) {
+            compositeCache.evict(studentId);
+            log.info("Student {} assigned hostel {} room {}", studentId, dto.hostelId(), dto.roomId());
+        }
+        return StudentMapper.toDTO(outcome.student());
+    }
 
-            ResponseEntity<Boolean> resp = restTemplate.exchange(hostelUrl, HttpMethod.GET, entity, Boolean.class);
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new IllegalArgumentException("Failed to verify hostel type: " + resp.getStatusCode());
-            }
-            isBoysHostel = resp.getBody();
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException("Hostel not found: " + dto.hostelId());
-        } catch (HttpClientErrorException e) {
-            // bubble up a clear message for caller
-            log.error("Error calling hostel service for hostel {}: {}", dto.hostelId(), e.getMessage());
-            throw new IllegalArgumentException("Failed to verify hostel type: " + e.getStatusCode() + " " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Error calling hostel service for hostel {}: {}", dto.hostelId(), e.getMessage());
-            throw new IllegalArgumentException("Failed to verify hostel type: " + e.getMessage());
+    private record AssignOutcome(Student student, boolean changed) {}
+
+    /**
+     * Assigns rooms of one hostel to many students. The students are loaded in one query and
+     * the hostel type is looked up once; students that are missing, already in a hostel or
+     * of the wrong gender are reported and skipped, the rest are saved together. A student
+     * already in exactly the requested room is reported as assigned, so hostel-service can
+     * safely resend a batch whose response it lost. The hostel type is looked up before the
+     * transaction opens and caches are evicted after it commits.
+     */
+    public BulkAssignRoomResultDTO assignRooms(BulkAssignRoomDTO dto, String token) {
+        List<UUID> ids = dto.assignments().stream().map(RoomAssignmentDTO::studentId).toList();
+        Boolean isBoysHostel = hostelMetadataCache.isBoysHostel(dto.hostelId(), token);
+        List<RoomAssignmentResultDTO> results = new ArrayList<>(ids.size());
+        List<Student> assigned = transactionTemplate.execute(status -> assignAll(dto, ids, isBoysHostel, results));
+
+        if (!assigned.isEmpty()) {
+            // roommates' composites list the previous occupants
+            compositeCache.evictByHostelId(dto.hostelId());
+            assigned.forEach(s -> compositeCache.evict(s.getId()));
         }
+        log.info("Assigned {} of {} students to rooms in hostel {}", assigned.size(), ids.size(), dto.hostelId());
+        return new BulkAssignRoomResultDTO(assigned.size(), results);
+    }
 
-        // enforce gender rules when we could determine hostel type
-        if (isBoysHostel != null && student.getGender() != null) {
-            String g = student.getGender().trim().toLowerCase();
-            if ((g.equals("male") || g.equals("m")) && !isBoysHostel) {
-                throw new IllegalArgumentException("Cannot assign male student to a girls hostel");
+    // Saves the valid assignments of the batch and fills in a result per entry; returns the students saved
+    private List<Student> assignAll(BulkAssignRoomDTO dto, List<UUID> ids, Boolean isBoysHostel,
+                                    List<RoomAssignmentResultDTO> results) {
+        Map<UUID, Student> students = new HashMap<>();
+        studentRepository.findAllById(ids).forEach(s -> students.put(s.getId(), s));
+
+        List<Student> assigned = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (RoomAssignmentDTO assignment : dto.assignments()) {
+            Student student = students.get(assignment.studentId());
+            String error;
+            if (!seen.add(assignment.studentId())) {
+                error = "Student appears more than once in the batch";
+            } else if (student == null) {
+                error = "Student not found with id " + assignment.studentId();
+            } else if (isAssigned(student, dto.hostelId(), assignment.roomId())) {
+                // already done; nothing to save or record again
+                results.add(new RoomAssignmentResultDTO(assignment.studentId(), assignment.roomId(), null));
+                continue;
+            } else if (student.getHostelId() != null) {
+                error = "Already hostel assigned";
+            } else {
+                error = genderMismatch(student, isBoysHostel);
             }
-            if ((g.equals("female") || g.equals("f")) && isBoysHostel) {
-                throw new IllegalArgumentException("Cannot assign female student to a boys hostel");
+            if (error == null) {
+                student.setRoomId(assignment.roomId());
+                student.setHostelId(dto.hostelId());
+                assigned.add(student);
             }
+            results.add(new RoomAssignmentResultDTO(assignment.studentId(), assignment.roomId(), error));
         }
 
-        student.setRoomId(dto.roomId());
-        student.setHostelId(dto.hostelId());
-        studentRepository.save(student);
-        log.info("Student {} assigned hostel {} room {}", studentId, dto.hostelId(), dto.roomId());
-        return StudentMapper.toDTO(student);
+        if (!assigned.isEmpty()) {
+            studentRepository.saveAll(assigned);
+            studentChangeService.recordAll(StudentChangeType.ROOM_ASSIGNED, assigned);
+        }
+        return assigned;
+    }
+
+    private static boolean isAssigned(Student student, UUID hostelId, UUID roomId) {
+        return roomId != null && roomId.equals(student.getRoomId()) && Objects.equals(hostelId, student.getHostelId());
+    }
+
+    // Null when the student may live in the hostel; unknown hostel type or gender is allowed
+    private static String genderMismatch(Student student, Boolean isBoysHostel) {
+        if (isBoysHostel == null || student.getGender() == null) return null;
+        String g = student.getGender().trim().toLowerCase();
+        if ((g.equals("male") || g.equals("m")) && !isBoysHostel) {
+            return "Cannot assign male student to a girls hostel";
+        }
+        if ((g.equals("female") || g.equals("f")) && isBoysHostel) {
+            return "Cannot assign female student to a boys hostel";
+        }
+        return null;
     }
 
 
     // New: fetch students belonging to a hostel
     public List<StudentResponseDTO> getStudentsByHostelId(UUID hostelId) {
         if (hostelId == null) return List.of();
-        List<Student> students = studentRepository.findByHostelId(hostelId.toString());
+        List<Student> students = studentRepository.findByHostelId(hostelId);
         return students.stream().map(StudentMapper::toDTO).toList();
     }
     // New: Fetch hostel object for a student (returns Map or null)
@@ -178,8 +359,8 @@ public class StudentService {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + studentId));
 
-        String hostelId = student.getHostelId();
-        if (hostelId == null || hostelId.isBlank()) {
+        UUID hostelId = student.getHostelId();
+        if (hostelId == null) {
             return null;
         }
 
@@ -208,37 +389,11 @@ public class StudentService {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + studentId));
 
-        Object rawRoom = student.getRoomId();
-        if (rawRoom == null) {
+        UUID roomId = student.getRoomId();
+        if (roomId == null) {
             return null;
         }
 
-        // Extract roomId from possible representations (string, JSON-string, or object)
-        String roomId = null;
-        try {
-            if (rawRoom instanceof String) {
-                String s = ((String) rawRoom).trim();
-                if (s.startsWith("{")) {
-                    // stored as JSON string
-                    Map<String, Object> parsed = objectMapper.readValue(s, new TypeReference<Map<String, Object>>(){});
-                    Object val = parsed.getOrDefault("roomId", parsed.get("id"));
-                    roomId = (val == null) ? null : String.valueOf(val);
-                } else {
-                    roomId = s;
-                }
-            } else {
-                // stored as an object-like structure
-                Map<String, Object> asMap = objectMapper.convertValue(rawRoom, new TypeReference<Map<String, Object>>(){});
-                Object val = asMap.getOrDefault("roomId", asMap.get("id"));
-                roomId = (val == null) ? null : String.valueOf(val);
-            }
-        } catch (Exception ex) {
-            log.warn("Failed to extract roomId for student {}: {}", studentId, ex.getMessage());
-            // fall through and return null below
-        }
-
-        if (roomId == null || roomId.isBlank()) return null;
-
         // Call the RoomController endpoint (single canonical source)
         //String url = "http://localhost:4001/hostels/rooms/" + roomId;
         String url = "http://api-gateway:4004/hostels/rooms/" + roomId;
@@ -260,19 +415,47 @@ public class StudentService {
     }
 
     public StudentResponseDTO leaveHostel(UUID studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + studentId));
-        student.setRoomId(null);
-        student.setHostelId(null);
-        studentRepository.save(student);
-        return StudentMapper.toDTO(student);
+        LeaveOutcome outcome = transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(studentId)
+                    .orElseThrow(() -> new StudentNotFoundException("Student not found with id " + studentId));
+            UUID previousHostelId = student.getHostelId();
+            student.setRoomId(null);
+            student.setHostelId(null);
+            studentRepository.save(student);
+            studentChangeService.record(StudentChangeType.LEFT_HOSTEL, student);
+            return new LeaveOutcome(student, previousHostelId);
+        });
+        compositeCache.evict(studentId);
+        hostelCacheNotifier.hostelChanged(outcome.previousHostelId());
+        return StudentMapper.toDTO(outcome.student());
     }
 
+    private record LeaveOutcome(Student student, UUID previousHostelId) {}
+
     public StudentMinDetailsDTO getStudentMinDetails(UUID id) {
-        Student student = studentRepository.findById(id).orElseThrow(() ->
+        StudentMinView view = studentRepository.findMinById(id).orElseThrow(() ->
                 new StudentNotFoundException("Student not found with id " + id));
+        return StudentMapper.toMinDetails(view);
+    }
 
+    public String getStudentName(UUID id) {
+        return studentRepository.findNameById(id).orElseThrow(() ->
+                new StudentNotFoundException("Student not found with id " + id));
+    }
 
-        return StudentMapper.toMinDetails(student);
+    /**
+     * Min details for many students in one IN query, keyed by id in request order.
+     * Unknown ids are left out of the result.
+     */
+    public Map<UUID, StudentMinDetailsDTO> getStudentMinDetails(Collection<UUID> ids) {
+        Map<UUID, StudentMinView> found = new HashMap<>();
+        studentRepository.findMinByIdIn(ids).forEach(v -> found.put(v.getId(), v));
+
+        Map<UUID, StudentMinDetailsDTO> result = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            StudentMinView view = found.get(id);
+            if (view != null) result.put(id, StudentMapper.toMinDetails(view));
+        }
+        return result;
     }
 }
@@ -0,0 +1,111 @@
+package db.migration.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Flyway migration V6: moves the legacy varchar hostel_id/room_id columns into the typed
+ * hostel_uuid/room_uuid columns and then drops them, so an old value can never be copied
+ * back over a student who has since left. Older rows may hold a JSON blob (e.g. a
+ * serialised room) instead of a plain id; those are normalised here, which is why this
+ * is Java rather than SQL. Flyway finds it on the db/migration/common location next to the
+ * SQL scripts; it runs once, in Flyway's transaction, and does nothing on databases that
+ * never had the columns.
+ */
+@Slf4j
+public class V6__typed_id_backfill extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private record Pending(UUID id, UUID hostelId, UUID roomId) {}
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        List<String> legacyColumns = jdbcTemplate.queryForList(
+                "select lower(column_name) from information_schema.columns " +
+                        "where lower(table_schema) = lower(current_schema()) and lower(table_name) = 'student' " +
+                        "and lower(column_name) in ('hostel_id', 'room_id')",
+                String.class);
+        if (legacyColumns.isEmpty()) {
+            return;
+        }
+        // a database may have kept only one of the two
+        String hostelColumn = legacyColumns.contains("hostel_id") ? "hostel_id" : "null";
+        String roomColumn = legacyColumns.contains("room_id") ? "room_id" : "null";
+
+        UUID lastId = new UUID(0L, 0L);
+        long updated = 0;
+        long unparseable = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, " + hostelColumn + " as hostel_id, " + roomColumn + " as room_id from student " +
+                            "where id > ? and (" + hostelColumn + " is not null or " + roomColumn + " is not null) " +
+                            "order by id limit ?",
+                    lastId, BATCH_SIZE);
+            if (rows.isEmpty()) break;
+
+            List<Pending> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                UUID id = (UUID) row.get("id");
+                String rawHostel = (String) row.get("hostel_id");
+                String rawRoom = (String) row.get("room_id");
+                UUID hostelId = toUuid(rawHostel, "hostelId");
+                UUID roomId = toUuid(rawRoom, "roomId");
+                if ((rawHostel != null && hostelId == null) || (rawRoom != null && roomId == null)) {
+                    unparseable++;
+                    log.warn("Student {} has unparseable hostel/room reference, dropping it: hostel_id={}, room_id={}",
+                            id, rawHostel, rawRoom);
+                }
+                batch.add(new Pending(id, hostelId, roomId));
+                lastId = id;
+            }
+
+            jdbcTemplate.batchUpdate(
+                    "update student set hostel_uuid = coalesce(hostel_uuid, ?), room_uuid = coalesce(room_uuid, ?) where id = ?",
+                    batch, batch.size(), (ps, p) -> {
+                        ps.setObject(1, p.hostelId());
+                        ps.setObject(2, p.roomId());
+                        ps.setObject(3, p.id());
+                    });
+            updated += batch.size();
+        }
+
+        for (String column : legacyColumns) {
+            jdbcTemplate.execute("alter table student drop column " + column);
+        }
+        log.info("Typed id backfill: normalised {} students ({} with unparseable values left null), dropped {}",
+                updated, unparseable, legacyColumns);
+    }
+
+    /**
+     * Accepts a plain UUID string or a JSON object holding it under {@code key} or "id".
+     * Returns null for blank or unparseable values.
+     */
+    public static UUID toUuid(String raw, String key) {
+        if (raw == null || raw.isBlank()) return null;
+        String value = raw.trim();
+        try {
+            if (value.startsWith("{")) {
+                Map<String, Object> parsed = JSON.readValue(value, new TypeReference<Map<String, Object>>() {});
+                Object val = parsed.getOrDefault(key, parsed.get("id"));
+                if (val == null) return null;
+                value = String.valueOf(val).trim();
+            }
+            return UUID.fromString(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Typed id columns from the hostel_id/room_id migration, for databases baselined before it
+alter table student add column if not exists hostel_uuid uuid;
+alter table student add column if not exists room_uuid uuid;
+
+-- Columns the listing, roster and assignment paths filter on
+create index if not exists idx_student_hostel_uuid on student (hostel_uuid);
+create index if not exists idx_student_room_uuid on student (room_uuid);
+create index if not exists idx_student_created_at_id on student (created_at, id);
@@ -0,0 +1,24 @@
+-- Outbox of student changes, written in the same transaction as the change itself.
+-- The identity id is the feed cursor for GET /students/changes and for webhook subscribers.
+create table if not exists student_change_event (
+    id bigint generated by default as identity primary key,
+    student_id uuid not null,
+    change_type varchar(32) not null,
+    payload varchar,
+    created_at timestamp not null
+);
+
+create index if not exists idx_student_change_event_created_at on student_change_event (created_at);
+
+-- Webhook subscribers; last_event_id is the last change delivered with a 2xx response
+create table if not exists student_change_subscription (
+    id uuid primary key,
+    url varchar(2048) not null,
+    secret varchar(255),
+    last_event_id bigint not null default 0,
+    failures integer not null default 0,
+    last_error varchar(1024),
+    next_attempt_at timestamp,
+    created_at timestamp,
+    updated_at timestamp
+);
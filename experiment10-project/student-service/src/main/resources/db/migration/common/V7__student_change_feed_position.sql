@@ -0,0 +1,9 @@
+-- Feed cursor in commit order. Identity ids are taken at insert time, so a transaction that
+-- commits late can carry an id below changes readers have already passed; positions are
+-- only handed out by StudentChangeSequencer to committed rows, so they never land behind a cursor.
+alter table student_change_event add column if not exists feed_position bigint;
+
+-- Everything written so far has committed; keeping id as the position leaves existing cursors valid
+update student_change_event set feed_position = id where feed_position is null;
+
+create unique index if not exists uq_student_change_event_feed_position on student_change_event (feed_position);
@@ -0,0 +1,2 @@
+-- Fails if the table already holds emails differing only by case; those must be merged first
+create unique index if not exists ux_student_email_lower on student (lower(email));
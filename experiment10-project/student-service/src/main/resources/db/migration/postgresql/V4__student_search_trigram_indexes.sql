@@ -0,0 +1,7 @@
+-- Trigram GIN indexes behind GET /students/search. They serve prefix and
+-- infix LIKE as well as the similarity operators (%, <%).
+create extension if not exists pg_trgm;
+
+create index if not exists idx_student_name_trgm on student using gin (lower(name) gin_trgm_ops);
+create index if not exists idx_student_uid_trgm on student using gin (lower(uid) gin_trgm_ops);
+create index if not exists idx_student_email_trgm on student using gin (lower(email) gin_trgm_ops);
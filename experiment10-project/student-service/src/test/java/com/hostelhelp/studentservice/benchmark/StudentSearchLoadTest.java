@@ -0,0 +1,85 @@
+package com.hostelhelp.studentservice.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for GET /students/search against a running student-service loaded with
+ * src/test/resources/benchmark/students-100k.sql. Skipped unless a target is given:
+ *
+ *   mvn test -Dtest=StudentSearchLoadTest \
+ *       -Dsearch.benchmark.url=http://localhost:4000 -Dsearch.benchmark.token=<admin jwt>
+ *
+ * Mixes exact uid, prefix, infix and misspelt queries and fails if p95 exceeds 20 ms.
+ */
+@EnabledIfSystemProperty(named = "search.benchmark.url", matches = ".+")
+class StudentSearchLoadTest {
+
+    private static final String[] QUERIES = {
+            "22BCS000417", "bench4242@example.com", "aar", "sharma", "kavya", "kav", "mukherj",
+            "chaterjee", "deshpnde", "ananya ban", "23bcs0012", "riya s", "ishan", "malhotr"
+    };
+    private static final int WARMUP = 200;
+    private static final int REQUESTS = 2000;
+    private static final int CONCURRENCY = 8;
+
+    @Test
+    void searchStaysUnderTwentyMillisecondsAtP95() throws Exception {
+        String baseUrl = System.getProperty("search.benchmark.url");
+        String token = System.getProperty("search.benchmark.token", "");
+        HttpClient client = HttpClient.newHttpClient();
+
+        for (int i = 0; i < WARMUP; i++) {
+            send(client, baseUrl, token, QUERIES[i % QUERIES.length]);
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+        try (ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                String q = QUERIES[i % QUERIES.length];
+                futures.add(pool.submit(() -> {
+                    long start = System.nanoTime();
+                    int status = send(client, baseUrl, token, q);
+                    latencies.add((System.nanoTime() - start) / 1_000);
+                    assertEquals(200, status, "search for '" + q + "'");
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = sorted.get(sorted.size() / 2);
+        long p95 = sorted.get((int) (sorted.size() * 0.95));
+        long p99 = sorted.get((int) (sorted.size() * 0.99));
+        System.out.printf("search latency over %d requests: p50=%.1fms p95=%.1fms p99=%.1fms%n",
+                sorted.size(), p50 / 1000.0, p95 / 1000.0, p99 / 1000.0);
+        assertTrue(p95 < 20_000, "p95 " + p95 / 1000.0 + " ms exceeds 20 ms");
+    }
+
+    private static int send(HttpClient client, String baseUrl, String token, String q) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        baseUrl + "/students/search?limit=20&q=" + URLEncoder.encode(q, StandardCharsets.UTF_8)))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
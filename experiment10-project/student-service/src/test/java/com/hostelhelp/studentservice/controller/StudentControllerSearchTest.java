@@ -0,0 +1,41 @@
+package com.hostelhelp.studentservice.controller;
+
+import com.hostelhelp.studentservice.dto.StudentSearchResultDTO;
+import com.hostelhelp.studentservice.service.StudentExportService;
+import com.hostelhelp.studentservice.service.StudentImportService;
+import com.hostelhelp.studentservice.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StudentControllerSearchTest {
+
+    private final StudentService studentService = mock(StudentService.class);
+    private final StudentController controller = new StudentController(studentService,
+            mock(StudentExportService.class), mock(StudentImportService.class));
+
+    @Test
+    void blankQueryIsRejected() {
+        ResponseEntity<?> response = controller.searchStudents("   ", null, 0, 20);
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(Map.of("q", "Search query must not be blank"), response.getBody());
+        verifyNoInteractions(studentService);
+    }
+
+    @Test
+    void queryIsPassedToTheService() {
+        StudentSearchResultDTO result = new StudentSearchResultDTO(List.of(), null);
+        when(studentService.searchStudents("ana", null, 20, 10)).thenReturn(result);
+
+        ResponseEntity<?> response = controller.searchStudents("ana", null, 20, 10);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(result, response.getBody());
+    }
+}
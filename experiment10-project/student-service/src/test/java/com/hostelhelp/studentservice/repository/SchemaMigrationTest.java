@@ -0,0 +1,59 @@
+package com.hostelhelp.studentservice.repository;
+
+import com.hostelhelp.studentservice.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on the embedded H2 database and checks that the hot
+ * lookups are planned as index scans.
+ */
+@DataJpaTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private String plan(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args).toLowerCase();
+    }
+
+    @Test
+    void hostelAndRoomLookupsUseIndexes() {
+        assertTrue(plan("select id from student where hostel_uuid = ?", UUID.randomUUID())
+                .contains("idx_student_hostel_uuid"));
+        assertTrue(plan("select id from student where room_uuid = ?", UUID.randomUUID())
+                .contains("idx_student_room_uuid"));
+    }
+
+    @Test
+    void emailIsUniqueIgnoringCase() {
+        studentRepository.saveAndFlush(student("Asha@Example.com", "UID1"));
+        assertTrue(studentRepository.existsByEmail("asha@example.com"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> studentRepository.saveAndFlush(student("asha@example.com", "UID2")));
+    }
+
+    private Student student(String email, String uid) {
+        return Student.builder()
+                .name("Asha")
+                .email(email)
+                .password("x")
+                .graduationYear(2027)
+                .uid(uid)
+                .address("addr")
+                .gender("Female")
+                .phone("123")
+                .build();
+    }
+}
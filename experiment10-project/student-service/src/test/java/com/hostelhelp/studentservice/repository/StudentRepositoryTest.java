@@ -0,0 +1,46 @@
+package com.hostelhelp.studentservice.repository;
+
+import com.hostelhelp.studentservice.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class StudentRepositoryTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Student save(int i) {
+        return studentRepository.save(Student.builder()
+                .name("Student " + i)
+                .email("s" + i + "@example.com")
+                .password("x")
+                .graduationYear(2027)
+                .uid("UID" + i)
+                .address("addr")
+                .gender("Male")
+                .phone("98765" + i)
+                .build());
+    }
+
+    @Test
+    void minProjectionsLoadRequestedStudentsOnly() {
+        Student a = save(1);
+        Student b = save(2);
+        save(3);
+
+        List<StudentMinView> views = studentRepository.findMinByIdIn(List.of(a.getId(), b.getId(), UUID.randomUUID()));
+        assertEquals(2, views.size());
+        assertTrue(views.stream().anyMatch(v -> v.getId().equals(a.getId()) && "UID1".equals(v.getUid())));
+
+        assertEquals("Student 2", studentRepository.findNameById(b.getId()).orElseThrow());
+        assertEquals("s1@example.com", studentRepository.findMinById(a.getId()).orElseThrow().getEmail());
+        assertTrue(studentRepository.findMinById(UUID.randomUUID()).isEmpty());
+    }
+}
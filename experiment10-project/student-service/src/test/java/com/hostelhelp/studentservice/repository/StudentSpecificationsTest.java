@@ -0,0 +1,74 @@
+package com.hostelhelp.studentservice.repository;
+
+import com.hostelhelp.studentservice.dto.StudentFilterDTO;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.service.StudentCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class StudentSpecificationsTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final UUID hostelId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 25; i++) {
+            studentRepository.save(Student.builder()
+                    .name("Student " + (i % 5)) // duplicate sort keys force the id tie-breaker
+                    .email("s" + i + "@example.com")
+                    .password("x")
+                    .graduationYear(i % 2 == 0 ? 2026 : 2027)
+                    .uid("UID" + i)
+                    .address("addr")
+                    .gender(i % 3 == 0 ? "Female" : "Male")
+                    .phone("123")
+                    .hostelId(i < 10 ? hostelId : null)
+                    .build());
+        }
+    }
+
+    @Test
+    void walksEveryRowExactlyOnceAcrossPages() {
+        Specification<Student> filtered = StudentSpecifications.matches(new StudentFilterDTO(null, null, null, null));
+        Sort order = Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id"));
+
+        Set<UUID> seen = new HashSet<>();
+        List<Student> all = new ArrayList<>();
+        StudentCursor cursor = null;
+        do {
+            Specification<Student> spec = cursor == null ? filtered : filtered.and(StudentSpecifications.after(cursor));
+            List<Student> page = studentRepository.findBy(spec, q -> q.sortBy(order).limit(4).all());
+            if (page.isEmpty()) break;
+            page.forEach(s -> assertTrue(seen.add(s.getId()), "row returned twice"));
+            all.addAll(page);
+            cursor = StudentCursor.decode(StudentCursor.after(page.get(page.size() - 1),
+                    StudentCursor.SortField.name, Sort.Direction.DESC).encode());
+        } while (true);
+
+        assertEquals(25, all.size());
+    }
+
+    @Test
+    void filtersCombine() {
+        assertEquals(15, studentRepository.count(StudentSpecifications.matches(new StudentFilterDTO(null, null, null, true))));
+        assertEquals(10, studentRepository.count(StudentSpecifications.matches(new StudentFilterDTO(null, null, hostelId, null))));
+        assertEquals(9, studentRepository.count(StudentSpecifications.matches(new StudentFilterDTO(null, "female", null, null))));
+        assertEquals(13, studentRepository.count(StudentSpecifications.matches(new StudentFilterDTO(2026, null, null, null))));
+    }
+}
@@ -0,0 +1,97 @@
+package com.hostelhelp.studentservice.repository;
+
+import db.migration.common.V6__typed_id_backfill;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Runs without the test transaction: the migration alters the table, which H2 commits anyway
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TypedIdBackfillTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID id = UUID.randomUUID();
+
+    private void migrate() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V6__typed_id_backfill().migrate(context);
+        }
+    }
+
+    private UUID insertStudent(String hostelId, String roomId) {
+        UUID studentId = UUID.randomUUID();
+        String key = studentId.toString().substring(0, 8);
+        jdbcTemplate.update("insert into student (id, name, email, password, graduation_year, uid, address, gender, phone, " +
+                        "hostel_id, room_id) values (?, 'Asha', ?, 'x', 2027, ?, 'addr', 'Female', '98765', ?, ?)",
+                studentId, key + "@example.com", "UID" + key, hostelId, roomId);
+        return studentId;
+    }
+
+    @Test
+    void flywayPicksItUpFromTheMigrationLocation() {
+        assertEquals("JDBC", jdbcTemplate.queryForObject(
+                "select \"type\" from \"flyway_schema_history\" where \"version\" = '6' and \"success\"",
+                String.class));
+    }
+
+    @Test
+    void legacyColumnsAreCopiedOnceAndDropped() throws Exception {
+        jdbcTemplate.execute("alter table student add column hostel_id varchar(255)");
+        jdbcTemplate.execute("alter table student add column room_id varchar(255)");
+        UUID hostelId = UUID.randomUUID();
+        UUID plain = insertStudent(hostelId.toString(), "{\"roomId\":\"" + id + "\",\"roomNumber\":101}");
+        UUID broken = insertStudent("hostel 7", null);
+
+        migrate();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("select hostel_uuid, room_uuid from student where id = ?", plain);
+        assertEquals(hostelId, row.get("hostel_uuid"));
+        assertEquals(id, row.get("room_uuid"));
+        assertNull(jdbcTemplate.queryForObject("select hostel_uuid from student where id = ?", UUID.class, broken));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from information_schema.columns " +
+                "where lower(table_name) = 'student' and lower(column_name) in ('hostel_id', 'room_id')", Integer.class));
+
+        // a student who leaves keeps a null hostel when the migration runs again
+        jdbcTemplate.update("update student set hostel_uuid = null, room_uuid = null where id = ?", plain);
+        migrate();
+        assertNull(jdbcTemplate.queryForObject("select hostel_uuid from student where id = ?", UUID.class, plain));
+    }
+
+    @Test
+    void plainIdsAreParsed() {
+        assertEquals(id, V6__typed_id_backfill.toUuid(" " + id + " ", "roomId"));
+    }
+
+    @Test
+    void legacyJsonBlobsAreNormalised() {
+        assertEquals(id, V6__typed_id_backfill.toUuid("{\"roomId\":\"" + id + "\",\"roomNumber\":101}", "roomId"));
+        assertEquals(id, V6__typed_id_backfill.toUuid("{\"id\":\"" + id + "\"}", "roomId"));
+    }
+
+    @Test
+    void unparseableValuesBecomeNull() {
+        assertNull(V6__typed_id_backfill.toUuid("101", "roomId"));
+        assertNull(V6__typed_id_backfill.toUuid("{\"roomNumber\":101}", "roomId"));
+        assertNull(V6__typed_id_backfill.toUuid("  ", "hostelId"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.hostelhelp.studentservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HostelMetadataCacheTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final HostelMetadataCache cache =
+            new HostelMetadataCache(restTemplate, Executors.newVirtualThreadPerTaskExecutor(), 100, 60, 45);
+    private final UUID hostel = UUID.randomUUID();
+
+    @Test
+    void servesRepeatLookupsFromCacheUntilEvicted() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Boolean.class)))
+                .thenReturn(ResponseEntity.ok(true));
+
+        assertTrue(cache.isBoysHostel(hostel, "token"));
+        assertTrue(cache.isBoysHostel(hostel, "token"));
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Boolean.class));
+
+        cache.evict(hostel);
+        assertTrue(cache.isBoysHostel(hostel, "token"));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Boolean.class));
+    }
+
+    @Test
+    void missWithoutTokenIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> cache.isBoysHostel(UUID.randomUUID(), null));
+    }
+}
@@ -0,0 +1,114 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.dto.StudentChangeDTO;
+import com.hostelhelp.studentservice.dto.StudentChangePageDTO;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.model.StudentChangeType;
+import com.hostelhelp.studentservice.repository.StudentChangeEventRepository;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({StudentChangeService.class, StudentChangeSequencer.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class StudentChangeServiceTest {
+
+    @Autowired
+    private StudentChangeService studentChangeService;
+
+    @Autowired
+    private StudentChangeSequencer studentChangeSequencer;
+
+    @Autowired
+    private StudentChangeEventRepository eventRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Student save() {
+        return studentRepository.save(Student.builder()
+                .name("Asha")
+                .email("asha@example.com")
+                .password("x")
+                .graduationYear(2027)
+                .uid("UID1")
+                .address("addr")
+                .gender("Female")
+                .phone("9876543210")
+                .build());
+    }
+
+    @Test
+    void feedPagesThroughRecordedChangesInOrder() {
+        Student student = save();
+        studentChangeService.record(StudentChangeType.CREATED, student);
+        student.setHostelId(UUID.randomUUID());
+        studentChangeService.record(StudentChangeType.ROOM_ASSIGNED, student);
+        studentChangeService.record(StudentChangeType.DELETED, student);
+        assertTrue(studentChangeService.getChanges(0, 10).items().isEmpty());
+        assertEquals(3, studentChangeSequencer.sequence());
+
+        StudentChangePageDTO first = studentChangeService.getChanges(0, 2);
+        assertEquals(2, first.items().size());
+        assertEquals(StudentChangeType.CREATED, first.items().get(0).type());
+        assertEquals("asha@example.com", first.items().get(0).student().email());
+        assertEquals(student.getHostelId(), first.items().get(1).student().hostelId());
+
+        StudentChangePageDTO second = studentChangeService.getChanges(first.nextCursor(), 2);
+        assertEquals(1, second.items().size());
+        assertEquals(StudentChangeType.DELETED, second.items().get(0).type());
+        assertNull(second.items().get(0).student());
+
+        StudentChangePageDTO empty = studentChangeService.getChanges(second.nextCursor(), 2);
+        assertTrue(empty.items().isEmpty());
+        assertEquals(second.nextCursor(), empty.nextCursor());
+    }
+
+    @Test
+    void changeThatCommitsLateLandsAfterTheCursor() {
+        Student student = save();
+        studentChangeService.record(StudentChangeType.CREATED, student);
+        studentChangeService.record(StudentChangeType.UPDATED, student);
+        List<Long> ids = eventRepository.findUnsequencedIds(Limit.of(10));
+        // the UPDATED writer commits first and is read before the CREATED one commits
+        eventRepository.assignFeedPosition(ids.get(1), 1);
+        StudentChangePageDTO seen = studentChangeService.getChanges(0, 10);
+        assertEquals(List.of(StudentChangeType.UPDATED), seen.items().stream().map(StudentChangeDTO::type).toList());
+
+        assertEquals(1, studentChangeSequencer.sequence());
+        StudentChangePageDTO late = studentChangeService.getChanges(seen.nextCursor(), 10);
+        assertEquals(List.of(StudentChangeType.CREATED), late.items().stream().map(StudentChangeDTO::type).toList());
+        assertEquals(2, late.nextCursor());
+        assertEquals(0, studentChangeSequencer.sequence());
+    }
+
+    @Test
+    void positionIsOnlyAssignedOnce() {
+        Student student = save();
+        studentChangeService.record(StudentChangeType.CREATED, student);
+        long id = eventRepository.findUnsequencedIds(Limit.of(1)).get(0);
+
+        assertEquals(1, eventRepository.assignFeedPosition(id, 1));
+        // a second sequencer that read the row before the first committed must not renumber it
+        assertEquals(0, eventRepository.assignFeedPosition(id, 2));
+        assertEquals(1, studentChangeService.getChanges(0, 10).nextCursor());
+    }
+
+    @Test
+    void webhookSignatureIsHexHmacSha256() throws Exception {
+        // RFC 4231 test case 2
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                StudentChangeWebhookDispatcher.sign("Jefe", "what do ya want for nothing?"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.dto.HostelResponseDTO;
+import com.hostelhelp.studentservice.dto.RoomResponseDTO;
+import com.hostelhelp.studentservice.dto.StudentCompositeDTO;
+import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCompositeCacheTest {
+
+    private final StudentCompositeCache cache = new StudentCompositeCache(100, 10);
+
+    private StudentCompositeDTO composite(UUID studentId, UUID hostelId, UUID roomId) {
+        StudentResponseDTO student = new StudentResponseDTO(studentId, "Sam", "sam@example.com", 2027, "UID",
+                "UP", null, "Male", "123", hostelId, roomId, null, null);
+        RoomResponseDTO room = new RoomResponseDTO(roomId, hostelId, 101, 2, List.of(studentId), 1, true);
+        HostelResponseDTO hostel = new HostelResponseDTO(hostelId, "H1", true, 10, 1000, true, null, null);
+        return new StudentCompositeDTO(student, room, hostel);
+    }
+
+    @Test
+    void evictByRoomOnlyDropsOccupantsOfThatRoom() {
+        UUID hostel = UUID.randomUUID();
+        UUID roomA = UUID.randomUUID();
+        UUID roomB = UUID.randomUUID();
+        UUID s1 = UUID.randomUUID();
+        UUID s2 = UUID.randomUUID();
+        cache.put(s1, composite(s1, hostel, roomA), cache.epoch());
+        cache.put(s2, composite(s2, hostel, roomB), cache.epoch());
+
+        assertEquals(1, cache.evictByRoomId(roomA));
+        assertNull(cache.get(s1));
+        assertNotNull(cache.get(s2));
+
+        assertEquals(1, cache.evictByHostelId(hostel));
+        assertNull(cache.get(s2));
+    }
+
+    @Test
+    void putIsSkippedWhenInvalidatedWhileBuilding() {
+        UUID s1 = UUID.randomUUID();
+        long epoch = cache.epoch();
+        cache.evict(UUID.randomUUID());
+        cache.put(s1, composite(s1, UUID.randomUUID(), UUID.randomUUID()), epoch);
+        assertNull(cache.get(s1));
+    }
+
+    @Test
+    void putRacingAnEvictionNeverOutlivesIt() throws Exception {
+        UUID hostel = UUID.randomUUID();
+        UUID room = UUID.randomUUID();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                UUID s1 = UUID.randomUUID();
+                long epoch = cache.epoch();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> put = pool.submit(() -> {
+                    start.await();
+                    cache.put(s1, composite(s1, hostel, room), epoch);
+                    return null;
+                });
+                Future<?> evict = pool.submit(() -> {
+                    start.await();
+                    return cache.evictByRoomId(room);
+                });
+                start.countDown();
+                put.get();
+                evict.get();
+                assertNull(cache.get(s1));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void partialCompositeIsNotComplete() {
+        UUID s1 = UUID.randomUUID();
+        StudentCompositeDTO full = composite(s1, UUID.randomUUID(), UUID.randomUUID());
+        assertTrue(cache.isComplete(full));
+        assertFalse(cache.isComplete(new StudentCompositeDTO(full.student(), null, full.hostel())));
+    }
+}
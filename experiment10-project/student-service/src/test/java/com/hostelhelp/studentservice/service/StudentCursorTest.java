@@ -0,0 +1,43 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.exception.InvalidCursorException;
+import com.hostelhelp.studentservice.exception.InvalidSortException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCursorTest {
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void unknownSortFieldOrDirectionIsASortError() {
+        assertEquals(StudentCursor.SortField.name, StudentCursor.SortField.parse("NAME"));
+        assertEquals(Sort.Direction.DESC, StudentCursor.parseDirection("desc"));
+        assertEquals(Sort.Direction.ASC, StudentCursor.parseDirection(null));
+
+        assertThrows(InvalidSortException.class, () -> StudentCursor.SortField.parse("password"));
+        assertThrows(InvalidSortException.class, () -> StudentCursor.parseDirection("sideways"));
+    }
+
+    @Test
+    void cursorRoundTripsAndMalformedOnesAreCursorErrors() {
+        UUID id = UUID.randomUUID();
+        StudentCursor cursor = new StudentCursor(StudentCursor.SortField.createdAt, Sort.Direction.DESC,
+                LocalDateTime.of(2026, 1, 2, 3, 4, 5), id);
+        assertEquals(cursor, StudentCursor.decode(cursor.encode()));
+
+        assertThrows(InvalidCursorException.class, () -> StudentCursor.decode("not base64!"));
+        // a cursor naming an unknown field is a broken cursor, not a bad sort parameter
+        assertThrows(InvalidCursorException.class, () -> StudentCursor.decode(token("password|ASC|" + id + "|x")));
+        assertThrows(InvalidCursorException.class, () -> StudentCursor.decode(token("name|UP|" + id + "|x")));
+    }
+}
@@ -0,0 +1,110 @@
+package com.hostelhelp.studentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class StudentExportServiceTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private StudentExportService service() {
+        return new StudentExportService(studentRepository, entityManager,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private Student save(String name, String address) {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        return studentRepository.save(Student.builder()
+                .name(name)
+                .email(key + "@example.com")
+                .password("x")
+                .graduationYear(2027)
+                .uid("UID" + key)
+                .address(address)
+                .gender("Female")
+                .phone("9876500000")
+                .build());
+    }
+
+    private String export(StudentExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service().export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csvHasTheDocumentedColumns() throws Exception {
+        Student plain = save("Asha Rao", "12 MG Road");
+
+        String csv = export(StudentExportService.Format.CSV);
+
+        assertTrue(csv.startsWith("id,name,email,graduationYear,uid,address,dateOfBirth,gender,phone,"
+                + "hostelId,roomId,createdAt,updatedAt\n"));
+        String row = csv.lines().filter(l -> l.startsWith(plain.getId().toString())).findFirst().orElseThrow();
+        String[] fields = row.split(",", -1);
+        assertEquals(13, fields.length);
+        assertEquals("Asha Rao", fields[1]);
+        assertEquals(plain.getEmail(), fields[2]);
+        assertEquals("2027", fields[3]);
+        assertEquals("", fields[6], "null date of birth is an empty field");
+        assertEquals("Female", fields[7]);
+        assertEquals("", fields[9], "no hostel yet");
+    }
+
+    @Test
+    void csvQuotesCommasQuotesAndLineBreaks() throws Exception {
+        Student tricky = save("Rao, \"Ravi\"", "Flat 4\nMG Road");
+
+        String csv = export(StudentExportService.Format.CSV);
+
+        assertTrue(csv.contains(tricky.getId() + ",\"Rao, \"\"Ravi\"\"\"," + tricky.getEmail()
+                + ",2027," + tricky.getUid() + ",\"Flat 4\nMG Road\","));
+    }
+
+    @Test
+    void csvReadsBackRecordByRecordThroughTheImportParser() throws Exception {
+        Student tricky = save("Rao, \"Ravi\"", "Flat 4\r\nMG Road");
+        Student plain = save("Asha Rao", "12 MG Road");
+
+        List<List<String>> records = StudentImportServiceTest.parseCsv(export(StudentExportService.Format.CSV));
+
+        assertTrue(records.stream().allMatch(r -> r.size() == 13));
+        List<String> trickyRow = records.stream().filter(r -> r.get(0).equals(tricky.getId().toString()))
+                .findFirst().orElseThrow();
+        assertEquals(List.of("Rao, \"Ravi\"", tricky.getEmail(), "2027", tricky.getUid(), "Flat 4\r\nMG Road"),
+                trickyRow.subList(1, 6));
+        // the row after the line breaks still starts at its own id
+        assertTrue(records.stream().anyMatch(r -> r.get(0).equals(plain.getId().toString())
+                && r.get(5).equals("12 MG Road")));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        Student student = save("Asha Rao", "12 MG Road");
+
+        String ndjson = export(StudentExportService.Format.NDJSON);
+
+        String line = ndjson.lines().filter(l -> l.contains(student.getId().toString())).findFirst().orElseThrow();
+        assertTrue(line.startsWith("{") && line.endsWith("}"));
+        assertTrue(line.contains("\"email\":\"" + student.getEmail() + "\""));
+        assertFalse(line.contains("password"));
+    }
+}
@@ -0,0 +1,232 @@
+package com.hostelhelp.studentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostelhelp.studentservice.dto.StudentImportErrorDTO;
+import com.hostelhelp.studentservice.dto.StudentImportReportDTO;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Runs without the test transaction: a failed batch insert must not doom the row-by-row retry
+@DataJpaTest
+@Import(StudentChangeService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentImportServiceTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentChangeService studentChangeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final ExecutorService hashExecutor = Executors.newFixedThreadPool(2);
+    // keeps emails and uids apart from other tests sharing the database
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void tearDown() {
+        hashExecutor.close();
+    }
+
+    private StudentImportService service(int chunkSize) {
+        StudentImportService service = new StudentImportService(studentRepository, entityManager, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), restTemplate, hashExecutor,
+                studentChangeService, transactionManager);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "authServiceBaseUrl", "http://auth");
+        return service;
+    }
+
+    private String row(String email, String uid, String name) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"secret123\","
+                + "\"graduationYear\":2027,\"uid\":\"" + uid + "\",\"address\":\"12 MG Road\","
+                + "\"dateOfBirth\":\"2004-05-06\",\"gender\":\"Female\",\"phone\":\"9876500000\"}";
+    }
+
+    private String row(int i) {
+        return row(run + i + "@example.com", run + "-" + i, "Student " + i);
+    }
+
+    private StudentImportReportDTO importNdjson(StudentImportService service, String... lines) throws Exception {
+        return service.importStudents(StudentExportService.Format.NDJSON,
+                new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private StudentImportErrorDTO errorOn(StudentImportReportDTO report, long line) {
+        return report.errors().stream().filter(e -> e.row() == line).findFirst().orElseThrow();
+    }
+
+    private boolean stored(int i) {
+        return studentRepository.findByEmail(run + i + "@example.com").isPresent();
+    }
+
+    static List<List<String>> parseCsv(String csv) throws Exception {
+        StudentImportService.CsvRecordReader reader =
+                new StudentImportService.CsvRecordReader(new BufferedReader(new StringReader(csv)));
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record; (record = reader.next()) != null; ) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void csvRecordsSplitPlainFields() throws Exception {
+        assertEquals(List.of(List.of("Asha", "asha@uni.edu", "2027", ""), List.of("Ravi")),
+                parseCsv("Asha,asha@uni.edu,2027,\r\nRavi"));
+    }
+
+    @Test
+    void csvRecordsHandleQuotedCommasEscapedQuotesAndLineBreaks() throws Exception {
+        assertEquals(List.of(List.of("12, MG Road", "said \"hi\"", "Flat 4\nMG Road"), List.of("next")),
+                parseCsv("\"12, MG Road\",\"said \"\"hi\"\"\",\"Flat 4\nMG Road\"\nnext\n"));
+    }
+
+    @Test
+    void csvRowWithAQuotedLineBreakIsOneStudent() throws Exception {
+        String csv = "name,email,password,graduationYear,uid,address,dateOfBirth,gender,phone\n"
+                + "Asha," + run + "1@example.com,secret123,2027," + run + "-1,\"Flat 4\nMG Road\",2004-05-06,Female,98765\n"
+                + "Ravi,not-an-email,secret123,2027," + run + "-2,addr,2004-05-06,Male,98766\n";
+
+        StudentImportReportDTO report = service(10).importStudents(StudentExportService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.received());
+        assertEquals(1, report.imported());
+        assertEquals("Flat 4\nMG Road", studentRepository.findByEmail(run + "1@example.com").orElseThrow().getAddress());
+        // the second row starts on line 4 since the first one spans two
+        assertTrue(errorOn(report, 4).errors().containsKey("email"));
+    }
+
+    @Test
+    void importsCsvAndRegistersLoginsInOneCall() throws Exception {
+        String csv = "name,email,password,graduationYear,uid,address,dateOfBirth,gender,phone\n"
+                + "\"Rao, Asha\"," + run + "1@example.com,secret123,2027," + run + "-1,\"12, MG Road\",2004-05-06,Female,98765\n"
+                + "Ravi," + run + "2@example.com,secret123,2027," + run + "-2,addr,2004-05-06,Male,98766\n";
+
+        StudentImportReportDTO report = service(10).importStudents(StudentExportService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.received());
+        assertEquals(2, report.imported());
+        assertTrue(report.errors().isEmpty());
+        assertEquals("Rao, Asha", studentRepository.findByEmail(run + "1@example.com").orElseThrow().getName());
+        verify(restTemplate, times(1)).postForObject(eq("http://auth/auth/register/batch"),
+                argThat((List<?> users) -> users.size() == 2), eq(Map.class));
+    }
+
+    @Test
+    void invalidRowsAreReportedAndSkipped() throws Exception {
+        StudentImportReportDTO report = importNdjson(service(10),
+                row(1),
+                "{\"name\":\"No email\"}",
+                "not json");
+
+        assertEquals(3, report.received());
+        assertEquals(1, report.imported());
+        assertTrue(errorOn(report, 2).errors().containsKey("email"));
+        assertEquals("Could not parse row", errorOn(report, 3).errors().get("row"));
+        assertTrue(stored(1));
+    }
+
+    @Test
+    void duplicateEmailsInTheFileAreRejectedRegardlessOfCase() throws Exception {
+        StudentImportReportDTO report = importNdjson(service(10),
+                row(1),
+                row((run + "1@example.com").toUpperCase(), run + "-2", "Copy"),
+                row(run + "3@example.com", run + "-1", "Same uid"));
+
+        assertEquals(1, report.imported());
+        assertEquals("Duplicate email in file", errorOn(report, 2).errors().get("email"));
+        assertEquals("Duplicate UID in file", errorOn(report, 3).errors().get("uid"));
+    }
+
+    @Test
+    void emailsAlreadyStoredAreRejected() throws Exception {
+        importNdjson(service(10), row(1));
+
+        StudentImportReportDTO report = importNdjson(service(10),
+                row((run + "1@example.com").toUpperCase(), run + "-9", "Again"),
+                row(2));
+
+        assertEquals(1, report.imported());
+        assertEquals("Email already exists", errorOn(report, 1).errors().get("email"));
+        assertTrue(stored(2));
+    }
+
+    @Test
+    void failedBatchInsertFallsBackToSingleRows() throws Exception {
+        // passes validation but is too long for the name column, so only the database rejects it
+        String longName = "x".repeat(300);
+
+        StudentImportReportDTO report = importNdjson(service(10),
+                row(1),
+                row(run + "2@example.com", run + "-2", longName),
+                row(3));
+
+        assertEquals(2, report.imported());
+        assertEquals("Duplicate or invalid data", errorOn(report, 2).errors().get("database"));
+        assertTrue(stored(1));
+        assertFalse(stored(2));
+        assertTrue(stored(3));
+    }
+
+    @Test
+    void chunkWhoseLoginsFailIsRolledBackAndNotCounted() throws Exception {
+        when(restTemplate.postForObject(anyString(), any(), eq(Map.class)))
+                .thenThrow(new ResourceAccessException("auth down"))
+                .thenReturn(Map.of());
+
+        // chunks of two: the first chunk's registration fails, the second succeeds
+        StudentImportReportDTO report = importNdjson(service(2), row(1), row(2), row(3));
+
+        assertEquals(3, report.received());
+        assertEquals(1, report.imported());
+        assertEquals(2, report.errors().size());
+        assertTrue(errorOn(report, 1).errors().containsKey("auth"));
+        assertTrue(errorOn(report, 2).errors().containsKey("auth"));
+        assertFalse(stored(1));
+        assertFalse(stored(2));
+        assertTrue(stored(3));
+    }
+}
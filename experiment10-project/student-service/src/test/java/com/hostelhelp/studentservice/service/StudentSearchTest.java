@@ -0,0 +1,114 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.dto.StudentSearchResultDTO;
+import com.hostelhelp.studentservice.model.Student;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import com.hostelhelp.studentservice.repository.StudentSearchView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class StudentSearchTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final StudentRepository mockRepository = mock(StudentRepository.class);
+    private final StudentService studentService = new StudentService(mockRepository, mock(RestTemplate.class),
+            mock(StudentCompositeCache.class), mock(HostelMetadataCache.class), mock(HostelCacheNotifier.class),
+            mock(StudentChangeService.class), mock(TransactionTemplate.class));
+
+    private void save(int i, String name) {
+        studentRepository.saveAndFlush(Student.builder()
+                .name(name)
+                .email("s" + i + "@example.com")
+                .password("x")
+                .graduationYear(2027)
+                .uid("UID" + i)
+                .address("addr")
+                .gender("Male")
+                .phone("98765" + i)
+                .build());
+    }
+
+    private static StudentSearchView view(String name) {
+        StudentSearchView view = mock(StudentSearchView.class);
+        when(view.getId()).thenReturn(UUID.randomUUID());
+        when(view.getName()).thenReturn(name);
+        return view;
+    }
+
+    @Test
+    void escapeLikeEscapesWildcardsAndTheEscapeCharacter() {
+        assertEquals("50\\%", StudentService.escapeLike("50%"));
+        assertEquals("a\\_b", StudentService.escapeLike("a_b"));
+        assertEquals("c:\\\\tmp", StudentService.escapeLike("c:\\tmp"));
+        assertEquals("\\\\\\%", StudentService.escapeLike("\\%"));
+        assertEquals("plain", StudentService.escapeLike("plain"));
+    }
+
+    @Test
+    void escapedPatternsMatchWildcardsLiterally() {
+        save(1, "100% Cotton");
+        save(2, "1000 Cotton");
+        save(3, "Ana_Bell");
+        save(4, "AnaxBell");
+        save(5, "Back\\slash");
+        save(6, "Backxslash");
+
+        String sql = "select name from student where lower(name) like ? order by name";
+        assertEquals(List.of("100% Cotton"),
+                jdbcTemplate.queryForList(sql, String.class, StudentService.escapeLike("100%") + "%"));
+        assertEquals(List.of("Ana_Bell"),
+                jdbcTemplate.queryForList(sql, String.class, StudentService.escapeLike("ana_") + "%"));
+        assertEquals(List.of("Back\\slash"),
+                jdbcTemplate.queryForList(sql, String.class, StudentService.escapeLike("back\\") + "%"));
+    }
+
+    @Test
+    void searchPassesTrimmedLowerCasedEscapedPatterns() {
+        UUID hostelId = UUID.randomUUID();
+        when(mockRepository.search(anyString(), anyString(), anyString(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        studentService.searchStudents("  Ana_50% ", hostelId, 40, 20);
+
+        verify(mockRepository).search("ana_50%", "ana\\_50\\%%", "% ana\\_50\\%%", hostelId, 21, 40);
+    }
+
+    @Test
+    void searchPagesByOffsetAndCapsTheLimit() {
+        List<StudentSearchView> rows = IntStream.range(0, 6).mapToObj(i -> view("Student " + i)).toList();
+        when(mockRepository.search(anyString(), anyString(), anyString(), isNull(), eq(6), eq(10)))
+                .thenReturn(rows);
+        when(mockRepository.search(anyString(), anyString(), anyString(), isNull(), eq(6), eq(15)))
+                .thenReturn(rows.subList(0, 3));
+
+        StudentSearchResultDTO first = studentService.searchStudents("student", null, 10, 5);
+        assertEquals(5, first.items().size());
+        assertEquals(15, first.nextOffset());
+        assertEquals(0, first.items().get(0).score());
+
+        StudentSearchResultDTO last = studentService.searchStudents("student", null, 15, 5);
+        assertEquals(3, last.items().size());
+        assertNull(last.nextOffset());
+
+        studentService.searchStudents("student", null, -3, 10_000);
+        verify(mockRepository).search(anyString(), anyString(), anyString(), isNull(), eq(101), eq(0));
+    }
+}
@@ -0,0 +1,163 @@
+package com.hostelhelp.studentservice.service;
+
+import com.hostelhelp.studentservice.dto.AssignRoomDTO;
+import com.hostelhelp.studentservice.dto.BulkAssignRoomDTO;
+import com.hostelhelp.studentservice.dto.BulkAssignRoomResultDTO;
+import com.hostelhelp.studentservice.dto.RoomAssignmentDTO;
+import com.hostelhelp.studentservice.dto.StudentRequestDTO;
+import com.hostelhelp.studentservice.dto.StudentResponseDTO;
+import com.hostelhelp.studentservice.dto.UserDTO;
+import com.hostelhelp.studentservice.model.StudentChangeEvent;
+import com.hostelhelp.studentservice.model.StudentChangeType;
+import com.hostelhelp.studentservice.repository.StudentChangeEventRepository;
+import com.hostelhelp.studentservice.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Runs without the test transaction so writes commit like they do in production, before any
+// cache eviction or remote call that has to follow them
+@DataJpaTest
+@Import(StudentChangeService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentServiceWriteTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentChangeEventRepository eventRepository;
+
+    @Autowired
+    private StudentChangeService studentChangeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final StudentCompositeCache compositeCache = mock(StudentCompositeCache.class);
+    private final HostelMetadataCache hostelMetadataCache = mock(HostelMetadataCache.class);
+    // keeps emails and uids apart from other tests sharing the database
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    private StudentService service() {
+        return new StudentService(studentRepository, restTemplate, compositeCache,
+                hostelMetadataCache, mock(HostelCacheNotifier.class), studentChangeService,
+                transactionTemplate);
+    }
+
+    private StudentRequestDTO request(String name) {
+        return new StudentRequestDTO(name, run + "@example.com", "secret123", 2027, "UID-" + run,
+                "12 MG Road", LocalDate.of(2004, 5, 6), "Female", "9876500000");
+    }
+
+    private List<StudentChangeEvent> changesFor(UUID studentId) {
+        return eventRepository.findAll().stream().filter(e -> e.getStudentId().equals(studentId)).toList();
+    }
+
+    @Test
+    void registersTheLoginThenSavesTheStudentWithItsChange() {
+        StudentResponseDTO created = service().createStudent(request("Asha"));
+
+        UUID id = created.id();
+        assertTrue(studentRepository.existsById(id));
+        List<StudentChangeEvent> changes = changesFor(id);
+        assertEquals(1, changes.size());
+        assertEquals(StudentChangeType.CREATED, changes.get(0).getType());
+        verify(restTemplate).postForObject(eq("http://api-gateway:4004/auth/register"),
+                argThat((UserDTO u) -> u.email().equals(run + "@example.com") && !u.password().equals("secret123")),
+                eq(Void.class));
+    }
+
+    @Test
+    void nothingIsSavedWhenAuthServiceFails() {
+        when(restTemplate.postForObject(anyString(), any(), eq(Void.class)))
+                .thenThrow(new ResourceAccessException("auth down"));
+
+        assertThrows(ResourceAccessException.class, () -> service().createStudent(request("Asha")));
+
+        assertFalse(studentRepository.existsByEmail(run + "@example.com"));
+    }
+
+    @Test
+    void loginIsRemovedWhenTheStudentCannotBeSaved() {
+        // longer than the name column
+        assertThrows(DataIntegrityViolationException.class, () -> service().createStudent(request("x".repeat(300))));
+
+        assertFalse(studentRepository.existsByEmail(run + "@example.com"));
+        verify(restTemplate).delete("http://api-gateway:4004/auth/user/" + run + "@example.com");
+    }
+
+    private Answer<Object> outsideTransaction(Runnable check) {
+        return invocation -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive(), "called inside the transaction");
+            check.run();
+            return null;
+        };
+    }
+
+    @Test
+    void loginIsDeletedAfterTheStudentIsGone() {
+        UUID id = service().createStudent(request("Asha")).id();
+        doAnswer(outsideTransaction(() -> assertFalse(studentRepository.existsById(id))))
+                .when(restTemplate).delete(anyString());
+
+        service().deleteStudent(id);
+
+        verify(restTemplate).delete("http://api-gateway:4004/auth/user/" + run + "@example.com");
+        assertTrue(changesFor(id).stream().anyMatch(c -> c.getType() == StudentChangeType.DELETED));
+    }
+
+    @Test
+    void hostelTypeIsLookedUpBeforeAndCacheEvictedAfterTheAssignment() {
+        UUID id = service().createStudent(request("Asha")).id();
+        UUID hostelId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        when(hostelMetadataCache.isBoysHostel(eq(hostelId), any())).thenAnswer(invocation -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive(), "looked up inside the transaction");
+            return false;
+        });
+        doAnswer(outsideTransaction(() -> assertEquals(roomId, studentRepository.findById(id).orElseThrow().getRoomId())))
+                .when(compositeCache).evict(id);
+
+        service().assignRoom(id, new AssignRoomDTO(hostelId, roomId), "token");
+
+        verify(compositeCache).evict(id);
+    }
+
+    @Test
+    void batchAssignmentEvictsOnceCommitted() {
+        UUID id = service().createStudent(request("Asha")).id();
+        UUID hostelId = UUID.randomUUID();
+        UUID roomId = UUID.randomUUID();
+        when(compositeCache.evictByHostelId(hostelId)).thenAnswer(outsideTransaction(() ->
+                assertEquals(hostelId, studentRepository.findById(id).orElseThrow().getHostelId())));
+
+        BulkAssignRoomResultDTO result = service().assignRooms(
+                new BulkAssignRoomDTO(hostelId, List.of(new RoomAssignmentDTO(id, roomId))), "token");
+
+        assertEquals(1, result.assigned());
+        verify(compositeCache).evictByHostelId(hostelId);
+        verify(compositeCache).evict(id);
+    }
+}
@@ -0,0 +1,27 @@
+-- Search benchmark dataset: 100k synthetic students (2000 distinct first/last name pairs,
+-- so names repeat the way real cohorts do). Load into a scratch database after Flyway has run:
+--   psql -d db -f students-100k.sql
+insert into student (id, name, email, password, graduation_year, uid, address, gender, phone,
+                     created_at, updated_at)
+select gen_random_uuid(),
+       (array['Aarav','Vivaan','Aditya','Vihaan','Arjun','Sai','Reyansh','Ayaan','Krishna','Ishaan',
+              'Shaurya','Atharv','Advik','Pranav','Advaith','Aarush','Kabir','Ritvik','Anirudh','Dhruv',
+              'Ananya','Diya','Aadhya','Saanvi','Pari','Anika','Navya','Myra','Sara','Ira',
+              'Kiara','Riya','Aarohi','Meera','Kavya','Tara','Nisha','Pooja','Sneha','Isha'])[1 + (i % 40)]
+           || ' ' ||
+       (array['Sharma','Verma','Gupta','Singh','Kumar','Patel','Reddy','Iyer','Nair','Menon',
+              'Rao','Das','Bose','Chatterjee','Mukherjee','Banerjee','Joshi','Kulkarni','Deshpande','Pillai',
+              'Agarwal','Bansal','Mehta','Shah','Desai','Kapoor','Malhotra','Chopra','Khanna','Sethi',
+              'Bhatia','Arora','Gill','Sandhu','Dhillon','Grewal','Saxena','Tiwari','Mishra','Pandey',
+              'Dubey','Yadav','Chauhan','Rathore','Thakur','Naidu','Hegde','Shetty','Kamath','Bhat'])[1 + ((i / 40) % 50)],
+       'bench' || i || '@example.com',
+       '$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0Ff6g7ZcG0K6j6g6rV6s3ly',
+       2025 + (i % 4),
+       (21 + (i % 4)) || 'BCS' || lpad(i::text, 6, '0'),
+       'Benchmark Street ' || i,
+       case when (i % 40) < 20 then 'Male' else 'Female' end,
+       '9' || lpad(i::text, 9, '0'),
+       now(), now()
+from generate_series(1, 100000) as i;
+
+analyze student;
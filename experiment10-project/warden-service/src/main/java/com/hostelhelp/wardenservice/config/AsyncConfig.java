@@ -0,0 +1,27 @@
+package com.hostelhelp.wardenservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AsyncConfig {
+
+    // Dashboard branches are blocking HTTP calls, so a virtual thread per task is cheap
+    @Bean(destroyMethod = "close")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Only POST /wardens/batch uses this: up to 500 password hashes spread over one thread
+    // per core, kept apart from the dashboard's executor so a big batch never delays it
+    @Bean(destroyMethod = "close")
+    public ExecutorService passwordHashExecutor(
+            @Value("${wardens.batch.hash-threads:0}") int hashThreads) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads);
+    }
+}
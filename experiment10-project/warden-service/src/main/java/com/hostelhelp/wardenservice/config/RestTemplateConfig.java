@@ -1,14 +1,19 @@
 package com.hostelhelp.wardenservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${services.http.connect-timeout-ms:3000}") int connectTimeoutMillis,
+                                     @Value("${services.http.read-timeout-ms:5000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMillis);
+        factory.setReadTimeout(readTimeoutMillis);
+        return new RestTemplate(factory);
     }
 }
-
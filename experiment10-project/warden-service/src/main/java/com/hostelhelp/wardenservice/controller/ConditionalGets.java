@@ -0,0 +1,43 @@
+package com.hostelhelp.wardenservice.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * ETag and Last-Modified from an entity's id and updatedAt, so a poll can be answered with
+ * 304 after reading just the timestamp. The timestamp is read before the body, so a write
+ * in between costs one extra full response, never a stale 304.
+ * <p>
+ * hostel-, student- and warden-service each keep a copy, as they share no library;
+ * ConditionalGetsTest in each service pins the same tag and header format.
+ */
+final class ConditionalGets {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ConditionalGets() {}
+
+    // Strong tag at full timestamp precision, so two writes in one millisecond differ
+    static String etag(UUID id, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + Long.toHexString(ChronoUnit.MICROS.between(EPOCH, updatedAt)) + "\"";
+    }
+
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Clients must revalidate every time, but may keep the body to do so
+    static <T> ResponseEntity<T> ok(T body, UUID id, LocalDateTime updatedAt) {
+        if (updatedAt == null) return ResponseEntity.ok(body);
+        return ResponseEntity.ok()
+                .eTag(etag(id, updatedAt))
+                .lastModified(lastModified(updatedAt))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+}
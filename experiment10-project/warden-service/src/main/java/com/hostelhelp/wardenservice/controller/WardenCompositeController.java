@@ -3,23 +3,22 @@ package com.hostelhelp.wardenservice.controller;
 
 import com.hostelhelp.wardenservice.dto.HostelResponseDTO;
 import com.hostelhelp.wardenservice.dto.WardenCompositeDTO;
+import com.hostelhelp.wardenservice.dto.WardenDashboardDTO;
 import com.hostelhelp.wardenservice.dto.WardenResponseDTO;
 import com.hostelhelp.wardenservice.exception.WardenNotFoundException;
+import com.hostelhelp.wardenservice.service.WardenDashboardService;
 import com.hostelhelp.wardenservice.service.WardenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Map;
 
 @Slf4j
@@ -29,7 +28,8 @@ import java.util.Map;
 public class WardenCompositeController {
 
     private final WardenService wardenService;
-    private final RestTemplateBuilder restTemplateBuilder;
+    private final WardenDashboardService wardenDashboardService;
+    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper; // injected
 
     @Value("${services.hostel.base-url:http://api-gateway:4004}")
@@ -42,51 +42,16 @@ public class WardenCompositeController {
     @GetMapping("/me/full")
     public ResponseEntity<WardenCompositeDTO> getWardenWithHostel(HttpServletRequest request) {
         try {
-            // 1) get email from SecurityContext (preferred)
-            String email = null;
-            try {
-                var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null) {
-                    email = auth.getName();
-                }
-            } catch (Exception e) {
-                log.debug("Unable to read SecurityContextHolder authentication", e);
-            }
-
-            // 1b) fallback: extract from Authorization header if SecurityContext not populated
+            // 1) resolve the caller's email
+            String email = resolveEmail(request);
             if (email == null) {
-                String authHeader = request.getHeader("Authorization");
-                if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-                }
-                try {
-                    String extracted = extractEmailFromAuthorizationHeader(authHeader);
-                    if (extracted != null) {
-                        email = extracted;
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to extract email from Authorization header: {}", e.getMessage());
-                }
-
-                if (email == null) {
-                    log.warn("SecurityContextHolder has no authentication; Authorization header present but cannot derive email.");
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-                }
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
             // 2) fetch warden locally
             WardenResponseDTO warden = wardenService.getWardenByEmail(email);
 
-            // Prepare RestTemplate and headers (forward Authorization)
-            RestTemplate restTemplate = restTemplateBuilder
-                    .requestFactory(() -> {
-                        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-                        factory.setConnectTimeout((int) Duration.ofSeconds(3).toMillis());
-                        factory.setReadTimeout((int) Duration.ofSeconds(5).toMillis());
-                        return factory;
-                    })
-                    .build();
-
+            // Forward Authorization; the shared RestTemplate carries the connect/read timeouts
             HttpHeaders headers = new HttpHeaders();
             String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
             if (authHeader != null) {
@@ -125,6 +90,55 @@ public class WardenCompositeController {
         }
     }
 
+    /**
+     * GET /wardens/me/dashboard
+     * Hostel, seat totals, pending request counts and open complaint counts in one call.
+     */
+    @GetMapping("/me/dashboard")
+    public ResponseEntity<WardenDashboardDTO> getDashboard(HttpServletRequest request) {
+        try {
+            String email = resolveEmail(request);
+            if (email == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            WardenResponseDTO warden = wardenService.getWardenByEmail(email);
+            return ResponseEntity.ok(wardenDashboardService.getDashboard(warden, request.getHeader(HttpHeaders.AUTHORIZATION)));
+        } catch (WardenNotFoundException wnf) {
+            log.warn("Warden not found for current principal", wnf);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            log.error("Failed to build warden dashboard", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Email from the SecurityContext, falling back to the bearer token's claims; null if neither has one
+    private String resolveEmail(HttpServletRequest request) {
+        try {
+            var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null) {
+                return auth.getName();
+            }
+        } catch (Exception e) {
+            log.debug("Unable to read SecurityContextHolder authentication", e);
+        }
+
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String email = null;
+        try {
+            email = extractEmailFromAuthorizationHeader(authHeader);
+        } catch (Exception e) {
+            log.warn("Failed to extract email from Authorization header: {}", e.getMessage());
+        }
+        if (email == null) {
+            log.warn("SecurityContextHolder has no authentication; Authorization header present but cannot derive email.");
+        }
+        return email;
+    }
+
     private String extractEmailFromAuthorizationHeader(String authHeader) {
         if (authHeader == null) return null;
         if (!authHeader.startsWith("Bearer ")) return null;
@@ -1,21 +1,27 @@
 package com.hostelhelp.wardenservice.controller;
 
 
+import com.hostelhelp.wardenservice.dto.WardenBatchResultDTO;
 import com.hostelhelp.wardenservice.dto.WardenRequestDTO;
 import com.hostelhelp.wardenservice.dto.WardenResponseDTO;
 import com.hostelhelp.wardenservice.exception.WardenNotFoundException;
+import com.hostelhelp.wardenservice.service.WardenBatchService;
 import com.hostelhelp.wardenservice.service.WardenService;
 import com.hostelhelp.wardenservice.validation.CreateWardenValidationGroup;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.groups.Default;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,9 +31,11 @@ import java.util.UUID;
 public class WardenController {
 
     private final WardenService wardenService;
+    private final WardenBatchService wardenBatchService;
 
-    public WardenController(WardenService wardenService) {
+    public WardenController(WardenService wardenService, WardenBatchService wardenBatchService) {
         this.wardenService = wardenService;
+        this.wardenBatchService = wardenBatchService;
     }
 
     @GetMapping
@@ -42,7 +50,7 @@ public class WardenController {
     @GetMapping("/hostel/{hostelId}")
     @Operation(summary = "Get wardens by hostel ID")
     @PreAuthorize("hasAnyRole('WARDEN','ADMIN')")
-    public ResponseEntity<List<WardenResponseDTO>> getWardensByHostel(@PathVariable String hostelId) {
+    public ResponseEntity<List<WardenResponseDTO>> getWardensByHostel(@PathVariable UUID hostelId) {
         List<WardenResponseDTO> wardens = wardenService.getWardensByHostelId(hostelId);
         return ResponseEntity.ok().body(wardens);
     }
@@ -76,8 +84,8 @@ public class WardenController {
     @PreAuthorize("hasAnyRole('ADMIN', 'WARDEN')")
     public ResponseEntity<String> getWardenHostelId(@PathVariable UUID id) {
         try {
-            String hostelId = wardenService.getWarden(id).hostelId();
-            return ResponseEntity.ok().body(hostelId);
+            UUID hostelId = wardenService.getWarden(id).hostelId();
+            return ResponseEntity.ok().body(hostelId == null ? null : hostelId.toString());
         } catch (WardenNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -95,6 +103,13 @@ public class WardenController {
         return ResponseEntity.ok().body(wardenResponseDTO);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create several wardens with their hostel assignments; results are reported per item")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WardenBatchResultDTO> createWardens(@RequestBody List<WardenRequestDTO> wardenRequestDTOs) {
+        return ResponseEntity.ok().body(wardenBatchService.createWardens(wardenRequestDTOs));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a warden")
     @PreAuthorize("hasRole('ADMIN')")
@@ -107,20 +122,37 @@ public class WardenController {
     @GetMapping("/me")
     @Operation(summary = "Get current student's profile")
     @PreAuthorize("hasRole('WARDEN')")
-    public ResponseEntity<WardenResponseDTO> getCurrentWardenProfile() {
+    public ResponseEntity<WardenResponseDTO> getCurrentWardenProfile(WebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
+        LocalDateTime updatedAt = wardenService.getUpdatedAtByEmail(email);
+        // the tag only needs to be unique per caller, so the email stands in for the id
+        UUID key = UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8));
+        if (updatedAt != null && request.checkNotModified(
+                ConditionalGets.etag(key, updatedAt), ConditionalGets.lastModified(updatedAt))) {
+            return null;
+        }
         WardenResponseDTO student = wardenService.getWardenByEmail(email);
-        return ResponseEntity.ok().body(student);
+        return ConditionalGets.ok(student, key, updatedAt);
     }
 
     @GetMapping("/me/hostelId")
     @Operation(summary = "Get current student's hostelId")
     @PreAuthorize("hasRole('WARDEN')")
-    public ResponseEntity<String> getCurrentWardenHostelId() {
+    public ResponseEntity<String> getCurrentWardenHostelId(WebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String hostelId = wardenService.getWardenByEmail(authentication.getName()).hostelId();
-        return ResponseEntity.ok().body(hostelId);
+        String hostelId = wardenService.getHostelIdByEmail(authentication.getName())
+                .map(UUID::toString)
+                .orElse(null);
+        // the body is the whole state, so it doubles as the ETag
+        String etag = "\"" + (hostelId == null ? "none" : hostelId) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(hostelId);
     }
 
 
@@ -0,0 +1,11 @@
+package com.hostelhelp.wardenservice.dto;
+
+import java.util.UUID;
+
+public record HostelOccupancyDTO(
+        UUID hostelId,
+        long rooms,
+        long totalSeats,
+        long filledSeats,
+        long vacantSeats
+) {}
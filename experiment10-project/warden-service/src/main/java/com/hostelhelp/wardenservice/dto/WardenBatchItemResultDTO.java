@@ -0,0 +1,15 @@
+package com.hostelhelp.wardenservice.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome for one item of a batch create, by position in the request. id is set when the
+ * warden was stored; errors is empty on full success.
+ */
+public record WardenBatchItemResultDTO(
+        int index,
+        String email,
+        UUID id,
+        Map<String, String> errors
+) {}
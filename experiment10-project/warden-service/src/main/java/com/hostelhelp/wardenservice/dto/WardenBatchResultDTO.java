@@ -0,0 +1,9 @@
+package com.hostelhelp.wardenservice.dto;
+
+import java.util.List;
+
+public record WardenBatchResultDTO(
+        int received,
+        int created,
+        List<WardenBatchItemResultDTO> results
+) {}
@@ -0,0 +1,19 @@
+package com.hostelhelp.wardenservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the warden landing page shows. Sections whose service did not answer in time
+ * are null and listed in unavailable, so the page can render the rest.
+ */
+public record WardenDashboardDTO(
+        WardenResponseDTO warden,
+        HostelResponseDTO hostel,
+        HostelOccupancyDTO occupancy,
+        Map<String, Long> pendingRequestsByType,
+        Map<String, Long> openComplaintsByStatus,
+        List<String> unavailable,
+        LocalDateTime generatedAt
+) {}
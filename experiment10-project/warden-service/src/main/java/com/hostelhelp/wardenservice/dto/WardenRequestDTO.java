@@ -4,6 +4,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.UUID;
+
 public record WardenRequestDTO(
         @NotBlank(message = "Name is required")
         String name,
@@ -21,6 +23,6 @@ public record WardenRequestDTO(
         @NotBlank(message = "Phone is required")
         String phone,
 
-        String hostelId,
+        UUID hostelId,
         Integer roomNumber
 ) {}
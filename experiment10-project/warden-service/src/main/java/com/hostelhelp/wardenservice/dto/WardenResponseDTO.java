@@ -9,7 +9,7 @@ public record WardenResponseDTO(
         String email,
         String gender,
         String phone,
-        String hostelId,
+        UUID hostelId,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {}
@@ -41,4 +41,12 @@ public class GlobalExceptionHandler {
         errors.put("warden", "Warden not found");
         return ResponseEntity.badRequest().body(errors);
     }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Map<String,String>> handleBatchTooLargeException(BatchTooLargeException ex) {
+        log.warn(ex.getMessage());
+        Map<String,String> errors = new HashMap<>();
+        errors.put("batch", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
 }
@@ -9,16 +9,25 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class WardenMapper {
     private static final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     public static Warden toModel(WardenRequestDTO dto) {
+        return toModel(dto, encodePassword(dto.password()));
+    }
+
+    // For callers that hash passwords themselves (batch create hashes them in parallel)
+    public static Warden toModel(WardenRequestDTO dto, String encodedPassword) {
         return Warden.builder()
                 .name(dto.name())
                 .email(dto.email())
-                .password(passwordEncoder.encode(dto.password()))
+                .password(encodedPassword)
                 .gender(dto.gender())
                 .phone(dto.phone())
                 .hostelId(dto.hostelId())
                 .build();
     }
 
+    public static String encodePassword(String rawPassword) {
+        return passwordEncoder.encode(rawPassword);
+    }
+
     public static WardenResponseDTO toDTO(Warden warden) {
         return new WardenResponseDTO(
                 warden.getId(),
@@ -35,7 +35,9 @@ public class Warden {
     @Column(nullable = false)
     private String phone;
 
-    private String hostelId;
+    // typed replacement for the legacy free-form hostel_id varchar column (see V4__typed_id_backfill)
+    @Column(name = "hostel_uuid")
+    private UUID hostelId;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
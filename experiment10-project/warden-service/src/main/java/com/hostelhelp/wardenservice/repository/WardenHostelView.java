@@ -0,0 +1,5 @@
+package com.hostelhelp.wardenservice.repository;
+
+import java.util.UUID;
+
+public record WardenHostelView(String email, UUID hostelId) {}
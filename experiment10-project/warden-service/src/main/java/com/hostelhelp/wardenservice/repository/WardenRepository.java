@@ -1,19 +1,45 @@
 package com.hostelhelp.wardenservice.repository;
 
 import com.hostelhelp.wardenservice.model.Warden;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WardenRepository extends JpaRepository<Warden, UUID> {
-    boolean existsByEmail(String email);
-    boolean existsByEmailAndIdNot(String email, UUID id);
+    // case-insensitive, matching the unique index on lower(email)
+    @Query("select count(w) > 0 from Warden w where lower(w.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
+
+    @Query("select count(w) > 0 from Warden w where lower(w.email) = lower(:email) and w.id <> :id")
+    boolean existsByEmailAndIdNot(@Param("email") String email, @Param("id") UUID id);
+
     Optional<Warden> findByEmail(String email);
 
+    // Lets conditional GETs be answered without loading the warden
+    @Query("select w.updatedAt from Warden w where w.email = :email")
+    Optional<LocalDateTime> findUpdatedAtByEmail(@Param("email") String email);
+
     // Fetch wardens that belong to a hostel
-    List<Warden> findByHostelId(String hostelId);
+    List<Warden> findByHostelId(UUID hostelId);
+
+    // emails must be passed lower-cased; returns the lower-cased ones that are taken
+    @Query("select lower(w.email) from Warden w where lower(w.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.hostelhelp.wardenservice.repository.WardenHostelView(w.email, w.hostelId) " +
+            "from Warden w where lower(w.email) = lower(:email)")
+    Optional<WardenHostelView> findHostelViewByEmail(@Param("email") String email);
+
+    @Query("select new com.hostelhelp.wardenservice.repository.WardenHostelView(w.email, w.hostelId) " +
+            "from Warden w")
+    List<WardenHostelView> findHostelViews(Limit limit);
 }
@@ -0,0 +1,206 @@
+package com.hostelhelp.wardenservice.service;
+
+import com.hostelhelp.wardenservice.dto.UserDTO;
+import com.hostelhelp.wardenservice.dto.WardenBatchItemResultDTO;
+import com.hostelhelp.wardenservice.dto.WardenBatchResultDTO;
+import com.hostelhelp.wardenservice.dto.WardenRequestDTO;
+import com.hostelhelp.wardenservice.exception.BatchTooLargeException;
+import com.hostelhelp.wardenservice.mapper.WardenMapper;
+import com.hostelhelp.wardenservice.model.Warden;
+import com.hostelhelp.wardenservice.repository.WardenRepository;
+import com.hostelhelp.wardenservice.validation.CreateWardenValidationGroup;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates many wardens, with their hostel assignments, in one go. Emails are checked in a
+ * single query, passwords are hashed in parallel, the rows go in as JDBC batches and the
+ * logins are provisioned with one /auth/register/batch call. Bad items are reported per
+ * position and do not stop the rest of the batch. If auth-service cannot take the logins,
+ * the wardens just stored are deleted again, as the student import does with a failed
+ * chunk, so the same batch can simply be sent once more.
+ */
+@Service
+public class WardenBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(WardenBatchService.class);
+
+    private final WardenRepository wardenRepository;
+    private final RestTemplate restTemplate;
+    private final WardenHostelIndex wardenHostelIndex;
+    private final Validator validator;
+    private final ExecutorService hashExecutor;
+
+    private final int maxBatchSize;
+
+    @Value("${services.gateway.base-url:http://api-gateway:4004}")
+    private String gatewayBaseUrl;
+
+    public WardenBatchService(WardenRepository wardenRepository,
+                              RestTemplate restTemplate,
+                              WardenHostelIndex wardenHostelIndex,
+                              Validator validator,
+                              @Qualifier("passwordHashExecutor") ExecutorService hashExecutor,
+                              @Value("${wardens.batch.max-size:500}") int maxBatchSize) {
+        this.wardenRepository = wardenRepository;
+        this.restTemplate = restTemplate;
+        this.wardenHostelIndex = wardenHostelIndex;
+        this.validator = validator;
+        this.hashExecutor = hashExecutor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    private record Pending(int index, WardenRequestDTO dto) {}
+
+    private record Created(int index, Warden warden) {}
+
+    public WardenBatchResultDTO createWardens(List<WardenRequestDTO> items) {
+        if (items.size() > maxBatchSize) {
+            throw new BatchTooLargeException("At most " + maxBatchSize + " wardens can be created per batch");
+        }
+
+        Map<Integer, Map<String, String>> errors = new LinkedHashMap<>();
+        List<Pending> pending = validate(items, errors);
+        pending = dropExistingEmails(pending, errors);
+
+        List<Created> created = save(pending, hashAndMap(pending), errors);
+        if (!registerUsers(created, errors)) {
+            created = List.of();
+        }
+        created.forEach(c -> wardenHostelIndex.put(c.warden().getEmail(), c.warden().getHostelId()));
+
+        Map<Integer, Warden> createdByIndex = new HashMap<>();
+        created.forEach(c -> createdByIndex.put(c.index(), c.warden()));
+        List<WardenBatchItemResultDTO> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            WardenRequestDTO dto = items.get(i);
+            Warden warden = createdByIndex.get(i);
+            results.add(new WardenBatchItemResultDTO(i, dto == null ? null : dto.email(),
+                    warden == null ? null : warden.getId(), errors.getOrDefault(i, Map.of())));
+        }
+
+        logger.info("Batch warden create: {} received, {} created", items.size(), created.size());
+        return new WardenBatchResultDTO(items.size(), created.size(), results);
+    }
+
+    // Bean validation with the same groups as POST /wardens, plus duplicates within the batch
+    private List<Pending> validate(List<WardenRequestDTO> items, Map<Integer, Map<String, String>> errors) {
+        List<Pending> valid = new ArrayList<>(items.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            WardenRequestDTO dto = items.get(i);
+            if (dto == null) {
+                errors.put(i, Map.of("item", "Warden is required"));
+                continue;
+            }
+            Set<ConstraintViolation<WardenRequestDTO>> violations =
+                    validator.validate(dto, Default.class, CreateWardenValidationGroup.class);
+            if (!violations.isEmpty()) {
+                Map<String, String> fieldErrors = new LinkedHashMap<>();
+                violations.forEach(v -> fieldErrors.putIfAbsent(v.getPropertyPath().toString(), v.getMessage()));
+                errors.put(i, fieldErrors);
+                continue;
+            }
+            if (!seen.add(key(dto.email()))) {
+                errors.put(i, Map.of("email", "Email appears more than once in the batch"));
+                continue;
+            }
+            valid.add(new Pending(i, dto));
+        }
+        return valid;
+    }
+
+    private List<Pending> dropExistingEmails(List<Pending> pending, Map<Integer, Map<String, String>> errors) {
+        if (pending.isEmpty()) return pending;
+        Set<String> existing = new HashSet<>(wardenRepository.findExistingEmails(
+                pending.stream().map(p -> key(p.dto().email())).toList()));
+        if (existing.isEmpty()) return pending;
+
+        List<Pending> remaining = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            if (existing.contains(key(p.dto().email()))) {
+                errors.put(p.index(), Map.of("email", "A warden with this email already exists"));
+            } else {
+                remaining.add(p);
+            }
+        }
+        return remaining;
+    }
+
+    // BCrypt dominates the cost of a batch, so the hashes are spread over the hash pool
+    private List<Warden> hashAndMap(List<Pending> pending) {
+        List<CompletableFuture<Warden>> futures = pending.stream()
+                .map(p -> CompletableFuture.supplyAsync(
+                        () -> WardenMapper.toModel(p.dto(), WardenMapper.encodePassword(p.dto().password())),
+                        hashExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // models line up with pending by position
+    private List<Created> save(List<Pending> pending, List<Warden> models, Map<Integer, Map<String, String>> errors) {
+        if (models.isEmpty()) return List.of();
+        try {
+            List<Warden> saved = wardenRepository.saveAll(models);
+            List<Created> created = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                created.add(new Created(pending.get(i).index(), saved.get(i)));
+            }
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            // something raced us to an email; fall back to row by row to find which
+            logger.warn("Batch warden insert failed, retrying row by row: {}", e.getMessage());
+        }
+        List<Created> created = new ArrayList<>(models.size());
+        for (int i = 0; i < models.size(); i++) {
+            Warden warden = models.get(i);
+            warden.setId(null);
+            try {
+                created.add(new Created(pending.get(i).index(), wardenRepository.save(warden)));
+            } catch (DataIntegrityViolationException e) {
+                errors.put(pending.get(i).index(), Map.of("database", "Duplicate or invalid data"));
+            }
+        }
+        return created;
+    }
+
+    // False if auth-service could not take the logins; the wardens are then removed again
+    private boolean registerUsers(List<Created> created, Map<Integer, Map<String, String>> errors) {
+        if (created.isEmpty()) return true;
+        List<UserDTO> users = created.stream()
+                .map(c -> new UserDTO(c.warden().getEmail(), c.warden().getPassword(), "WARDEN"))
+                .toList();
+        try {
+            restTemplate.postForObject(gatewayBaseUrl + "/auth/register/batch", users, Map.class);
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to register {} wardens with auth-service, removing them", users.size(), e);
+            wardenRepository.deleteAllByIdInBatch(created.stream().map(c -> c.warden().getId()).toList());
+            created.forEach(c -> errors.put(c.index(),
+                    Map.of("auth", "Login registration failed; warden not created")));
+            return false;
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,139 @@
+package com.hostelhelp.wardenservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostelhelp.wardenservice.dto.HostelOccupancyDTO;
+import com.hostelhelp.wardenservice.dto.HostelResponseDTO;
+import com.hostelhelp.wardenservice.dto.WardenDashboardDTO;
+import com.hostelhelp.wardenservice.dto.WardenResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Builds the warden dashboard from four independent calls made in parallel: the hostel,
+ * its seat totals and the request and complaint counts. Each call has its own timeout and
+ * a failed one only blanks its section. Complete results are cached per hostel briefly,
+ * since every warden of a hostel sees the same numbers. Request and complaint changes
+ * happen in other services, so the cache is not invalidated; the ttl bounds how stale it gets.
+ */
+@Service
+public class WardenDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WardenDashboardService.class);
+
+    private static final ParameterizedTypeReference<Map<String, Long>> COUNTS = new ParameterizedTypeReference<>() {};
+
+    private record HostelSections(HostelResponseDTO hostel,
+                                  HostelOccupancyDTO occupancy,
+                                  Map<String, Long> pendingRequestsByType,
+                                  Map<String, Long> openComplaintsByStatus,
+                                  List<String> unavailable,
+                                  LocalDateTime generatedAt) {}
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final Cache<UUID, HostelSections> cache;
+    private final long branchTimeoutMillis;
+
+    @Value("${services.gateway.base-url:http://api-gateway:4004}")
+    private String gatewayBaseUrl;
+
+    public WardenDashboardService(RestTemplate restTemplate,
+                                  @Qualifier("dashboardExecutor") ExecutorService executor,
+                                  @Value("${wardens.dashboard.branch-timeout-ms:2000}") long branchTimeoutMillis,
+                                  @Value("${wardens.dashboard.cache.max-size:1000}") long maxSize,
+                                  @Value("${wardens.dashboard.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.branchTimeoutMillis = branchTimeoutMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public WardenDashboardDTO getDashboard(WardenResponseDTO warden, String authHeader) {
+        UUID hostelId = warden.hostelId();
+        if (hostelId == null) {
+            return new WardenDashboardDTO(warden, null, null, null, null, List.of(), LocalDateTime.now());
+        }
+
+        HostelSections sections = cache.getIfPresent(hostelId);
+        if (sections == null) {
+            sections = load(hostelId, authHeader);
+            if (sections.unavailable().isEmpty()) cache.put(hostelId, sections);
+        }
+        return new WardenDashboardDTO(warden, sections.hostel(), sections.occupancy(),
+                sections.pendingRequestsByType(), sections.openComplaintsByStatus(),
+                sections.unavailable(), sections.generatedAt());
+    }
+
+    private HostelSections load(UUID hostelId, String authHeader) {
+        HttpHeaders headers = new HttpHeaders();
+        if (authHeader != null) headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        CompletableFuture<HostelResponseDTO> hostel = branch(() -> restTemplate.exchange(
+                gatewayBaseUrl + "/hostels/" + hostelId, HttpMethod.GET, entity, HostelResponseDTO.class).getBody());
+        CompletableFuture<HostelOccupancyDTO> occupancy = branch(() -> restTemplate.exchange(
+                gatewayBaseUrl + "/hostels/" + hostelId + "/occupancy", HttpMethod.GET, entity, HostelOccupancyDTO.class).getBody());
+        CompletableFuture<Map<String, Long>> requests = branch(() -> restTemplate.exchange(
+                gatewayBaseUrl + "/requests/hostel/" + hostelId + "/counts?status=PENDING", HttpMethod.GET, entity, COUNTS).getBody());
+        CompletableFuture<Map<String, Long>> complaints = branch(() -> restTemplate.exchange(
+                gatewayBaseUrl + "/complaints/hostel/" + hostelId + "/counts", HttpMethod.GET, entity, COUNTS).getBody());
+
+        List<String> unavailable = new ArrayList<>();
+        HostelResponseDTO hostelDto = join(hostel, "hostel", hostelId, unavailable);
+        HostelOccupancyDTO occupancyDto = join(occupancy, "occupancy", hostelId, unavailable);
+        Map<String, Long> requestCounts = join(requests, "pendingRequests", hostelId, unavailable);
+        Map<String, Long> complaintCounts = join(complaints, "openComplaints", hostelId, unavailable);
+
+        return new HostelSections(hostelDto, occupancyDto, requestCounts, openOnly(complaintCounts),
+                List.copyOf(unavailable), LocalDateTime.now());
+    }
+
+    private <T> CompletableFuture<T> branch(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor).orTimeout(branchTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T join(CompletableFuture<T> future, String section, UUID hostelId, List<String> unavailable) {
+        try {
+            return future.join();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warn("Dashboard section {} for hostel {} unavailable: {}", section, hostelId, cause.toString());
+            unavailable.add(section);
+            return null;
+        }
+    }
+
+    // Resolved complaints are not "open"; everything else is
+    private static Map<String, Long> openOnly(Map<String, Long> byStatus) {
+        if (byStatus == null) return null;
+        Map<String, Long> open = new LinkedHashMap<>(byStatus);
+        open.remove("RESOLVED");
+        return open;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hostelhelp.wardenservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostelhelp.wardenservice.exception.WardenNotFoundException;
+import com.hostelhelp.wardenservice.repository.WardenHostelView;
+import com.hostelhelp.wardenservice.repository.WardenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded, expiring index from warden email (case-insensitive) to hostel id, so
+ * /wardens/me/hostelId does not hit the database on every request approval.
+ * Warmed on startup and updated by WardenService on create, update and delete; other
+ * instances of the service pick up changes when their entries expire.
+ */
+@Component
+public class WardenHostelIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(WardenHostelIndex.class);
+
+    // Optional because a warden may exist without a hostel and Caffeine holds no nulls
+    private final Cache<String, Optional<UUID>> cache;
+    private final WardenRepository wardenRepository;
+    private final long maxSize;
+
+    public WardenHostelIndex(WardenRepository wardenRepository,
+                             @Value("${wardens.hostel-index.max-size:10000}") long maxSize,
+                             @Value("${wardens.hostel-index.ttl-minutes:30}") long ttlMinutes) {
+        this.wardenRepository = wardenRepository;
+        this.maxSize = maxSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            var views = wardenRepository.findHostelViews(Limit.of((int) Math.min(maxSize, Integer.MAX_VALUE)));
+            views.forEach(v -> put(v.email(), v.hostelId()));
+            logger.info("Warden hostel index warmed with {} wardens", views.size());
+        } catch (Exception e) {
+            // lookups still fall back to the database
+            logger.warn("Warming warden hostel index failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The hostel of the warden with this email, empty if they have none.
+     * Throws WardenNotFoundException if there is no such warden.
+     */
+    public Optional<UUID> getHostelId(String email) {
+        String key = key(email);
+        Optional<UUID> hostelId = cache.getIfPresent(key);
+        if (hostelId != null) return hostelId;
+
+        WardenHostelView view = wardenRepository.findHostelViewByEmail(email)
+                .orElseThrow(() -> new WardenNotFoundException("Warden not found with email " + email));
+        hostelId = Optional.ofNullable(view.hostelId());
+        cache.put(key, hostelId);
+        return hostelId;
+    }
+
+    public void put(String email, UUID hostelId) {
+        if (email == null) return;
+        cache.put(key(email), Optional.ofNullable(hostelId));
+    }
+
+    public void remove(String email) {
+        if (email == null) return;
+        cache.invalidate(key(email));
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
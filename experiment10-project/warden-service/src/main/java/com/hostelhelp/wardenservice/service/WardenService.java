@@ -13,7 +13,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -22,10 +24,13 @@ public class WardenService {
 
     private final WardenRepository wardenRepository;
     private final RestTemplate restTemplate;
+    private final WardenHostelIndex wardenHostelIndex;
 
-    public WardenService(WardenRepository wardenRepository, RestTemplate restTemplate) {
+    public WardenService(WardenRepository wardenRepository, RestTemplate restTemplate,
+                         WardenHostelIndex wardenHostelIndex) {
         this.wardenRepository = wardenRepository;
         this.restTemplate = restTemplate;
+        this.wardenHostelIndex = wardenHostelIndex;
     }
 
 
@@ -36,7 +41,7 @@ public class WardenService {
 
     }
 
-    public List<WardenResponseDTO> getWardensByHostelId(String hostelId) {
+    public List<WardenResponseDTO> getWardensByHostelId(UUID hostelId) {
         List<Warden> wardens = wardenRepository.findByHostelId(hostelId);
         return wardens.stream().map(WardenMapper::toDTO).toList();
     }
@@ -57,6 +62,7 @@ public class WardenService {
 
         Warden newWarden = wardenRepository.save(
                 WardenMapper.toModel(wardenRequestDTO));
+        wardenHostelIndex.put(newWarden.getEmail(), newWarden.getHostelId());
 
         UserDTO userDTO = new UserDTO(newWarden.getEmail(), newWarden.getPassword(), "WARDEN");
         // Use api-gateway for inter-service auth calls
@@ -76,23 +82,36 @@ public class WardenService {
                     + wardenRequestDTO.email() + " already exists");
         }
 
+        String previousEmail = warden.getEmail();
         warden.setName(wardenRequestDTO.name());
         warden.setEmail(wardenRequestDTO.email());
         Warden updatedWarden = wardenRepository.save(warden);
+        wardenHostelIndex.remove(previousEmail);
+        wardenHostelIndex.put(updatedWarden.getEmail(), updatedWarden.getHostelId());
         return WardenMapper.toDTO(updatedWarden);
     }
 
+    // Null for an unknown warden; read ahead of the body for conditional GETs
+    public LocalDateTime getUpdatedAtByEmail(String email) {
+        return wardenRepository.findUpdatedAtByEmail(email).orElse(null);
+    }
+
     public WardenResponseDTO getWardenByEmail(String email) {
         Warden warden = wardenRepository.findByEmail(email)
                 .orElseThrow(() -> new WardenNotFoundException("Warden not found with email " + email));
         return WardenMapper.toDTO(warden);
     }
 
+    public Optional<UUID> getHostelIdByEmail(String email) {
+        return wardenHostelIndex.getHostelId(email);
+    }
+
     public void deleteWarden(UUID id) {
         Warden warden = wardenRepository.findById(id)
                 .orElseThrow(() -> new WardenNotFoundException("Warden not found with id " + id));
         String email = warden.getEmail();
         wardenRepository.deleteById(id);
+        wardenHostelIndex.remove(email);
         // Delete user in auth-service
         try {
             String deleteUrl = "http://api-gateway:4004/auth/user/" + email;
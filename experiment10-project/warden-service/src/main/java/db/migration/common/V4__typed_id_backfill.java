@@ -0,0 +1,95 @@
+package db.migration.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Flyway migration V4: moves the legacy varchar warden.hostel_id column into the typed
+ * hostel_uuid column, normalising old JSON-string values on the way, and then drops it
+ * so a cleared hostel is never filled in again. Flyway finds it on the db/migration/common
+ * location next to the SQL scripts; a no-op on databases created without the legacy column.
+ */
+public class V4__typed_id_backfill extends BaseJavaMigration {
+    private static final Logger logger = LoggerFactory.getLogger(V4__typed_id_backfill.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private record Pending(UUID id, UUID hostelId) {}
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns " +
+                        "where lower(table_schema) = lower(current_schema()) and lower(table_name) = 'warden' " +
+                        "and lower(column_name) = 'hostel_id'",
+                Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        UUID lastId = new UUID(0L, 0L);
+        long updated = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, hostel_id from warden " +
+                            "where id > ? and hostel_uuid is null and hostel_id is not null " +
+                            "order by id limit ?",
+                    lastId, BATCH_SIZE);
+            if (rows.isEmpty()) break;
+
+            List<Pending> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                UUID id = (UUID) row.get("id");
+                String raw = (String) row.get("hostel_id");
+                UUID hostelId = toUuid(raw);
+                if (hostelId == null) {
+                    logger.warn("Warden {} has unparseable hostel_id {}, dropping it", id, raw);
+                } else {
+                    batch.add(new Pending(id, hostelId));
+                }
+                lastId = id;
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate("update warden set hostel_uuid = ? where id = ?",
+                        batch, batch.size(), (ps, p) -> {
+                            ps.setObject(1, p.hostelId());
+                            ps.setObject(2, p.id());
+                        });
+                updated += batch.size();
+            }
+        }
+
+        jdbcTemplate.execute("alter table warden drop column hostel_id");
+        logger.info("Typed id backfill: normalised hostel ids for {} wardens and dropped warden.hostel_id", updated);
+    }
+
+    // Plain UUID string or a JSON object holding it under "hostelId" or "id"; null otherwise
+    public static UUID toUuid(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        String value = raw.trim();
+        try {
+            if (value.startsWith("{")) {
+                Map<String, Object> parsed = JSON.readValue(value, new TypeReference<Map<String, Object>>() {});
+                Object val = parsed.getOrDefault("hostelId", parsed.get("id"));
+                if (val == null) return null;
+                value = String.valueOf(val).trim();
+            }
+            return UUID.fromString(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- Schema as previously created by hibernate ddl-auto. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+create table if not exists warden (
+    id          uuid         not null,
+    name        varchar(255) not null,
+    email       varchar(255) not null unique,
+    password    varchar(255) not null,
+    gender      varchar(255) not null,
+    phone       varchar(255) not null,
+    hostel_uuid uuid,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    primary key (id)
+);
@@ -0,0 +1,4 @@
+-- Typed id column from the hostel_id migration, for databases baselined before it
+alter table warden add column if not exists hostel_uuid uuid;
+
+create index if not exists idx_warden_hostel_uuid on warden (hostel_uuid);
@@ -0,0 +1,56 @@
+package com.hostelhelp.wardenservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * hostel-, student- and warden-service each keep their own ConditionalGets; these cases pin
+ * the tag and header format every copy must produce, so a change to one shows up here.
+ */
+class ConditionalGetsTest {
+
+    private static final UUID ID = UUID.fromString("0b6f6c2e-5c1a-4d2e-9a57-3f1c2d4e5f60");
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000);
+
+    @Test
+    void etagIsTheIdAndTheTimestampInMicroseconds() {
+        assertEquals("\"0b6f6c2e-5c1a-4d2e-9a57-3f1c2d4e5f60-64bf3bff856c0\"", ConditionalGets.etag(ID, UPDATED_AT));
+    }
+
+    @Test
+    void writesInOneMillisecondGetDifferentTags() {
+        assertNotEquals(ConditionalGets.etag(ID, UPDATED_AT), ConditionalGets.etag(ID, UPDATED_AT.plusNanos(1_000)));
+    }
+
+    @Test
+    void lastModifiedIsTheTimestampInTheServerZone() {
+        assertEquals(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                ConditionalGets.lastModified(UPDATED_AT));
+    }
+
+    @Test
+    void okCarriesBothValidatorsAndAsksClientsToRevalidate() {
+        ResponseEntity<String> response = ConditionalGets.ok("body", ID, UPDATED_AT);
+
+        assertEquals("body", response.getBody());
+        assertEquals(ConditionalGets.etag(ID, UPDATED_AT), response.getHeaders().getETag());
+        // the header only carries whole seconds
+        assertEquals(ConditionalGets.lastModified(UPDATED_AT) / 1000 * 1000, response.getHeaders().getLastModified());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void okWithoutATimestampSendsNoValidators() {
+        ResponseEntity<String> response = ConditionalGets.ok("body", ID, null);
+
+        assertNull(response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
+        assertNull(response.getHeaders().getCacheControl());
+    }
+}
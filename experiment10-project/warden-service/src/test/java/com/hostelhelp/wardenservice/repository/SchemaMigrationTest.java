@@ -0,0 +1,51 @@
+package com.hostelhelp.wardenservice.repository;
+
+import com.hostelhelp.wardenservice.model.Warden;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on the embedded H2 database and checks that the hot
+ * lookups are planned as index scans.
+ */
+@DataJpaTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WardenRepository wardenRepository;
+
+    @Test
+    void hostelLookupUsesIndex() {
+        String plan = jdbcTemplate.queryForObject("explain select id from warden where hostel_uuid = ?",
+                String.class, UUID.randomUUID());
+        assertTrue(plan.toLowerCase().contains("idx_warden_hostel_uuid"));
+    }
+
+    @Test
+    void emailIsUniqueIgnoringCase() {
+        wardenRepository.saveAndFlush(warden("Ravi@Example.com"));
+        assertTrue(wardenRepository.existsByEmail("ravi@example.com"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> wardenRepository.saveAndFlush(warden("ravi@example.com")));
+    }
+
+    private Warden warden(String email) {
+        return Warden.builder()
+                .name("Ravi")
+                .email(email)
+                .password("x")
+                .gender("Male")
+                .phone("123")
+                .build();
+    }
+}
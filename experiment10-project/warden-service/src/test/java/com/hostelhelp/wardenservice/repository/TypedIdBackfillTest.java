@@ -0,0 +1,78 @@
+package com.hostelhelp.wardenservice.repository;
+
+import db.migration.common.V4__typed_id_backfill;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Runs without the test transaction: the migration alters the table, which H2 commits anyway
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TypedIdBackfillTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void migrate() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V4__typed_id_backfill().migrate(context);
+        }
+    }
+
+    private UUID insertWarden(String hostelId) {
+        UUID wardenId = UUID.randomUUID();
+        jdbcTemplate.update("insert into warden (id, name, email, password, gender, phone, hostel_id) " +
+                        "values (?, 'Meera', ?, 'x', 'Female', '98765', ?)",
+                wardenId, wardenId.toString().substring(0, 8) + "@example.com", hostelId);
+        return wardenId;
+    }
+
+    private UUID hostelOf(UUID wardenId) {
+        return jdbcTemplate.queryForObject("select hostel_uuid from warden where id = ?", UUID.class, wardenId);
+    }
+
+    @Test
+    void flywayPicksItUpFromTheMigrationLocation() {
+        assertEquals("JDBC", jdbcTemplate.queryForObject(
+                "select \"type\" from \"flyway_schema_history\" where \"version\" = '4' and \"success\"",
+                String.class));
+    }
+
+    @Test
+    void legacyColumnIsCopiedOnceAndDropped() throws Exception {
+        jdbcTemplate.execute("alter table warden add column hostel_id varchar(255)");
+        UUID hostelId = UUID.randomUUID();
+        UUID plain = insertWarden(hostelId.toString());
+        UUID json = insertWarden("{\"hostelId\":\"" + hostelId + "\"}");
+        UUID broken = insertWarden("block B");
+
+        migrate();
+
+        assertEquals(hostelId, hostelOf(plain));
+        assertEquals(hostelId, hostelOf(json));
+        assertNull(hostelOf(broken));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from information_schema.columns " +
+                "where lower(table_name) = 'warden' and lower(column_name) = 'hostel_id'", Integer.class));
+
+        // a warden whose hostel was cleared keeps it cleared when the migration runs again
+        jdbcTemplate.update("update warden set hostel_uuid = null where id = ?", plain);
+        migrate();
+        assertNull(hostelOf(plain));
+    }
+}
@@ -0,0 +1,130 @@
+package com.hostelhelp.wardenservice.service;
+
+import com.hostelhelp.wardenservice.dto.WardenBatchResultDTO;
+import com.hostelhelp.wardenservice.dto.WardenRequestDTO;
+import com.hostelhelp.wardenservice.exception.BatchTooLargeException;
+import com.hostelhelp.wardenservice.model.Warden;
+import com.hostelhelp.wardenservice.repository.WardenRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WardenBatchServiceTest {
+
+    private final WardenRepository wardenRepository = mock(WardenRepository.class);
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final WardenHostelIndex index = mock(WardenHostelIndex.class);
+    private final ExecutorService hashExecutor = Executors.newFixedThreadPool(2);
+    private final WardenBatchService service = new WardenBatchService(wardenRepository, restTemplate, index,
+            Validation.buildDefaultValidatorFactory().getValidator(), hashExecutor, 3);
+    private final UUID hostel = UUID.randomUUID();
+
+    @AfterEach
+    void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void saveAssignsIds() {
+        when(wardenRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Warden> wardens = new ArrayList<>((Collection<Warden>) inv.getArgument(0));
+            wardens.forEach(w -> w.setId(UUID.randomUUID()));
+            return wardens;
+        });
+    }
+
+    private WardenRequestDTO warden(String email) {
+        return new WardenRequestDTO("Name", email, "secret", "Female", "9876500001", hostel, null);
+    }
+
+    @Test
+    void reportsEachItemAndProvisionsLoginsInOneCall() {
+        when(wardenRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+        saveAssignsIds();
+
+        WardenBatchResultDTO result = service.createWardens(List.of(
+                warden("new@example.com"), warden("Taken@example.com"), warden("NEW@example.com")));
+
+        assertEquals(3, result.received());
+        assertEquals(1, result.created());
+        assertNotNull(result.results().get(0).id());
+        assertTrue(result.results().get(0).errors().isEmpty());
+        assertEquals(Map.of("email", "A warden with this email already exists"), result.results().get(1).errors());
+        assertEquals(Map.of("email", "Email appears more than once in the batch"), result.results().get(2).errors());
+        assertNull(result.results().get(2).id());
+
+        verify(wardenRepository, times(1)).findExistingEmails(List.of("new@example.com", "taken@example.com"));
+        verify(restTemplate, times(1)).postForObject(endsWith("/auth/register/batch"), anyList(), eq(Map.class));
+        verify(index).put("new@example.com", hostel);
+    }
+
+    @Test
+    void invalidItemsAreRejectedWithoutTouchingTheRest() {
+        when(wardenRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        saveAssignsIds();
+
+        WardenBatchResultDTO result = service.createWardens(List.of(
+                new WardenRequestDTO("", "not-an-email", "", "Male", "1", null, null), warden("ok@example.com")));
+
+        assertEquals(1, result.created());
+        assertTrue(result.results().get(0).errors().containsKey("email"));
+        assertTrue(result.results().get(0).errors().containsKey("name"));
+        assertNotNull(result.results().get(1).id());
+    }
+
+    @Test
+    void wardensWhoseLoginsFailAreRemovedAndReported() {
+        when(wardenRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        saveAssignsIds();
+        when(restTemplate.postForObject(anyString(), any(), eq(Map.class))).thenThrow(new RuntimeException("down"));
+
+        WardenBatchResultDTO result = service.createWardens(List.of(warden("a@example.com"), warden("b@example.com")));
+
+        assertEquals(0, result.created());
+        result.results().forEach(r -> {
+            assertNull(r.id());
+            assertEquals(Map.of("auth", "Login registration failed; warden not created"), r.errors());
+        });
+        verify(wardenRepository).deleteAllByIdInBatch(argThat(ids -> ids instanceof Collection<?> c && c.size() == 2));
+        verifyNoInteractions(index);
+    }
+
+    @Test
+    void conflictingInsertFallsBackToRowByRow() {
+        when(wardenRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(wardenRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(wardenRepository.save(any(Warden.class))).thenAnswer(inv -> {
+            Warden w = inv.getArgument(0);
+            if (w.getEmail().startsWith("raced")) throw new DataIntegrityViolationException("dup");
+            w.setId(UUID.randomUUID());
+            return w;
+        });
+
+        WardenBatchResultDTO result = service.createWardens(List.of(warden("raced@example.com"), warden("ok@example.com")));
+
+        assertEquals(1, result.created());
+        assertEquals(Map.of("database", "Duplicate or invalid data"), result.results().get(0).errors());
+        assertNotNull(result.results().get(1).id());
+    }
+
+    @Test
+    void oversizedBatchIsRejected() {
+        List<WardenRequestDTO> items = List.of(warden("a@x.com"), warden("b@x.com"), warden("c@x.com"), warden("d@x.com"));
+        assertThrows(BatchTooLargeException.class, () -> service.createWardens(items));
+        verifyNoInteractions(wardenRepository);
+    }
+}
@@ -0,0 +1,94 @@
+package com.hostelhelp.wardenservice.service;
+
+import com.hostelhelp.wardenservice.dto.HostelOccupancyDTO;
+import com.hostelhelp.wardenservice.dto.HostelResponseDTO;
+import com.hostelhelp.wardenservice.dto.WardenDashboardDTO;
+import com.hostelhelp.wardenservice.dto.WardenResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WardenDashboardServiceTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final WardenDashboardService service =
+            new WardenDashboardService(restTemplate, Executors.newVirtualThreadPerTaskExecutor(), 500, 100, 30);
+
+    private final UUID hostelId = UUID.randomUUID();
+    private final WardenResponseDTO warden = new WardenResponseDTO(UUID.randomUUID(), "Ravi", "ravi@example.com",
+            "Male", "9876543210", hostelId, LocalDateTime.now(), LocalDateTime.now());
+
+    @Test
+    void combinesAllSectionsAndCachesPerHostel() {
+        stubHostelAndOccupancy();
+        when(restTemplate.exchange(contains("/requests/"), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("HOSTEL_JOIN", 3L)));
+        when(restTemplate.exchange(contains("/complaints/"), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("OPEN", 2L, "RESOLVED", 9L)));
+
+        WardenDashboardDTO dashboard = service.getDashboard(warden, "Bearer t");
+        assertTrue(dashboard.unavailable().isEmpty());
+        assertEquals("Block A", dashboard.hostel().name());
+        assertEquals(7, dashboard.occupancy().filledSeats());
+        assertEquals(3L, dashboard.pendingRequestsByType().get("HOSTEL_JOIN"));
+        assertEquals(Map.of("OPEN", 2L), dashboard.openComplaintsByStatus());
+
+        service.getDashboard(warden, "Bearer t");
+        verify(restTemplate, times(1)).exchange(contains("/occupancy"), eq(HttpMethod.GET), any(HttpEntity.class), eq(HostelOccupancyDTO.class));
+    }
+
+    @Test
+    void failedSectionIsReportedAndNotCached() {
+        stubHostelAndOccupancy();
+        when(restTemplate.exchange(contains("/requests/"), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("HOSTEL_JOIN", 1L)));
+        // complaints hangs past the branch timeout
+        when(restTemplate.exchange(contains("/complaints/"), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenAnswer(inv -> {
+                    Thread.sleep(2_000);
+                    throw new ResourceAccessException("read timed out");
+                });
+
+        long start = System.nanoTime();
+        WardenDashboardDTO dashboard = service.getDashboard(warden, "Bearer t");
+        assertTrue(System.nanoTime() - start < 1_500_000_000L, "a slow branch must not hold up the response");
+        assertEquals(List.of("openComplaints"), dashboard.unavailable());
+        assertNull(dashboard.openComplaintsByStatus());
+        assertNotNull(dashboard.hostel());
+
+        service.getDashboard(warden, "Bearer t");
+        verify(restTemplate, times(2)).exchange(contains("/occupancy"), eq(HttpMethod.GET), any(HttpEntity.class), eq(HostelOccupancyDTO.class));
+    }
+
+    @Test
+    void wardenWithoutHostelSkipsRemoteCalls() {
+        WardenResponseDTO unassigned = new WardenResponseDTO(UUID.randomUUID(), "N", "n@example.com",
+                "Female", "1", null, null, null);
+        assertNull(service.getDashboard(unassigned, "Bearer t").hostel());
+        verifyNoInteractions(restTemplate);
+    }
+
+    private void stubHostelAndOccupancy() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(HostelResponseDTO.class)))
+                .thenReturn(ResponseEntity.ok(new HostelResponseDTO(hostelId, "Block A", false, 10, 5000, true, null, null)));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(HostelOccupancyDTO.class)))
+                .thenReturn(ResponseEntity.ok(new HostelOccupancyDTO(hostelId, 10, 30, 7, 23)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.hostelhelp.wardenservice.service;
+
+import com.hostelhelp.wardenservice.exception.WardenNotFoundException;
+import com.hostelhelp.wardenservice.repository.WardenHostelView;
+import com.hostelhelp.wardenservice.repository.WardenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class WardenHostelIndexTest {
+
+    private final WardenRepository wardenRepository = mock(WardenRepository.class);
+    private final WardenHostelIndex index = new WardenHostelIndex(wardenRepository, 100, 30);
+    private final UUID hostel = UUID.randomUUID();
+
+    @Test
+    void warmedEntriesAreServedWithoutQueriesAndIgnoreCase() {
+        when(wardenRepository.findHostelViews(any(Limit.class)))
+                .thenReturn(List.of(new WardenHostelView("Ravi@Example.com", hostel),
+                        new WardenHostelView("new@example.com", null)));
+        index.warm();
+
+        assertEquals(Optional.of(hostel), index.getHostelId("ravi@example.com"));
+        assertEquals(Optional.empty(), index.getHostelId("new@example.com"));
+        verify(wardenRepository, never()).findHostelViewByEmail(anyString());
+    }
+
+    @Test
+    void missLoadsOnceAndRemoveForcesReload() {
+        when(wardenRepository.findHostelViewByEmail("ravi@example.com"))
+                .thenReturn(Optional.of(new WardenHostelView("ravi@example.com", hostel)));
+
+        assertEquals(Optional.of(hostel), index.getHostelId("ravi@example.com"));
+        assertEquals(Optional.of(hostel), index.getHostelId("ravi@example.com"));
+        verify(wardenRepository, times(1)).findHostelViewByEmail("ravi@example.com");
+
+        index.remove("ravi@example.com");
+        when(wardenRepository.findHostelViewByEmail("ravi@example.com")).thenReturn(Optional.empty());
+        assertThrows(WardenNotFoundException.class, () -> index.getHostelId("ravi@example.com"));
+    }
+}